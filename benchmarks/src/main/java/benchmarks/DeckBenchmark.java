@@ -0,0 +1,94 @@
+package benchmarks;
+
+import static benchmarks.Framework.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks for creating, shuffling, drawing from and reshuffling a Deck.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+    @Param({ "52", "312", "10000" })
+    public int deckSize;
+
+    private Object cards;
+    private Object deck;
+    private Object[] drawn;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        cards = standardCards(deckSize);
+        deck = (Object) NEW_DECK_FROM.invokeExact(cards);
+        drawn = newArray(CARD, deckSize);
+    }
+
+    /**
+     * Builds a standard unshuffled 52-card deck from the canonical cards.
+     * It does not depend on deckSize.
+     */
+    @Benchmark
+    public Object newDeck() throws Throwable {
+        return (Object) NEW_DECK.invokeExact();
+    }
+
+    /**
+     * Builds a new deck of deckSize cards from an array, which also shuffles it.
+     */
+    @Benchmark
+    public Object newDeckFromArray() throws Throwable {
+        return (Object) NEW_DECK_FROM.invokeExact(cards);
+    }
+
+    /**
+     * Shuffles the whole deck.
+     */
+    @Benchmark
+    public Object shuffle() throws Throwable {
+        DECK_SHUFFLE.invokeExact(deck);
+        return deck;
+    }
+
+    /**
+     * Draws the top card and puts it back on the bottom, so the deck keeps its size.
+     */
+    @Benchmark
+    public Object drawAndAdd() throws Throwable {
+        Object card = (Object) DECK_DRAW.invokeExact(deck);
+        DECK_ADD_CARD.invokeExact(deck, card);
+        return card;
+    }
+
+    /**
+     * Draws every card out of the deck and reshuffles them all back in.
+     */
+    @Benchmark
+    public Object drawAllAndReshuffle() throws Throwable {
+        for (int i = 0; i < drawn.length; i++) {
+            drawn[i] = (Object) DECK_DRAW.invokeExact(deck);
+        }
+        DECK_RESHUFFLE.invokeExact(deck, (Object) drawn);
+        return deck;
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import static benchmarks.Framework.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks for removing cards from a DiscardPile of pileSize cards.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscardPileBenchmark {
+    @Param({ "52", "312", "10000" })
+    public int pileSize;
+
+    private Object[] cards;
+    private Object pile;
+    private Object lastCard;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        cards = (Object[]) standardCards(pileSize);
+        pile = (Object) NEW_DISCARD_PILE.invokeExact();
+        for (Object card : cards) {
+            PILE_ADD_CARD.invokeExact(pile, card);
+        }
+        lastCard = (Object) NEW_CARD.invokeExact((Object) "Joker", (Object) "Bench", 0);
+        PILE_ADD_CARD.invokeExact(pile, lastCard);
+    }
+
+    /**
+     * Removes the card at the bottom of the pile and adds it back,
+     * which is the worst case for a search from the top.
+     */
+    @Benchmark
+    public Object removeLastCard() throws Throwable {
+        Object removed = (Object) PILE_REMOVE_CARD.invokeExact(pile, lastCard);
+        PILE_ADD_CARD.invokeExact(pile, removed);
+        return removed;
+    }
+
+    /**
+     * Fills an empty pile with pileSize cards and removes them all.
+     */
+    @Benchmark
+    public Object fillAndRemoveAll() throws Throwable {
+        Object fresh = (Object) NEW_DISCARD_PILE.invokeExact();
+        for (Object card : cards) {
+            PILE_ADD_CARD.invokeExact(fresh, card);
+        }
+        return (Object) PILE_REMOVE_ALL.invokeExact(fresh);
+    }
+}
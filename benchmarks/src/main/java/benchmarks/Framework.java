@@ -0,0 +1,127 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+
+/**
+ * The Framework class binds the card game classes for the benchmarks.
+ * JMH will not generate benchmarks in the default package, and a named
+ * package cannot refer to default package classes, so each operation is
+ * looked up once as a MethodHandle typed with Object. The handles are
+ * static final, so the JIT inlines them like direct calls.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+final class Framework {
+    static final Class<?> CARD = load("Card");
+    static final Class<?> DECK = load("Deck");
+    static final Class<?> PLAYER = load("Player");
+    static final Class<?> DISCARD_PILE = load("DiscardPile");
+    static final Class<?> CARD_REGISTRY = load("CardRegistry");
+    static final Class<?> HIGH_CARD_GAME = load("HighCardGame");
+
+    static final MethodHandle NEW_CARD = constructor(CARD, String.class, String.class, int.class);
+    static final MethodHandle STANDARD_CARD = method(CARD_REGISTRY, "standardCard", int.class);
+
+    static final MethodHandle NEW_DECK = constructor(DECK);
+    static final MethodHandle NEW_DECK_FROM = constructor(DECK, array(CARD));
+    static final MethodHandle DECK_DRAW = method(DECK, "draw");
+    static final MethodHandle DECK_SHUFFLE = method(DECK, "shuffle");
+    static final MethodHandle DECK_ADD_CARD = method(DECK, "addCard", CARD);
+    static final MethodHandle DECK_RESHUFFLE = method(DECK, "reshuffle", array(CARD));
+
+    static final MethodHandle NEW_PLAYER = constructor(PLAYER, String.class, int.class);
+    static final MethodHandle PLAYER_DRAW = method(PLAYER, "draw", DECK);
+    static final MethodHandle PLAYER_RETURN_CARD = method(PLAYER, "returnCard", CARD, DECK);
+    static final MethodHandle PLAYER_GET_HAND = method(PLAYER, "getHand");
+
+    static final MethodHandle NEW_DISCARD_PILE = constructor(DISCARD_PILE);
+    static final MethodHandle PILE_ADD_CARD = method(DISCARD_PILE, "addCard", CARD);
+    static final MethodHandle PILE_REMOVE_CARD = method(DISCARD_PILE, "removeCard", CARD);
+    static final MethodHandle PILE_REMOVE_ALL = method(DISCARD_PILE, "removeAll");
+
+    static final MethodHandle PLAY_ROUND = method(HIGH_CARD_GAME, "playRound",
+            array(PLAYER), array(CARD), DECK);
+
+    private Framework() {
+    }
+
+    /**
+     * Builds a card array of the given size by repeating the standard deck.
+     *
+     * @param size - the number of cards
+     * @return the card array, typed as Card[]
+     */
+    static Object standardCards(int size) throws Throwable {
+        Object[] cards = newArray(CARD, size);
+        for (int i = 0; i < size; i++) {
+            cards[i] = (Object) STANDARD_CARD.invokeExact(i % 52);
+        }
+        return cards;
+    }
+
+    /**
+     * Creates an array whose runtime component type is the given class.
+     *
+     * @param type - the component type
+     * @param size - the length of the array
+     * @return the new array
+     */
+    static Object[] newArray(Class<?> type, int size) {
+        return (Object[]) Array.newInstance(type, size);
+    }
+
+    private static Class<?> array(Class<?> type) {
+        return Array.newInstance(type, 0).getClass();
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> owner, Class<?>... params) {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup()
+                    .findConstructor(owner, MethodType.methodType(void.class, params));
+            return handle.asType(erase(handle.type()));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Replaces every reference type in a method type with Object,
+     * keeping primitives and void as they are.
+     */
+    private static MethodType erase(MethodType type) {
+        MethodType erased = type;
+        for (int i = 0; i < type.parameterCount(); i++) {
+            if (!type.parameterType(i).isPrimitive()) {
+                erased = erased.changeParameterType(i, Object.class);
+            }
+        }
+        if (!type.returnType().isPrimitive()) {
+            erased = erased.changeReturnType(Object.class);
+        }
+        return erased;
+    }
+
+    private static MethodHandle method(Class<?> owner, String name, Class<?>... params) {
+        try {
+            Method m = owner.getDeclaredMethod(name, params);
+            m.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(m);
+            return handle.asType(erase(handle.type()));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
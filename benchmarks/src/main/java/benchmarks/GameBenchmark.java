@@ -0,0 +1,63 @@
+package benchmarks;
+
+import static benchmarks.Framework.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a full two-player High Card game: a new shuffled deck,
+ * five cards dealt to each player and five rounds played.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    private static final int HAND_SIZE = 5;
+    private static final int ROUNDS = 5;
+
+    private Object[] players;
+    private Object[] played;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        players = newArray(PLAYER, 2);
+        played = newArray(CARD, 2);
+    }
+
+    @Benchmark
+    public int playGame() throws Throwable {
+        Object deck = (Object) NEW_DECK.invokeExact();
+        DECK_SHUFFLE.invokeExact(deck);
+        for (int i = 0; i < players.length; i++) {
+            players[i] = (Object) NEW_PLAYER.invokeExact((Object) ("Player " + i), 30);
+        }
+        for (int c = 0; c < HAND_SIZE; c++) {
+            for (Object p : players) {
+                PLAYER_DRAW.invokeExact(p, deck);
+            }
+        }
+        int score = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            score += (int) PLAY_ROUND.invokeExact((Object) players, (Object) played, deck);
+        }
+        return score;
+    }
+}
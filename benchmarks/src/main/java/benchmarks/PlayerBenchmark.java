@@ -0,0 +1,69 @@
+package benchmarks;
+
+import static benchmarks.Framework.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks for a Player drawing, returning and listing cards.
+ * The player holds a hand of handSize cards drawn from a deck of deckSize cards.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    @Param({ "52", "312", "10000" })
+    public int deckSize;
+
+    @Param({ "5", "26" })
+    public int handSize;
+
+    private Object deck;
+    private Object player;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        deck = (Object) NEW_DECK_FROM.invokeExact(standardCards(deckSize));
+        player = (Object) NEW_PLAYER.invokeExact((Object) "Bench", 30);
+        for (int i = 0; i < handSize; i++) {
+            PLAYER_DRAW.invokeExact(player, deck);
+        }
+    }
+
+    /**
+     * Draws the top card into the hand, then returns that card to the deck.
+     */
+    @Benchmark
+    public boolean drawAndReturn() throws Throwable {
+        PLAYER_DRAW.invokeExact(player, deck);
+        Object[] hand = (Object[]) (Object) PLAYER_GET_HAND.invokeExact(player);
+        return (boolean) PLAYER_RETURN_CARD.invokeExact(player, hand[0], deck);
+    }
+
+    /**
+     * Returns the hand as an array.
+     */
+    @Benchmark
+    public Object getHand() throws Throwable {
+        return (Object) PLAYER_GET_HAND.invokeExact(player);
+    }
+}
@@ -0,0 +1,170 @@
+import java.util.Arrays;
+
+/**
+ * The BatchRoundResolver class resolves the same round of many High Card games
+ * at once, working on card values laid out as plain int arrays instead of on
+ * Card objects.
+ *
+ * The values are given one array per seat, with one lane per game, and each
+ * round is resolved with a few passes over whole arrays: one to find the best
+ * value in each lane, one to count how many seats hold it, and one to give a
+ * point to the seat that holds it alone. The passes have no branches and no
+ * dependencies between lanes, so the JIT compiles them to SIMD instructions.
+ * The points of each game stay in per-seat lanes until finishGames() decides
+ * the game winners the same way.
+ *
+ * The results follow HighCardGame: a round or game is only won by a strictly
+ * highest value, and every round won is worth one point. Values must not be
+ * negative, which every card value is.
+ *
+ * A resolver is not safe to use from several threads; give each thread its own.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class BatchRoundResolver {
+    private final int players;
+    private final int capacity;
+    private final int[][] points;
+    private final int[] best;
+    private final int[] holders;
+    private final long[] wins;
+    private final SimulationResult result;
+
+    /**
+     * Constructs a resolver for games with the given number of players,
+     * resolving up to capacity games at a time.
+     *
+     * @param players  - the number of players at each game
+     * @param capacity - the most games resolved together
+     * @throws IllegalArgumentException if players is less than 2 or capacity is less than 1
+     */
+    public BatchRoundResolver(int players, int capacity) {
+        if (players < 2)
+            throw new IllegalArgumentException("Player count must be at least 2");
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        this.players = players;
+        this.capacity = capacity;
+        points = new int[players][capacity];
+        best = new int[capacity];
+        holders = new int[capacity];
+        wins = new long[players];
+        result = new SimulationResult(players);
+    }
+
+    /**
+     * Resolves one round of the first games games, where values[seat][game] is the
+     * value of the card that seat played in that game, and adds the points won.
+     *
+     * @param values - the values played, one array per seat with at least games lanes
+     * @param games  - the number of games to resolve
+     * @throws IllegalArgumentException if values does not have one array per seat,
+     *                                  or games is negative or more than the capacity
+     */
+    public void resolveRound(int[][] values, int games) {
+        checkBatch(values, games);
+        int[] best = this.best;
+        int[] holders = this.holders;
+        System.arraycopy(values[0], 0, best, 0, games);
+        for (int s = 1; s < players; s++) {
+            int[] v = values[s];
+            for (int g = 0; g < games; g++) {
+                best[g] = Math.max(best[g], v[g]);
+            }
+        }
+        countHolders(values, games);
+        int tied = 0;
+        for (int g = 0; g < games; g++) {
+            // 1 when two or more seats hold the best value
+            tied += (1 - holders[g]) >>> 31;
+        }
+        for (int s = 0; s < players; s++) {
+            int[] v = values[s];
+            int[] p = points[s];
+            int won = 0;
+            for (int g = 0; g < games; g++) {
+                int point = ((best[g] - v[g] - 1) >>> 31) & ((holders[g] - 2) >>> 31);
+                p[g] += point;
+                won += point;
+            }
+            wins[s] = won;
+        }
+        result.recordRounds(games, tied, wins);
+    }
+
+    /**
+     * Ends the first games games: the seat with strictly the most points wins each
+     * one, and every game's points are cleared for the next batch.
+     *
+     * @param games - the number of games to end
+     * @throws IllegalArgumentException if games is negative or more than the capacity
+     */
+    public void finishGames(int games) {
+        checkBatch(points, games);
+        int[] best = this.best;
+        int[] holders = this.holders;
+        System.arraycopy(points[0], 0, best, 0, games);
+        for (int s = 1; s < players; s++) {
+            int[] p = points[s];
+            for (int g = 0; g < games; g++) {
+                best[g] = Math.max(best[g], p[g]);
+            }
+        }
+        countHolders(points, games);
+        int tied = 0;
+        for (int g = 0; g < games; g++) {
+            tied += (1 - holders[g]) >>> 31;
+        }
+        for (int s = 0; s < players; s++) {
+            int[] p = points[s];
+            int won = 0;
+            for (int g = 0; g < games; g++) {
+                won += ((best[g] - p[g] - 1) >>> 31) & ((holders[g] - 2) >>> 31);
+            }
+            wins[s] = won;
+            Arrays.fill(p, 0, games, 0);
+        }
+        result.recordGames(games, tied, wins);
+    }
+
+    /**
+     * Returns the statistics of every round and game resolved so far.
+     * The result is live and keeps changing as more are resolved.
+     *
+     * @return the aggregate statistics
+     */
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    /**
+     * Counts, for each lane, how many seats hold the best value.
+     *
+     * @param values - the values, one array per seat
+     * @param games  - the number of lanes
+     */
+    private void countHolders(int[][] values, int games) {
+        int[] best = this.best;
+        int[] holders = this.holders;
+        Arrays.fill(holders, 0, games, 0);
+        for (int s = 0; s < players; s++) {
+            int[] v = values[s];
+            for (int g = 0; g < games; g++) {
+                // 1 when v[g] == best[g], since no value is above best
+                holders[g] += (best[g] - v[g] - 1) >>> 31;
+            }
+        }
+    }
+
+    private void checkBatch(int[][] values, int games) {
+        if (values == null || values.length != players)
+            throw new IllegalArgumentException("Values must hold one array per seat");
+        if (games < 0 || games > capacity)
+            throw new IllegalArgumentException("Game count must be between 0 and " + capacity);
+        for (int[] v : values) {
+            if (v == null || v.length < games)
+                throw new IllegalArgumentException("Every seat needs a value for each game");
+        }
+    }
+}
@@ -2,13 +2,19 @@
  * The Card class represents a card deck intaking a name, suit, and value.
  * It provides getter methods for name, suit, and value
  * 
+ * Every card is backed by a canonical instance in the CardRegistry, which
+ * gives it a compact ordinal. Equal cards always share the same ordinal,
+ * so equals and hashCode are a single int compare.
+ * 
  * @author Akash K.
  * @version 1.0
  */
 public class Card {
-    private String name;
-    private String suit;
-    private int value;
+    private final String name;
+    private final String suit;
+    private final int value;
+    private final int ordinal;
+    private final String label;
     
     /**
      * Constructs a Card object with the specified values
@@ -32,9 +38,55 @@ public class Card {
         if (value < 0)
             throw new IllegalArgumentException("Card value cannot be negative");
 
-        this.name = name.trim();
-        this.suit = suit.trim();
+        Card canonical = CardRegistry.intern(name.trim(), suit.trim(), value);
+        this.name = canonical.name;
+        this.suit = canonical.suit;
         this.value = value;
+        this.ordinal = canonical.ordinal;
+        this.label = canonical.label;
+    }
+
+    /**
+     * Constructs the canonical card for an ordinal. Only used by the CardRegistry.
+     * 
+     * @param name    - the trimmed card name
+     * @param suit    - the trimmed card suit
+     * @param value   - the card's value
+     * @param ordinal - the ordinal assigned by the registry
+     */
+    Card(String name, String suit, int value, int ordinal) {
+        this.name = name;
+        this.suit = suit;
+        this.value = value;
+        this.ordinal = ordinal;
+        this.label = name + " of " + suit;
+    }
+
+    /**
+     * Returns the shared canonical card with the specified values.
+     * Unlike the constructor, this never allocates a new card once
+     * the combination has been seen.
+     * 
+     * @param name  - the card's name or rank
+     * @param suit  - the card's suit
+     * @param value - the card's value
+     * @return the canonical card
+     * 
+     * @exception NullPointerException - if name, or suit is null
+     * @exception IllegalArgumentException - if card, suit, is empty, or if value is negative 
+     */
+    public static Card of(String name, String suit, int value) {
+        if (name == null)
+            throw new NullPointerException("Card name cannot be null");
+        if (name.trim().isEmpty())
+            throw new IllegalArgumentException("Card name cannot be empty");
+        if (suit == null)
+            throw new NullPointerException("Card suit cannot be null");
+        if (suit.trim().isEmpty())
+            throw new IllegalArgumentException("Card suit cannot be empty");
+        if (value < 0)
+            throw new IllegalArgumentException("Card value cannot be negative");
+        return CardRegistry.intern(name.trim(), suit.trim(), value);
     }
     /**
      * Returns the name
@@ -60,6 +112,14 @@ public class Card {
     public int getValue() {
         return this.value;
     }
+    /**
+     * Returns the ordinal given to this card by the CardRegistry
+     * 
+     * @return the card's ordinal
+     */
+    public int getOrdinal() {
+        return this.ordinal;
+    }
 
     /**
      * Returns "(name) of (suit)" 
@@ -68,7 +128,7 @@ public class Card {
      */
     @Override
     public String toString() {
-        return (name + " of " + suit);
+        return label;
     }
     /**
      * Checks if two cards have the same name, suit, and value, and returns true if so.
@@ -86,10 +146,16 @@ public class Card {
         if (obj == null || getClass() != obj.getClass()) {
             return false;
         }
-        Card other = (Card) obj;
-        return this.name.equals(other.name) 
-            && this.suit.equals(other.suit)
-            && this.value == other.value;
+        return this.ordinal == ((Card) obj).ordinal;
+    }
+    /**
+     * Returns a hash code for this card, which is its ordinal.
+     * 
+     * @return the card's hash code
+     */
+    @Override
+    public int hashCode() {
+        return ordinal;
     }
 }    
 
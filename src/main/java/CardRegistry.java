@@ -0,0 +1,124 @@
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The CardRegistry class keeps one canonical Card instance for every
+ * distinct (name, suit, value) combination that has ever been created.
+ * Each canonical card is given a compact ordinal when it is first seen,
+ * so cards can be compared, hashed and stored as plain ints.
+ *
+ * The 52 cards of a standard deck are registered first, so their ordinals
+ * are always 0 to 51 in the unshuffled deck order (Hearts, Clubs, Diamonds,
+ * Spades, each Ace through King).
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class CardRegistry {
+    /** The number of cards in a standard deck. */
+    public static final int STANDARD_SIZE = 52;
+
+    private static final String[] STANDARD_SUITS = { "Hearts", "Clubs", "Diamonds", "Spades" };
+    private static final String[] STANDARD_NAMES = { "Ace", "2", "3", "4", "5", "6", "7",
+            "8", "9", "10", "Jack", "Queen", "King" };
+    private static final int CARD_VALUE_OFFSET = 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final Object LOCK = new Object();
+    private static final ConcurrentHashMap<String, Card> BY_KEY = new ConcurrentHashMap<String, Card>();
+    private static volatile Card[] byOrdinal = new Card[INITIAL_CAPACITY];
+    private static int count;
+
+    static {
+        for (String suit : STANDARD_SUITS) {
+            for (int i = 0; i < STANDARD_NAMES.length; i++) {
+                intern(STANDARD_NAMES[i], suit, i + CARD_VALUE_OFFSET);
+            }
+        }
+    }
+
+    private CardRegistry() {
+    }
+
+    /**
+     * Returns the canonical card for the given name, suit and value,
+     * registering it with the next free ordinal if it has not been seen before.
+     * The name and suit are expected to be validated and trimmed already.
+     *
+     * @param name  - the card's name
+     * @param suit  - the card's suit
+     * @param value - the card's value
+     * @return the canonical card
+     */
+    static Card intern(String name, String suit, int value) {
+        String key = name + '\u0000' + suit + '\u0000' + value;
+        Card card = BY_KEY.get(key);
+        if (card != null) {
+            return card;
+        }
+        synchronized (LOCK) {
+            card = BY_KEY.get(key);
+            if (card == null) {
+                Card[] table = byOrdinal;
+                if (count == table.length) {
+                    Card[] grown = new Card[table.length * 2];
+                    System.arraycopy(table, 0, grown, 0, count);
+                    table = grown;
+                }
+                card = new Card(name, suit, value, count);
+                table[count++] = card;
+                byOrdinal = table;
+                BY_KEY.put(key, card);
+            }
+            return card;
+        }
+    }
+
+    /**
+     * Returns the canonical card with the given ordinal.
+     *
+     * @param ordinal - the ordinal of the card
+     * @return the canonical card
+     * @throws IllegalArgumentException if no card has that ordinal
+     */
+    public static Card byOrdinal(int ordinal) {
+        Card[] table = byOrdinal;
+        if (ordinal < 0 || ordinal >= table.length || table[ordinal] == null)
+            throw new IllegalArgumentException("No card registered with ordinal " + ordinal);
+        return table[ordinal];
+    }
+
+    /**
+     * Returns the canonical card of the standard deck at the given position.
+     * Position 0 is the Ace of Hearts and position 51 is the King of Spades.
+     *
+     * @param index - the position in an unshuffled standard deck
+     * @return the canonical standard card
+     * @throws IllegalArgumentException if index is not between 0 and 51
+     */
+    public static Card standardCard(int index) {
+        if (index < 0 || index >= STANDARD_SIZE)
+            throw new IllegalArgumentException("Standard card index must be between 0 and 51");
+        return byOrdinal[index];
+    }
+
+    /**
+     * Returns true if the card is one of the 52 canonical standard cards.
+     *
+     * @param card - the card to check
+     * @return true if the card belongs to the standard deck, false otherwise
+     */
+    public static boolean isStandard(Card card) {
+        return card.getOrdinal() < STANDARD_SIZE;
+    }
+
+    /**
+     * Returns the number of distinct cards registered so far.
+     *
+     * @return the number of registered cards
+     */
+    public static int size() {
+        synchronized (LOCK) {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * The CardStorage interface is the fixed-size row of card slots that a Deck or
+ * DiscardPile keeps its cards in. Each slot holds a card or is empty, and can
+ * carry an int link to another slot, which DiscardPile uses to chain slots
+ * holding the same card. Deck and DiscardPile run their algorithms against this
+ * interface, so where the cards live only changes which storage they are given.
+ *
+ * HeapCardStorage keeps the cards in a Card array; OffHeapCardStorage keeps
+ * their ordinals in direct memory.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+interface CardStorage {
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the capacity
+     */
+    int capacity();
+
+    /**
+     * Returns the card in a slot.
+     *
+     * @param slot - the slot, between 0 and capacity() - 1
+     * @return the card, or null if the slot is empty
+     */
+    Card get(int slot);
+
+    /**
+     * Puts a card in a slot.
+     *
+     * @param slot - the slot, between 0 and capacity() - 1
+     * @param card - the card, or null to empty the slot
+     */
+    void set(int slot, Card card);
+
+    /**
+     * Returns the link of a slot. Only storage created with links has them.
+     *
+     * @param slot - the slot, between 0 and capacity() - 1
+     * @return the link last set for the slot
+     */
+    int link(int slot);
+
+    /**
+     * Sets the link of a slot. Only storage created with links has them.
+     *
+     * @param slot - the slot, between 0 and capacity() - 1
+     * @param link - the link
+     */
+    void setLink(int slot, int link);
+
+    /**
+     * Empties the slots from one index up to, but not including, another.
+     *
+     * @param from - the first slot to empty
+     * @param to   - the slot after the last one to empty
+     */
+    void clear(int from, int to);
+
+    /**
+     * Copies the cards in n slots, which must not be empty, into an array.
+     *
+     * @param from   - the first slot to copy
+     * @param dest   - the array to copy into
+     * @param offset - the index in dest where the first card goes
+     * @param n      - the number of slots to copy
+     */
+    void copyOut(int from, Card[] dest, int offset, int n);
+
+    /**
+     * Copies n cards, which must not be null, from an array into consecutive slots.
+     *
+     * @param source - the array to copy from
+     * @param offset - the index in source of the first card
+     * @param to     - the first slot to copy into
+     * @param n      - the number of cards to copy
+     */
+    void copyIn(Card[] source, int offset, int to, int n);
+
+    /**
+     * Returns new storage of the same kind holding n slots of this one, with
+     * their links, at its start. The slots are read from the given index
+     * onwards, wrapping around to slot 0 at the end.
+     *
+     * @param capacity - the capacity of the new storage, at least n
+     * @param from     - the first slot to move
+     * @param n        - the number of slots to move
+     * @return the new storage
+     * @throws IllegalStateException if this kind of storage cannot have that many slots
+     */
+    CardStorage resize(int capacity, int from, int n);
+
+    /**
+     * Returns the Card array the slots are kept in, if there is one. Callers
+     * may read it but must not change it.
+     *
+     * @return the backing array, or null if the cards are not kept in one
+     */
+    Card[] array();
+}
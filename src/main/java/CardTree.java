@@ -0,0 +1,259 @@
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The CardTree class is an immutable node of a treap that keeps a sequence
+ * of cards by position. It is the shared storage behind PersistentDeck,
+ * PersistentHand and PersistentDiscardPile.
+ *
+ * Every operation returns a new tree that shares all untouched nodes with the
+ * old one, so splitting, joining, inserting and removing cost O(log n) expected
+ * time and space, and old versions stay valid. Each node also records the
+ * largest card value below it and a 64-bit summary of the ordinals below it
+ * (bit ordinal % 64), so the highest card and the first copy of a card are
+ * found by walking one path. For the 52 standard cards the summary is exact.
+ *
+ * A null tree is the empty sequence.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+final class CardTree {
+    private static final int DEPTH_BITS = 5;
+    private static final int PRIORITY_BITS = Integer.SIZE - 1 - DEPTH_BITS;
+
+    final Card card;
+    final int priority;
+    final CardTree left;
+    final CardTree right;
+    final int size;
+    final int maxValue;
+    final long ordinals;
+
+    private CardTree(Card card, int priority, CardTree left, CardTree right) {
+        this.card = card;
+        this.priority = priority;
+        this.left = left;
+        this.right = right;
+        this.size = size(left) + 1 + size(right);
+        int max = card.getValue();
+        long bits = bitOf(card);
+        if (left != null) {
+            max = Math.max(max, left.maxValue);
+            bits |= left.ordinals;
+        }
+        if (right != null) {
+            max = Math.max(max, right.maxValue);
+            bits |= right.ordinals;
+        }
+        this.maxValue = max;
+        this.ordinals = bits;
+    }
+
+    private CardTree with(CardTree newLeft, CardTree newRight) {
+        return new CardTree(card, priority, newLeft, newRight);
+    }
+
+    static int size(CardTree t) {
+        return t == null ? 0 : t.size;
+    }
+
+    private static long bitOf(Card card) {
+        return 1L << (card.getOrdinal() & (Long.SIZE - 1));
+    }
+
+    /**
+     * Builds a balanced tree holding the first n cards of the array in order.
+     * Priorities fall with depth, so the result is a valid treap.
+     *
+     * @param cards - the cards, in sequence order
+     * @param n     - the number of cards to use
+     * @return the tree, or null if n is 0
+     */
+    static CardTree build(Card[] cards, int n) {
+        return build(cards, 0, n, 0);
+    }
+
+    private static CardTree build(Card[] cards, int from, int to, int depth) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        int band = (1 << DEPTH_BITS) - 1 - Math.min(depth, (1 << DEPTH_BITS) - 1);
+        int priority = (band << PRIORITY_BITS) | ThreadLocalRandom.current().nextInt(1 << PRIORITY_BITS);
+        return new CardTree(cards[mid], priority, build(cards, from, mid, depth + 1),
+                build(cards, mid + 1, to, depth + 1));
+    }
+
+    /**
+     * Returns a one-card tree with a random priority.
+     *
+     * @param card - the card
+     * @return the tree
+     */
+    static CardTree leaf(Card card) {
+        return new CardTree(card, ThreadLocalRandom.current().nextInt() & Integer.MAX_VALUE, null, null);
+    }
+
+    /**
+     * Joins two trees, with every card of a before every card of b.
+     *
+     * @param a - the first part
+     * @param b - the second part
+     * @return the joined tree
+     */
+    static CardTree merge(CardTree a, CardTree b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority >= b.priority) {
+            return a.with(a.left, merge(a.right, b));
+        }
+        return b.with(merge(a, b.left), b.right);
+    }
+
+    /**
+     * Returns the first k cards of the tree.
+     *
+     * @param t - the tree
+     * @param k - the number of cards to keep, between 0 and size(t)
+     * @return the first part
+     */
+    static CardTree prefix(CardTree t, int k) {
+        if (t == null || k == 0) {
+            return null;
+        }
+        if (k >= t.size) {
+            return t;
+        }
+        int leftSize = size(t.left);
+        if (k <= leftSize) {
+            return prefix(t.left, k);
+        }
+        return t.with(t.left, prefix(t.right, k - leftSize - 1));
+    }
+
+    /**
+     * Returns the cards of the tree after the first k.
+     *
+     * @param t - the tree
+     * @param k - the number of cards to skip, between 0 and size(t)
+     * @return the second part
+     */
+    static CardTree suffix(CardTree t, int k) {
+        if (t == null || k >= t.size) {
+            return null;
+        }
+        if (k == 0) {
+            return t;
+        }
+        int leftSize = size(t.left);
+        if (k > leftSize) {
+            return suffix(t.right, k - leftSize - 1);
+        }
+        return t.with(suffix(t.left, k), t.right);
+    }
+
+    /**
+     * Returns the tree without the card at the given index.
+     *
+     * @param t     - the tree
+     * @param index - the index, between 0 and size(t) - 1
+     * @return the shorter tree
+     */
+    static CardTree removeAt(CardTree t, int index) {
+        int leftSize = size(t.left);
+        if (index < leftSize) {
+            return t.with(removeAt(t.left, index), t.right);
+        }
+        if (index > leftSize) {
+            return t.with(t.left, removeAt(t.right, index - leftSize - 1));
+        }
+        return merge(t.left, t.right);
+    }
+
+    /**
+     * Returns the card at the given index.
+     *
+     * @param t     - the tree
+     * @param index - the index, between 0 and size(t) - 1
+     * @return the card
+     */
+    static Card get(CardTree t, int index) {
+        while (true) {
+            int leftSize = size(t.left);
+            if (index < leftSize) {
+                t = t.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                t = t.right;
+            } else {
+                return t.card;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the first copy of the card in the tree.
+     *
+     * @param t    - the tree
+     * @param card - the card to find
+     * @return the index, or -1 if the card is not in the tree
+     */
+    static int indexOf(CardTree t, Card card) {
+        if (t == null || (t.ordinals & bitOf(card)) == 0) {
+            return -1;
+        }
+        int found = indexOf(t.left, card);
+        if (found >= 0) {
+            return found;
+        }
+        int leftSize = size(t.left);
+        if (t.card.equals(card)) {
+            return leftSize;
+        }
+        found = indexOf(t.right, card);
+        return found < 0 ? -1 : leftSize + 1 + found;
+    }
+
+    /**
+     * Returns the index of the last card holding the highest value in the tree.
+     *
+     * @param t - the tree, which must not be empty
+     * @return the index
+     */
+    static int lastIndexOfMax(CardTree t) {
+        int max = t.maxValue;
+        int offset = 0;
+        while (true) {
+            int leftSize = size(t.left);
+            if (t.right != null && t.right.maxValue == max) {
+                offset += leftSize + 1;
+                t = t.right;
+            } else if (t.card.getValue() == max) {
+                return offset + leftSize;
+            } else {
+                t = t.left;
+            }
+        }
+    }
+
+    /**
+     * Copies the cards of the tree, in order, into the array.
+     *
+     * @param t    - the tree
+     * @param dest - the array, with room for size(t) cards from offset
+     * @param offset - the index of the first card in dest
+     * @return the index after the last card copied
+     */
+    static int copyTo(CardTree t, Card[] dest, int offset) {
+        if (t == null) {
+            return offset;
+        }
+        offset = copyTo(t.left, dest, offset);
+        dest[offset++] = t.card;
+        return copyTo(t.right, dest, offset);
+    }
+}
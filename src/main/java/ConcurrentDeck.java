@@ -0,0 +1,449 @@
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The ConcurrentDeck class is a Deck that many threads can draw from at once,
+ * for tables whose seats are served by different threads.
+ *
+ * The cards are published as an immutable, already shuffled array, and each
+ * draw claims the next card by incrementing an atomic cursor, so draws never
+ * take a lock and no card is handed out twice.
+ *
+ * Changing the deck while draws are in flight follows these rules:
+ * <ul>
+ * <li>addCard places the card on a pending queue at the bottom of the deck.
+ * Pending cards are drawn, in the order they were added, once every
+ * published card has been drawn.</li>
+ * <li>shuffle and reshuffle close the current array, so no further draws
+ * claim from it, then publish a new shuffled array made of the undrawn cards,
+ * the pending cards and any cards being reshuffled in. Draws that arrive while
+ * the new array is being built wait for it instead of returning null.</li>
+ * <li>size is exact when the deck is quiet and an estimate while other
+ * threads are drawing or adding.</li>
+ * <li>Reading the deck by position, as snapshot() and GameSnapshot do, is only
+ * exact when the deck is quiet, and replacing its cards in bulk must not
+ * overlap with any other use.</li>
+ * </ul>
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class ConcurrentDeck extends Deck {
+    private static final int CLOSED = Integer.MAX_VALUE / 2;
+
+    private final AtomicReference<Batch> current;
+    private final ConcurrentLinkedQueue<Card> pending = new ConcurrentLinkedQueue<Card>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final RandomSource random;
+
+    /**
+     * Creates a standard unshuffled 52-card deck that can be shared between threads.
+     * The order is the same as a new Deck.
+     */
+    public ConcurrentDeck() {
+        this(RandomSource.threadLocal());
+    }
+
+    /**
+     * Creates a standard unshuffled 52-card deck that shuffles with the given source.
+     *
+     * @param random - the random source used whenever the deck is shuffled
+     * @throws IllegalArgumentException if random is null
+     */
+    public ConcurrentDeck(RandomSource random) {
+        super(0, random);
+        this.random = random;
+        Card[] cards = new Card[CardRegistry.STANDARD_SIZE];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = CardRegistry.standardCard(i);
+        }
+        current = new AtomicReference<Batch>(new Batch(cards));
+    }
+
+    /**
+     * Creates a shuffled deck from the given array of cards.
+     * Any null entries inside the array are skipped.
+     *
+     * @param cardArray - the array of Card objects used to form the deck
+     * @throws IllegalArgumentException if cardArray is null
+     */
+    public ConcurrentDeck(Card[] cardArray) {
+        this(cardArray, RandomSource.threadLocal());
+    }
+
+    /**
+     * Creates a deck from the given array of cards, shuffled with the given source.
+     * Any null entries inside the array are skipped.
+     *
+     * @param cardArray - the array of Card objects used to form the deck
+     * @param random    - the random source used whenever the deck is shuffled
+     * @throws IllegalArgumentException if cardArray or random is null
+     */
+    public ConcurrentDeck(Card[] cardArray, RandomSource random) {
+        super(0, random);
+        if (cardArray == null)
+            throw new IllegalArgumentException("Card array cannot be null");
+        this.random = random;
+        Card[] cards = new Card[cardArray.length];
+        int n = 0;
+        for (Card c : cardArray) {
+            if (c != null) {
+                cards[n++] = c;
+            }
+        }
+        Card[] trimmed = new Card[n];
+        System.arraycopy(cards, 0, trimmed, 0, n);
+        shuffleArray(trimmed, random);
+        current = new AtomicReference<Batch>(new Batch(trimmed));
+    }
+
+    /**
+     * Returns the number of cards left, including pending cards.
+     * While other threads are using the deck this is only an estimate.
+     *
+     * @return the size of the deck
+     */
+    @Override
+    public int size() {
+        Batch b = current.get();
+        int claimed = b.cursor.get();
+        int remaining = claimed >= b.cards.length ? 0 : b.cards.length - claimed;
+        return remaining + Math.max(0, pendingCount.get());
+    }
+
+    /**
+     * Removes and returns the top card of the deck. Safe to call from any thread.
+     * If the deck is empty, returns null.
+     *
+     * @return the top card, or null if the deck has no cards
+     */
+    @Override
+    public Card draw() {
+        for (;;) {
+            Batch b = current.get();
+            if (b.cursor.get() < b.cards.length) {
+                int i = b.cursor.getAndIncrement();
+                if (i < b.cards.length) {
+                    return b.cards[i];
+                }
+            }
+            if (b.cursor.get() >= CLOSED) {
+                // Another thread is publishing a new array
+                Thread.yield();
+                continue;
+            }
+            if (pendingCount.get() == 0) {
+                return null;
+            }
+            republish(b, null, null);
+        }
+    }
+
+    /**
+     * Removes up to n cards from the top of the deck into the buffer, claiming
+     * a whole run of cards with one atomic add where possible. Safe to call from any thread.
+     *
+     * @param buffer - the array to draw into
+     * @param offset - the index in buffer where the first card goes
+     * @param n      - the most cards to draw
+     * @return the number of cards drawn, which is less than n if the deck runs out
+     * @throws IllegalArgumentException if buffer is null, n is negative, or the
+     *                                  range does not fit in the buffer
+     */
+    @Override
+    public int draw(Card[] buffer, int offset, int n) {
+        checkRange(buffer, offset, n);
+        int drawn = 0;
+        while (drawn < n) {
+            Batch b = current.get();
+            int claimed = b.cursor.get();
+            if (claimed < b.cards.length) {
+                int want = Math.min(n - drawn, b.cards.length - claimed);
+                int start = b.cursor.getAndAdd(want);
+                if (start < b.cards.length) {
+                    int got = Math.min(want, b.cards.length - start);
+                    System.arraycopy(b.cards, start, buffer, offset + drawn, got);
+                    drawn += got;
+                    continue;
+                }
+            }
+            if (b.cursor.get() >= CLOSED) {
+                Thread.yield();
+                continue;
+            }
+            if (pendingCount.get() == 0) {
+                break;
+            }
+            republish(b, null, null);
+        }
+        return drawn;
+    }
+
+    /**
+     * Shuffles all undrawn and pending cards into a newly published array.
+     */
+    @Override
+    public void shuffle() {
+        shuffle(random);
+    }
+
+    /**
+     * Shuffles all undrawn and pending cards into a newly published array
+     * using the given source.
+     *
+     * @param random - the random source to shuffle with
+     * @throws IllegalArgumentException if random is null
+     */
+    @Override
+    public void shuffle(RandomSource random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        while (!republish(current.get(), null, random)) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Shuffles the deck right away, since a published array must already be shuffled
+     * before other threads can claim cards from it.
+     */
+    @Override
+    public void shuffleLazily() {
+        shuffle(random);
+    }
+
+    /**
+     * Shuffles the deck right away with the given source, since a published array
+     * must already be shuffled before other threads can claim cards from it.
+     *
+     * @param random - the random source to shuffle with
+     * @throws IllegalArgumentException if random is null
+     */
+    @Override
+    public void shuffleLazily(RandomSource random) {
+        shuffle(random);
+    }
+
+    /**
+     * Adds a card to the bottom of the deck. Safe to call from any thread.
+     * The card can be drawn once every card published before it has been drawn,
+     * or after the next shuffle.
+     *
+     * @param card - the card to add
+     * @throws NullPointerException if card is null
+     */
+    @Override
+    public void addCard(Card card) {
+        if (card == null) {
+            throw new NullPointerException("Cannot add null card to deck");
+        }
+        pending.add(card);
+        pendingCount.incrementAndGet();
+    }
+
+    /**
+     * Adds each non-null card from the provided array into the deck,
+     * then shuffles and publishes the whole deck.
+     *
+     * @param cardArray - the array of cards to place back into the deck
+     * @throws NullPointerException if cardArray is null
+     */
+    @Override
+    public void reshuffle(Card[] cardArray) {
+        if (cardArray == null)
+            throw new NullPointerException("Card array cannot be null");
+        while (!republish(current.get(), cardArray, random)) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Moves every card in the discard pile into the deck, emptying the pile,
+     * then shuffles and publishes the whole deck.
+     * The pile itself must not be used by other threads at the same time.
+     *
+     * @param pile - the discard pile to recycle
+     * @throws NullPointerException if pile is null
+     */
+    @Override
+    public void reshuffle(DiscardPile pile) {
+        if (pile == null)
+            throw new NullPointerException("Discard pile cannot be null");
+        reshuffle(pile.removeAll());
+    }
+
+    /**
+     * Returns the undrawn cards followed by the pending cards in list form.
+     * While other threads are using the deck this is only a snapshot.
+     *
+     * @return a string showing all cards in the deck
+     */
+    @Override
+    public String toString() {
+        Batch b = current.get();
+        StringBuilder sb = new StringBuilder("[");
+        boolean first = true;
+        for (int i = Math.min(b.cursor.get(), b.cards.length); i < b.cards.length; i++) {
+            if (!first)
+                sb.append(", ");
+            sb.append(b.cards[i]);
+            first = false;
+        }
+        for (Card c : pending) {
+            if (!first)
+                sb.append(", ");
+            sb.append(c);
+            first = false;
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Returns the card at the given position, where 0 is the top of the deck,
+     * counting the undrawn cards of the published array and then the pending cards.
+     * The result is only exact while no other thread is using the deck.
+     *
+     * @param index - the position, between 0 and size() - 1
+     * @return the card at that position
+     * @throws IndexOutOfBoundsException if the deck has no card at that position
+     */
+    @Override
+    Card cardAt(int index) {
+        Batch b = current.get();
+        int from = Math.min(b.cursor.get(), b.cards.length);
+        if (index < b.cards.length - from) {
+            return b.cards[from + index];
+        }
+        int i = b.cards.length - from;
+        for (Card c : pending) {
+            if (i++ == index) {
+                return c;
+            }
+        }
+        throw new IndexOutOfBoundsException("No card at position " + index);
+    }
+
+    /**
+     * Returns the undrawn cards of the published array followed by the pending
+     * cards, top card first. The result is only exact while no other thread is
+     * using the deck.
+     *
+     * @return the cards in the deck
+     */
+    @Override
+    Card[] toArray() {
+        Batch b = current.get();
+        int from = Math.min(b.cursor.get(), b.cards.length);
+        Card[] cards = new Card[b.cards.length - from + Math.max(0, pendingCount.get())];
+        int n = b.cards.length - from;
+        System.arraycopy(b.cards, from, cards, 0, n);
+        for (Card c : pending) {
+            if (n == cards.length) {
+                cards = Arrays.copyOf(cards, n + 1);
+            }
+            cards[n++] = c;
+        }
+        return n == cards.length ? cards : Arrays.copyOf(cards, n);
+    }
+
+    /**
+     * Replaces the contents of the deck with the first n cards of the array,
+     * top card first, publishing them as a new array and dropping the pending cards.
+     * No other thread may use the deck at the same time.
+     *
+     * @param source - the cards to load
+     * @param n      - the number of cards to load
+     */
+    @Override
+    void setCards(Card[] source, int n) {
+        Card[] cards = new Card[n];
+        System.arraycopy(source, 0, cards, 0, n);
+        pending.clear();
+        pendingCount.set(0);
+        current.set(new Batch(cards));
+    }
+
+    /**
+     * Closes the given array so no more draws can claim from it, then publishes
+     * a new array holding its undrawn cards, the pending cards and the extra cards.
+     * Only the thread that closes an array may publish its replacement.
+     *
+     * @param b      - the array expected to be current
+     * @param extra  - extra cards to add, or null for none
+     * @param random - the source to shuffle the new array with, or null to keep the order
+     * @return true if this call published the new array, false if another thread
+     *         was already replacing b and the caller should try again
+     */
+    private boolean republish(Batch b, Card[] extra, RandomSource random) {
+        if (current.get() != b) {
+            return false;
+        }
+        int claimed = b.cursor.getAndSet(CLOSED);
+        if (claimed >= CLOSED) {
+            return false;
+        }
+        int from = Math.min(claimed, b.cards.length);
+        int extraCount = 0;
+        if (extra != null) {
+            for (Card c : extra) {
+                if (c != null) {
+                    extraCount++;
+                }
+            }
+        }
+        Card[] cards = new Card[b.cards.length - from + Math.max(0, pendingCount.get()) + extraCount];
+        int n = b.cards.length - from;
+        System.arraycopy(b.cards, from, cards, 0, n);
+        Card c;
+        while (n < cards.length - extraCount && (c = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            cards[n++] = c;
+        }
+        if (extra != null) {
+            for (Card e : extra) {
+                if (e != null) {
+                    cards[n++] = e;
+                }
+            }
+        }
+        if (n < cards.length) {
+            Card[] trimmed = new Card[n];
+            System.arraycopy(cards, 0, trimmed, 0, n);
+            cards = trimmed;
+        }
+        if (random != null) {
+            shuffleArray(cards, random);
+        }
+        current.set(new Batch(cards));
+        return true;
+    }
+
+    /**
+     * Shuffles an array in place with the Fisher-Yates algorithm.
+     *
+     * @param cards  - the cards to shuffle
+     * @param random - the random source to shuffle with
+     */
+    private static void shuffleArray(Card[] cards, RandomSource random) {
+        for (int i = cards.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Card temp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = temp;
+        }
+    }
+
+    /**
+     * A published array of cards and the cursor that claims them.
+     */
+    private static final class Batch {
+        final Card[] cards;
+        final AtomicInteger cursor = new AtomicInteger();
+
+        Batch(Card[] cards) {
+            this.cards = cards;
+        }
+    }
+}
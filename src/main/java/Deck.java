@@ -1,5 +1,3 @@
-import java.util.ArrayList;
-
 /**
  * Deck Class represents a collection of Card objects
  * Can be created off array of cards, or made as a full,
@@ -7,13 +5,28 @@ import java.util.ArrayList;
  * Provides methods to draw, shuffle, add cards, reshuffle,
  * and check the current size of the deck.
  * 
+ * The cards are kept in a growable circular buffer, so drawing from the
+ * top and adding to the bottom are both O(1) and never shift the deck.
+ * Shuffling uses the deck's RandomSource, which defaults to the calling
+ * thread's ThreadLocalRandom and can be seeded to replay a game exactly.
+ * shuffleLazily defers the shuffle, doing one Fisher-Yates step per draw,
+ * so a game that only deals a few cards does not pay to shuffle the whole deck.
+ * 
  * @author Akash K.
  * @version 1.0
  */
 public class Deck {
-    private ArrayList<Card> cards;
-    private static final int CARD_VALUE_OFFSET = 1;
+    private CardStorage cards;
+    private int head;
+    private int count;
+    private RandomSource random;
+    // The top pendingShuffle cards are still waiting to be shuffled by shuffleLazily
+    private int pendingShuffle;
+    private RandomSource pendingRandom;
     private static final int SHUFFLE_LAST_INDEX_OFFSET = 1;
+    private static final int MIN_CAPACITY = 16;
+    // The largest power of two an array can hold
+    private static final int MAX_ARRAY = 1 << 30;
 
     /**
      * Creates a deck using the given array of cards.
@@ -24,9 +37,25 @@ public class Deck {
      * @throws IllegalArgumentException - if cardArray is null
      */
     public Deck(Card[] cardArray) {
+        this(cardArray, RandomSource.threadLocal());
+    }
+
+    /**
+     * Creates a deck using the given array of cards, shuffled with the given source.
+     * Any null entries inside the array are skipped.
+     *
+     * @param cardArray - the array of Card objects used to form the deck
+     * @param random    - the random source used whenever the deck is shuffled
+     * 
+     * @throws IllegalArgumentException - if cardArray or random is null
+     */
+    public Deck(Card[] cardArray, RandomSource random) {
         if (cardArray == null)
             throw new IllegalArgumentException("Card array cannot be null");
-        cards = new ArrayList<>();
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        this.random = random;
+        cards = new HeapCardStorage(capacityFor(cardArray.length), false);
         for (Card c : cardArray) {
             if (c != null) {
                 addCard(c); 
@@ -40,17 +69,54 @@ public class Deck {
      * Creates a standard unshuffled 52-card deck.
      * The order of suits is Hearts, Clubs, Diamonds, Spades.
      * Within each suit, cards go from Ace through King.
+     * The cards are the shared canonical instances, so no cards are allocated.
      */
     public Deck() {
-        cards = new ArrayList<>();
-        String[] suits = { "Hearts", "Clubs", "Diamonds", "Spades" };
-        String[] names = { "Ace", "2", "3", "4", "5", "6", "7",
-                "8", "9", "10", "Jack", "Queen", "King" };
-        for (String suit : suits) {
-            for (int i = 0; i < names.length; i++) {
-                cards.add(new Card(names[i], suit, i + CARD_VALUE_OFFSET));
-            }
+        this(RandomSource.threadLocal());
+    }
+
+    /**
+     * Creates a standard unshuffled 52-card deck that shuffles with the given source.
+     *
+     * @param random - the random source used whenever the deck is shuffled
+     * @throws IllegalArgumentException if random is null
+     */
+    public Deck(RandomSource random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        this.random = random;
+        cards = new HeapCardStorage(capacityFor(CardRegistry.STANDARD_SIZE), false);
+        for (int i = 0; i < CardRegistry.STANDARD_SIZE; i++) {
+            cards.set(i, CardRegistry.standardCard(i));
         }
+        count = CardRegistry.STANDARD_SIZE;
+    }
+
+    /**
+     * Creates an empty deck with room for the given number of cards.
+     * Used by subclasses that keep their cards somewhere else.
+     *
+     * @param capacity - the number of cards to make room for
+     * @param random   - the random source used whenever the deck is shuffled
+     * @throws IllegalArgumentException if random is null
+     */
+    Deck(int capacity, RandomSource random) {
+        this(new HeapCardStorage(capacityFor(capacity), false), random);
+    }
+
+    /**
+     * Creates an empty deck that keeps its cards in the given storage,
+     * whose capacity must be a power of two.
+     *
+     * @param storage - the empty storage to keep the cards in
+     * @param random  - the random source used whenever the deck is shuffled
+     * @throws IllegalArgumentException if random is null
+     */
+    Deck(CardStorage storage, RandomSource random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        this.random = random;
+        cards = storage;
     }
 
     /**
@@ -59,7 +125,7 @@ public class Deck {
      * @return the size of the deck
      */
     public int size() {
-        return cards.size();
+        return count;
     }
 
     /**
@@ -70,10 +136,94 @@ public class Deck {
      * @return the top card, or null if the deck has no cards
      */
     public Card draw() {
-        if (cards.isEmpty()) {
+        Metrics.CardOperationEvent timing = Metrics.start();
+        Card top = takeTop();
+        Metrics.stop(Metrics.Operation.DECK_DRAW, timing);
+        return top;
+    }
+
+    /**
+     * Removes and returns the top card of the deck, doing one step of any pending shuffle.
+     *
+     * @return the top card, or null if the deck has no cards
+     */
+    private Card takeTop() {
+        if (count == 0) {
             return null;
         }
-        return cards.remove(0);
+        if (pendingShuffle > 0) {
+            int j = pendingRandom.nextInt(pendingShuffle);
+            int pick = (head + j) & (cards.capacity() - 1);
+            Card temp = cards.get(head);
+            cards.set(head, cards.get(pick));
+            cards.set(pick, temp);
+            pendingShuffle--;
+        }
+        Card top = cards.get(head);
+        cards.set(head, null);
+        head = (head + 1) & (cards.capacity() - 1);
+        count--;
+        return top;
+    }
+
+    /**
+     * Removes up to n cards from the top of the deck into the buffer, top card first.
+     * Unless a lazy shuffle is pending, the cards are moved with a bulk copy.
+     *
+     * @param buffer - the array to draw into
+     * @param offset - the index in buffer where the first card goes
+     * @param n      - the most cards to draw
+     * @return the number of cards drawn, which is less than n if the deck runs out
+     * @throws IllegalArgumentException if buffer is null, n is negative, or the
+     *                                  range does not fit in the buffer
+     */
+    public int draw(Card[] buffer, int offset, int n) {
+        checkRange(buffer, offset, n);
+        int drawn = Math.min(n, count);
+        if (pendingShuffle > 0) {
+            for (int i = 0; i < drawn; i++) {
+                buffer[offset + i] = takeTop();
+            }
+            return drawn;
+        }
+        int firstPart = Math.min(drawn, cards.capacity() - head);
+        cards.copyOut(head, buffer, offset, firstPart);
+        cards.copyOut(0, buffer, offset + firstPart, drawn - firstPart);
+        cards.clear(head, head + firstPart);
+        cards.clear(0, drawn - firstPart);
+        head = (head + drawn) & (cards.capacity() - 1);
+        count -= drawn;
+        return drawn;
+    }
+
+    /**
+     * Deals cards from the top of the deck to several players, one card to each
+     * player in turn, until every player has received cardsEach cards or the deck
+     * runs out. The cards are taken off the deck with one bulk draw and then
+     * handed out.
+     *
+     * @param players   - the players to deal to, in dealing order
+     * @param cardsEach - the number of cards to give each player
+     * @return the number of cards dealt
+     * @throws IllegalArgumentException if players is null, contains null, or cardsEach is negative
+     */
+    public int deal(Player[] players, int cardsEach) {
+        if (players == null)
+            throw new IllegalArgumentException("Players cannot be null");
+        for (Player p : players) {
+            if (p == null)
+                throw new IllegalArgumentException("Player cannot be null");
+        }
+        if (cardsEach < 0)
+            throw new IllegalArgumentException("Cards to deal cannot be negative");
+        Metrics.CardOperationEvent timing = Metrics.start();
+        Card[] taken = new Card[(int) Math.min((long) players.length * cardsEach, size())];
+        int dealt = draw(taken, 0, taken.length);
+        for (int i = 0; i < dealt; i++) {
+            players[i % players.length].receive(taken[i]);
+        }
+        Metrics.stop(Metrics.Operation.DECK_DEAL, timing);
+        return dealt;
     }
 
     /**
@@ -81,11 +231,66 @@ public class Deck {
      * Uses swapping to rearrange the deck.
      */
     public void shuffle() {
-        for (int i = cards.size() - SHUFFLE_LAST_INDEX_OFFSET; i > 0; i--) {
-            int j = (int) (Math.random() * (i + SHUFFLE_LAST_INDEX_OFFSET));
-            Card temp = cards.get(i);
-            cards.set(i, cards.get(j));
-            cards.set(j, temp);
+        shuffle(random);
+    }
+
+    /**
+     * Randomly shuffles the order of all cards in the deck using the given source.
+     * Swaps are done in place in the deck's storage.
+     *
+     * @param random - the random source to shuffle with
+     * @throws IllegalArgumentException if random is null
+     */
+    public void shuffle(RandomSource random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        Metrics.CardOperationEvent timing = Metrics.start();
+        pendingShuffle = 0;
+        pendingRandom = null;
+        shuffleTop(count, random);
+        Metrics.stop(Metrics.Operation.DECK_SHUFFLE, timing);
+    }
+
+    /**
+     * Marks the whole deck as shuffled pending instead of shuffling it now.
+     * Each draw then picks its card uniformly from the cards not yet drawn,
+     * which gives the same result as shuffle() but only costs work for the
+     * cards that are actually drawn. Cards added afterwards go to the bottom
+     * as usual and are not part of the pending shuffle.
+     */
+    public void shuffleLazily() {
+        shuffleLazily(random);
+    }
+
+    /**
+     * Marks the whole deck as shuffled pending, using the given source
+     * for the shuffle steps done by each draw.
+     *
+     * @param random - the random source to shuffle with
+     * @throws IllegalArgumentException if random is null
+     */
+    public void shuffleLazily(RandomSource random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        pendingShuffle = count;
+        pendingRandom = count > 0 ? random : null;
+    }
+
+    /**
+     * Shuffles the top n cards of the deck in place.
+     *
+     * @param n      - the number of cards from the top to shuffle
+     * @param random - the random source to shuffle with
+     */
+    private void shuffleTop(int n, RandomSource random) {
+        int mask = cards.capacity() - 1;
+        for (int i = n - SHUFFLE_LAST_INDEX_OFFSET; i > 0; i--) {
+            int j = random.nextInt(i + SHUFFLE_LAST_INDEX_OFFSET);
+            int a = (head + i) & mask;
+            int b = (head + j) & mask;
+            Card temp = cards.get(a);
+            cards.set(a, cards.get(b));
+            cards.set(b, temp);
         }
     }
 
@@ -100,7 +305,11 @@ public class Deck {
         if (card == null) {
             throw new NullPointerException("Cannot add null card to deck");
         }
-        cards.add(card);
+        if (count == cards.capacity()) {
+            grow(count + 1);
+        }
+        cards.set((head + count) & (cards.capacity() - 1), card);
+        count++;
     }
 
     /**
@@ -113,12 +322,40 @@ public class Deck {
     public void reshuffle(Card[] cardArray) {
         if (cardArray == null)
             throw new NullPointerException("Card array cannot be null");
+        Metrics.CardOperationEvent timing = Metrics.start();
+        if (count + cardArray.length > cards.capacity()) {
+            grow(count + cardArray.length);
+        }
         for (Card c : cardArray) {
             if (c != null) {
                 addCard(c);
             }
         }
         shuffle();
+        Metrics.stop(Metrics.Operation.DECK_RESHUFFLE, timing);
+    }
+
+    /**
+     * Moves every card in the discard pile to the bottom of the deck, emptying the pile,
+     * then shuffles the deck. The cards are copied straight from the pile's storage
+     * into the deck's, with no intermediate array.
+     *
+     * @param pile - the discard pile to recycle
+     * @throws NullPointerException if pile is null
+     */
+    public void reshuffle(DiscardPile pile) {
+        if (pile == null)
+            throw new NullPointerException("Discard pile cannot be null");
+        Metrics.CardOperationEvent timing = Metrics.start();
+        int n = pile.size();
+        if (count + n > cards.capacity()) {
+            grow(count + n);
+        }
+        pile.copyTo(cards, (head + count) & (cards.capacity() - 1));
+        count += n;
+        pile.clear();
+        shuffle();
+        Metrics.stop(Metrics.Operation.DECK_RESHUFFLE, timing);
     }
 
     /**
@@ -128,6 +365,126 @@ public class Deck {
      */
     @Override
     public String toString() {
-        return cards.toString();
+        settle();
+        StringBuilder sb = new StringBuilder("[");
+        int mask = cards.capacity() - 1;
+        for (int i = 0; i < count; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(cards.get((head + i) & mask));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Returns an immutable copy of the deck, in the same order, that later changes
+     * to either one do not affect. Taking the snapshot is O(n); forking it after
+     * that is free.
+     *
+     * @return the snapshot
+     */
+    public PersistentDeck snapshot() {
+        Card[] all = toArray();
+        return PersistentDeck.of(all, all.length);
+    }
+
+    /**
+     * Returns the cards in the deck in a new array, top card first.
+     *
+     * @return the cards in the deck
+     */
+    Card[] toArray() {
+        int n = size();
+        Card[] all = new Card[n];
+        for (int i = 0; i < n; i++) {
+            all[i] = cardAt(i);
+        }
+        return all;
+    }
+
+    /**
+     * Returns the card at the given position, where 0 is the top of the deck.
+     *
+     * @param index - the position, between 0 and size() - 1
+     * @return the card at that position
+     */
+    Card cardAt(int index) {
+        settle();
+        return cards.get((head + index) & (cards.capacity() - 1));
+    }
+
+    /**
+     * Replaces the contents of the deck with the first n cards of the array,
+     * top card first, in a single bulk copy.
+     *
+     * @param source - the cards to load
+     * @param n      - the number of cards to load
+     */
+    void setCards(Card[] source, int n) {
+        if (n > cards.capacity()) {
+            cards = cards.resize(capacityFor(n), 0, 0);
+        } else {
+            cards.clear(0, cards.capacity());
+        }
+        pendingShuffle = 0;
+        pendingRandom = null;
+        cards.copyIn(source, 0, 0, n);
+        head = 0;
+        count = n;
+    }
+
+    /**
+     * Checks that a buffer range is valid.
+     *
+     * @param buffer - the buffer
+     * @param offset - the start of the range
+     * @param n      - the length of the range
+     * @throws IllegalArgumentException if buffer is null or the range does not fit
+     */
+    static void checkRange(Card[] buffer, int offset, int n) {
+        if (buffer == null)
+            throw new IllegalArgumentException("Buffer cannot be null");
+        if (n < 0)
+            throw new IllegalArgumentException("Card count cannot be negative");
+        if (offset < 0 || offset > buffer.length - n)
+            throw new IllegalArgumentException("Range does not fit in the buffer");
+    }
+
+    /**
+     * Finishes a pending lazy shuffle, so the order of every card is fixed.
+     */
+    private void settle() {
+        if (pendingShuffle > 0) {
+            shuffleTop(pendingShuffle, pendingRandom);
+            pendingShuffle = 0;
+            pendingRandom = null;
+        }
+    }
+
+    /**
+     * Returns the smallest power of two that can hold the given number of cards.
+     *
+     * @param needed - the number of cards the buffer must hold
+     * @return the buffer capacity to use
+     * @throws IllegalStateException if more cards are needed than a deck can hold
+     */
+    static int capacityFor(int needed) {
+        if (needed < 0 || needed > MAX_ARRAY)
+            throw new IllegalStateException("Deck cannot hold more than " + MAX_ARRAY + " cards");
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Moves the cards into a larger buffer, with the top card at index 0.
+     *
+     * @param needed - the number of cards the new buffer must hold
+     */
+    private void grow(int needed) {
+        cards = cards.resize(capacityFor(needed), head, count);
+        head = 0;
     }
 }
@@ -1,4 +1,4 @@
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * The DiscardPile class represents a pile of discarded Card objects.
@@ -6,11 +6,24 @@ import java.util.ArrayList;
  * Provides methods for adding cards, removing specific cards,
  * removing all cards, checking the size, and returning the pile as an array.
  * 
+ * Next to the cards in insertion order, the pile keeps an index from each
+ * card's ordinal to the slots holding that card, so removeCard and contains
+ * take O(1) expected time. Removed slots are left empty and the pile is
+ * compacted once they outnumber the cards still in it.
+ * 
  * @author Akash K.
  * @version 1.0
  */
 public class DiscardPile {
-    private ArrayList<Card> pile = new ArrayList<Card>();
+    private static final int MIN_CAPACITY = 16;
+    private static final int NO_SLOT = -1;
+
+    // Each slot's link is the next slot holding the same card
+    private CardStorage slots;
+    private int[] firstSlot = newIndex(CardRegistry.STANDARD_SIZE);
+    private int[] lastSlot = newIndex(CardRegistry.STANDARD_SIZE);
+    private int end;
+    private int live;
 
     /**
      * Constructs a DiscardPile using the provided array of cards.
@@ -20,9 +33,9 @@ public class DiscardPile {
      * @throws IllegalArgumentException if cards is null
      */
     public DiscardPile(Card[] cards) {
+        this();
         if (cards == null)
             throw new IllegalArgumentException("Card array cannot be null");
-        pile = new ArrayList<>();
         for (int i = 0; i < cards.length; i++) {
             if (cards[i] != null) {
                 addCard(cards[i]); 
@@ -34,7 +47,17 @@ public class DiscardPile {
      * Constructs an empty discard pile with no cards.
      */
     public DiscardPile() {
-        pile = new ArrayList<Card>();
+        this(new HeapCardStorage(MIN_CAPACITY, true));
+    }
+
+    /**
+     * Constructs an empty discard pile that keeps its cards in the given storage,
+     * which must have links and at least MIN_CAPACITY slots.
+     *
+     * @param storage - the empty storage to keep the cards in
+     */
+    DiscardPile(CardStorage storage) {
+        slots = storage;
     }
 
     /**
@@ -43,8 +66,15 @@ public class DiscardPile {
      * @return an array containing all cards in the pile
      */
     public Card[] getCards() {
-        Card[] arr = new Card[pile.size()];
-        return pile.toArray(arr);
+        Card[] arr = new Card[live];
+        int n = 0;
+        for (int i = 0; i < end; i++) {
+            Card card = slots.get(i);
+            if (card != null) {
+                arr[n++] = card;
+            }
+        }
+        return arr;
     }
 
     /**
@@ -53,7 +83,7 @@ public class DiscardPile {
      * @return the size of the pile
      */
     public int size() {
-        return pile.size();
+        return live;
     }
 
     /**
@@ -65,7 +95,23 @@ public class DiscardPile {
     public void addCard(Card card) {
         if (card == null)
             throw new IllegalArgumentException("Cannot add null card to discard pile");
-        pile.add(card);
+        if (end == slots.capacity()) {
+            slots = slots.resize(slots.capacity() * 2, 0, end);
+        }
+        int ordinal = card.getOrdinal();
+        if (ordinal >= firstSlot.length) {
+            growIndex(ordinal + 1);
+        }
+        int slot = end++;
+        slots.set(slot, card);
+        slots.setLink(slot, NO_SLOT);
+        if (firstSlot[ordinal] == NO_SLOT) {
+            firstSlot[ordinal] = slot;
+        } else {
+            slots.setLink(lastSlot[ordinal], slot);
+        }
+        lastSlot[ordinal] = slot;
+        live++;
     }
 
     /**
@@ -80,12 +126,51 @@ public class DiscardPile {
         if (card == null) {
             throw new IllegalArgumentException("Cannot remove null card from discard pile");
         }
-        for (int i = 0; i < pile.size(); i++) {
-            if (pile.get(i).equals(card)) {
-                return pile.remove(i);
-            }
+        Metrics.CardOperationEvent timing = Metrics.start();
+        Card removed = unlink(card.getOrdinal());
+        Metrics.stop(Metrics.Operation.PILE_REMOVE, timing);
+        return removed;
+    }
+
+    /**
+     * Removes the oldest card with the given ordinal from the pile.
+     *
+     * @param ordinal - the ordinal of the card to remove
+     * @return the removed card, or null if the pile holds no such card
+     */
+    private Card unlink(int ordinal) {
+        if (ordinal >= firstSlot.length || firstSlot[ordinal] == NO_SLOT) {
+            return null;
+        }
+        int slot = firstSlot[ordinal];
+        firstSlot[ordinal] = slots.link(slot);
+        if (firstSlot[ordinal] == NO_SLOT) {
+            lastSlot[ordinal] = NO_SLOT;
+        }
+        Card removed = slots.get(slot);
+        slots.set(slot, null);
+        live--;
+        while (end > 0 && slots.get(end - 1) == null) {
+            end--;
         }
-        return null;
+        if (end - live > live && end > MIN_CAPACITY) {
+            compact();
+        }
+        return removed;
+    }
+
+    /**
+     * Returns true if the discard pile holds at least one card equal to the given card.
+     *
+     * @param card - the card to look for
+     * @return true if the card is in the pile, false otherwise
+     * @throws IllegalArgumentException if card is null
+     */
+    public boolean contains(Card card) {
+        if (card == null)
+            throw new IllegalArgumentException("Cannot search for null card in discard pile");
+        int ordinal = card.getOrdinal();
+        return ordinal < firstSlot.length && firstSlot[ordinal] != NO_SLOT;
     }
 
     /**
@@ -95,11 +180,11 @@ public class DiscardPile {
      * @return an array containing all removed cards
      */
     public Card[] removeAll() {
-        if (pile.isEmpty()) {
+        if (live == 0) {
             return new Card[0];
         }
         Card[] all = getCards();
-        pile.clear();
+        clear();
         return all;
     }
 
@@ -111,14 +196,19 @@ public class DiscardPile {
      */
     @Override
     public String toString() {
-        if (pile.isEmpty())
+        if (live == 0)
             return "";
 
         StringBuilder sb = new StringBuilder();
 
-        for (int i = 0; i < pile.size(); i++) {
-            sb.append(pile.get(i).toString());
-            if (i < pile.size() - 1)
+        int written = 0;
+        for (int i = 0; i < end; i++) {
+            Card card = slots.get(i);
+            if (card == null)
+                continue;
+            sb.append(card.toString());
+            written++;
+            if (written < live)
                 sb.append(", ");
             else
                 sb.append(".");
@@ -126,4 +216,147 @@ public class DiscardPile {
 
         return sb.toString();
     }
+
+    /**
+     * Returns an immutable copy of the discard pile, in the same order, that later
+     * changes to either one do not affect. Taking the snapshot is O(n); forking it
+     * after that is free.
+     *
+     * @return the snapshot
+     */
+    public PersistentDiscardPile snapshot() {
+        return PersistentDiscardPile.of(compactedSlots(), size());
+    }
+
+    /**
+     * Removes every card from the pile without returning them.
+     */
+    void clear() {
+        slots.clear(0, end);
+        Arrays.fill(firstSlot, NO_SLOT);
+        Arrays.fill(lastSlot, NO_SLOT);
+        end = 0;
+        live = 0;
+    }
+
+    /**
+     * Compacts the pile and returns an array whose first size() entries are the
+     * cards in the order they were added. While the pile keeps its cards on the
+     * heap, the array is the pile's own storage and must not be changed;
+     * otherwise it is a new array of the cards.
+     *
+     * @return the pile's slot array, or a copy of the cards
+     */
+    Card[] compactedSlots() {
+        if (end != live) {
+            compact();
+        }
+        Card[] array = slots.array();
+        if (array != null) {
+            return array;
+        }
+        Card[] cards = new Card[live];
+        slots.copyOut(0, cards, 0, live);
+        return cards;
+    }
+
+    /**
+     * Compacts the pile and copies its cards, in the order they were added, into
+     * consecutive slots of the given storage, wrapping around to slot 0 at its end.
+     * Heap slots are copied in bulk; other slots are copied one at a time, so no
+     * array is built on the way.
+     *
+     * @param dest - the storage to copy into, with room for size() cards from to
+     * @param to   - the first slot of dest to copy into
+     */
+    void copyTo(CardStorage dest, int to) {
+        if (end != live) {
+            compact();
+        }
+        int firstPart = Math.min(live, dest.capacity() - to);
+        Card[] array = slots.array();
+        if (array != null) {
+            dest.copyIn(array, 0, to, firstPart);
+            dest.copyIn(array, firstPart, 0, live - firstPart);
+            return;
+        }
+        for (int i = 0; i < firstPart; i++) {
+            dest.set(to + i, slots.get(i));
+        }
+        for (int i = firstPart; i < live; i++) {
+            dest.set(i - firstPart, slots.get(i));
+        }
+    }
+
+    /**
+     * Returns the number of slots in use, including empty ones left by removed cards.
+     *
+     * @return the slot count
+     */
+    int slotCount() {
+        return end;
+    }
+
+    /**
+     * Returns the card in the given slot, or null if that card was removed.
+     *
+     * @param slot - the slot, between 0 and slotCount() - 1
+     * @return the card in the slot, or null
+     */
+    Card slotAt(int slot) {
+        return slots.get(slot);
+    }
+
+    /**
+     * Moves the remaining cards to the front of the slots, keeping their order,
+     * and rebuilds the index of same-card slots.
+     */
+    private void compact() {
+        Arrays.fill(firstSlot, NO_SLOT);
+        Arrays.fill(lastSlot, NO_SLOT);
+        int n = 0;
+        for (int i = 0; i < end; i++) {
+            Card card = slots.get(i);
+            if (card == null)
+                continue;
+            slots.set(i, null);
+            slots.set(n, card);
+            slots.setLink(n, NO_SLOT);
+            int ordinal = card.getOrdinal();
+            if (firstSlot[ordinal] == NO_SLOT) {
+                firstSlot[ordinal] = n;
+            } else {
+                slots.setLink(lastSlot[ordinal], n);
+            }
+            lastSlot[ordinal] = n;
+            n++;
+        }
+        end = n;
+    }
+
+    /**
+     * Grows the ordinal index so it can hold the given number of ordinals.
+     *
+     * @param needed - the number of ordinals the index must cover
+     */
+    private void growIndex(int needed) {
+        int length = Math.max(needed, firstSlot.length * 2);
+        int oldLength = firstSlot.length;
+        firstSlot = Arrays.copyOf(firstSlot, length);
+        lastSlot = Arrays.copyOf(lastSlot, length);
+        Arrays.fill(firstSlot, oldLength, length, NO_SLOT);
+        Arrays.fill(lastSlot, oldLength, length, NO_SLOT);
+    }
+
+    /**
+     * Creates an ordinal index with every entry set to no slot.
+     *
+     * @param length - the number of ordinals to cover
+     * @return the new index
+     */
+    private static int[] newIndex(int length) {
+        int[] index = new int[length];
+        Arrays.fill(index, NO_SLOT);
+        return index;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameJournal class records the events of High Card games to an
+ * append-only binary file instead of printing them.
+ *
+ * The file starts with a header holding the player names, followed by
+ * fixed-width 8-byte records: an event type byte, a seat byte, a round short
+ * and an int holding a card ordinal, a round winner or a score. Records are
+ * collected in a direct buffer and written to the file channel in large blocks.
+ * GameJournalReader turns a journal back into the text HighCardGame prints.
+ *
+ * Cards are stored by ordinal. The 52 standard cards always have the same
+ * ordinals, but other cards are only meaningful to the process that wrote them.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class GameJournal implements Closeable {
+    /** The first four bytes of every journal file. */
+    static final int MAGIC = 0x48434A31;
+    /** The format version written in the header. */
+    static final short VERSION = 1;
+    /** The size of every event record in bytes. */
+    static final int RECORD_SIZE = 8;
+
+    /** A card dealt to a seat; data is the card ordinal. */
+    static final byte DEAL = 1;
+    /** A card played by a seat in a round; data is the card ordinal. */
+    static final byte PLAY = 2;
+    /** The result of a round; data is the winning seat, or -1 for a tie. */
+    static final byte ROUND_RESULT = 3;
+    /** A seat's final score; data is the score. */
+    static final byte FINAL_SCORE = 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final int playerCount;
+
+    /**
+     * Creates a journal file, replacing any existing file, and writes its header.
+     *
+     * @param path        - the file to write
+     * @param playerNames - the names of the players in seat order
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if path or playerNames is null, a name is null
+     *                                  or longer than 32767 bytes in UTF-8, or there are
+     *                                  no players or more than 127
+     */
+    public GameJournal(Path path, String[] playerNames) throws IOException {
+        if (path == null)
+            throw new IllegalArgumentException("Journal path cannot be null");
+        if (playerNames == null)
+            throw new IllegalArgumentException("Player names cannot be null");
+        if (playerNames.length == 0 || playerNames.length > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("Player count must be between 1 and 127");
+        byte[][] names = new byte[playerNames.length][];
+        for (int i = 0; i < names.length; i++) {
+            if (playerNames[i] == null)
+                throw new IllegalArgumentException("Player name cannot be null");
+            names[i] = playerNames[i].getBytes(StandardCharsets.UTF_8);
+            if (names[i].length > Short.MAX_VALUE)
+                throw new IllegalArgumentException("Player name cannot be longer than " + Short.MAX_VALUE + " bytes");
+        }
+        this.playerCount = playerNames.length;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) playerCount);
+        for (byte[] name : names) {
+            ensureRoom(Short.BYTES + name.length);
+            buffer.putShort((short) name.length).put(name);
+        }
+    }
+
+    /**
+     * Records a card being dealt to a seat.
+     *
+     * @param seat - the seat receiving the card
+     * @param card - the card dealt
+     * @throws IOException if the journal cannot be written
+     */
+    public void deal(int seat, Card card) throws IOException {
+        write(DEAL, seat, 0, card.getOrdinal());
+    }
+
+    /**
+     * Records a card played by a seat.
+     *
+     * @param round - the round number, starting at 1
+     * @param seat  - the seat playing the card
+     * @param card  - the card played
+     * @throws IOException if the journal cannot be written
+     * @throws IllegalArgumentException if seat is not a valid seat or round is
+     *                                  not between 1 and 32767
+     */
+    public void play(int round, int seat, Card card) throws IOException {
+        checkRound(round);
+        write(PLAY, seat, round, card.getOrdinal());
+    }
+
+    /**
+     * Records the result of a round.
+     *
+     * @param round  - the round number, starting at 1
+     * @param winner - the winning seat, or -1 for a tie
+     * @throws IOException if the journal cannot be written
+     * @throws IllegalArgumentException if winner is not a valid seat or -1, or round
+     *                                  is not between 1 and 32767
+     */
+    public void roundResult(int round, int winner) throws IOException {
+        if (winner < -1 || winner >= playerCount)
+            throw new IllegalArgumentException("Winner must be a seat or -1");
+        checkRound(round);
+        write(ROUND_RESULT, 0, round, winner);
+    }
+
+    /**
+     * Records a seat's final score. Recording the last seat's score ends the game.
+     *
+     * @param seat  - the seat
+     * @param score - the seat's final score
+     * @throws IOException if the journal cannot be written
+     */
+    public void finalScore(int seat, int score) throws IOException {
+        write(FINAL_SCORE, seat, 0, score);
+    }
+
+    /**
+     * Writes all buffered records to the file.
+     *
+     * @throws IOException if the journal cannot be written
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes any buffered records and closes the file.
+     *
+     * @throws IOException if the journal cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Appends one fixed-width record to the buffer.
+     *
+     * @param type  - the event type
+     * @param seat  - the seat the event belongs to
+     * @param round - the round number, or 0 if not part of a round
+     * @param data  - the event's card ordinal, winner or score
+     * @throws IOException if the buffer had to be flushed and the write failed
+     * @throws IllegalArgumentException if seat is not a valid seat
+     */
+    private void write(byte type, int seat, int round, int data) throws IOException {
+        if (seat < 0 || seat >= playerCount)
+            throw new IllegalArgumentException("Seat must be between 0 and " + (playerCount - 1));
+        ensureRoom(RECORD_SIZE);
+        buffer.put(type).put((byte) seat).putShort((short) round).putInt(data);
+    }
+
+    private static void checkRound(int round) {
+        if (round < 1 || round > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Round must be between 1 and " + Short.MAX_VALUE);
+    }
+
+    /**
+     * Flushes the buffer if it cannot hold the given number of bytes.
+     *
+     * @param bytes - the number of bytes about to be written
+     * @throws IOException if the flush fails
+     */
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameJournalReader class turns a journal written by GameJournal back
+ * into the same text that HighCardGame prints for each round and the final scores.
+ * The file is read through a fixed-size window that is refilled as the
+ * records are used up, so a journal of any size can be read.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class GameJournalReader {
+    private static final int WINDOW_SIZE = 64 * 1024;
+
+    private GameJournalReader() {
+    }
+
+    /**
+     * Renders a journal file as text.
+     *
+     * @param path - the journal file to read
+     * @return the rendered text
+     * @throws IOException if the file cannot be read or is not a journal
+     * @throws IllegalArgumentException if path is null
+     */
+    public static String render(Path path) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        render(path, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Renders a journal file as text, appending it to out.
+     *
+     * @param path - the journal file to read
+     * @param out  - where the text is written
+     * @throws IOException if the file cannot be read or is not a journal
+     * @throws IllegalArgumentException if path or out is null
+     */
+    public static void render(Path path, Appendable out) throws IOException {
+        if (path == null)
+            throw new IllegalArgumentException("Journal path cannot be null");
+        if (out == null)
+            throw new IllegalArgumentException("Output cannot be null");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer in = ByteBuffer.allocateDirect(WINDOW_SIZE);
+            in.flip();
+            if (!fill(channel, in, Integer.BYTES + 2 * Short.BYTES) || in.getInt() != GameJournal.MAGIC)
+                throw new IOException("Not a game journal: " + path);
+            short version = in.getShort();
+            if (version != GameJournal.VERSION)
+                throw new IOException("Unsupported journal version " + version);
+            int playerCount = in.getShort();
+            if (playerCount < 1 || playerCount > Byte.MAX_VALUE)
+                throw new IOException("Damaged journal header: " + path);
+            String[] names = new String[playerCount];
+            for (int i = 0; i < names.length; i++) {
+                if (!fill(channel, in, Short.BYTES))
+                    throw new IOException("Damaged journal header: " + path);
+                int length = in.getShort();
+                if (length < 0 || !fill(channel, in, length))
+                    throw new IOException("Damaged journal header: " + path);
+                byte[] bytes = new byte[length];
+                in.get(bytes);
+                names[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int[] scores = new int[names.length];
+            int currentRound = 0;
+            while (fill(channel, in, GameJournal.RECORD_SIZE)) {
+                byte type = in.get();
+                int seat = in.get();
+                int round = in.getShort();
+                int data = in.getInt();
+                if (seat < 0 || seat >= names.length)
+                    throw new IOException("Journal record for unknown seat " + seat);
+                switch (type) {
+                    case GameJournal.DEAL:
+                        break;
+                    case GameJournal.PLAY:
+                        if (round != currentRound) {
+                            out.append("\nRound ").append(String.valueOf(round)).append(":\n");
+                            currentRound = round;
+                        }
+                        out.append(names[seat]).append(" plays: ").append(card(data).toString()).append('\n');
+                        break;
+                    case GameJournal.ROUND_RESULT:
+                        if (data < -1 || data >= names.length)
+                            throw new IOException("Journal round won by unknown seat " + data);
+                        if (data < 0) {
+                            out.append("Tie, no points awarded.\n");
+                        } else {
+                            out.append(names[data]).append(" wins the round!\n");
+                        }
+                        break;
+                    case GameJournal.FINAL_SCORE:
+                        if (seat == 0) {
+                            out.append("\nFinal Scores:\n");
+                        }
+                        scores[seat] = data;
+                        out.append(names[seat]).append(": ").append(String.valueOf(data)).append('\n');
+                        if (seat == names.length - 1) {
+                            appendWinner(names, scores, out);
+                            currentRound = 0;
+                        }
+                        break;
+                    default:
+                        throw new IOException("Unknown journal record type " + type);
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes sure the window holds at least the given number of unread bytes,
+     * moving the unread bytes to its start and reading more from the file if needed.
+     *
+     * @param channel - the file being read
+     * @param in      - the window, ready to be read from
+     * @param needed  - the number of bytes about to be read, at most the window size
+     * @return true if that many bytes are available, false if the file ends first
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer in, int needed) throws IOException {
+        if (in.remaining() >= needed) {
+            return true;
+        }
+        in.compact();
+        while (in.position() < needed && channel.read(in) >= 0) {
+            // keep reading until the window holds enough or the file ends
+        }
+        in.flip();
+        return in.remaining() >= needed;
+    }
+
+    private static Card card(int ordinal) throws IOException {
+        try {
+            return CardRegistry.byOrdinal(ordinal);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Journal holds an unknown card", e);
+        }
+    }
+
+    /**
+     * Appends the winner line for a finished game.
+     *
+     * @param names  - the player names in seat order
+     * @param scores - the final scores in seat order
+     * @param out    - where the text is written
+     * @throws IOException if out cannot be written
+     */
+    private static void appendWinner(String[] names, int[] scores, Appendable out) throws IOException {
+        int winner = -1;
+        int best = -1;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > best) {
+                best = scores[i];
+                winner = i;
+            } else if (scores[i] == best) {
+                winner = -1;
+            }
+        }
+        if (winner < 0) {
+            out.append("It's a tie!\n");
+        } else {
+            out.append("Winner: ").append(names[winner]).append('\n');
+        }
+    }
+
+    /**
+     * Prints the journal file named by the first argument.
+     *
+     * @param args - the command line arguments
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: GameJournalReader <journal file>");
+            return;
+        }
+        render(Paths.get(args[0]), System.out);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * The GameRules interface describes one card game variant to the RulesEngine.
+ * A variant supplies how many cards are dealt, which card each player plays,
+ * who wins each turn, where the played cards go, and how the final score is
+ * counted; the engine supplies the deck, the players, the discard pile and the
+ * turn loop.
+ *
+ * The engine calls these methods on every turn, so implementations should not
+ * allocate: they should only move cards between the deck, the hands and the pile.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public interface GameRules {
+
+    /**
+     * Returns the number of cards dealt to each player at the start of a game.
+     *
+     * @param players - the number of players at the table
+     * @return the cards dealt to each player
+     */
+    int cardsPerPlayer(int players);
+
+    /**
+     * Returns true if the game is over before the given turn is played.
+     *
+     * @param turn  - the number of turns already played
+     * @param seats - the players in seat order
+     * @return true if no more turns are played
+     */
+    boolean isOver(int turn, Player[] seats);
+
+    /**
+     * Removes the card the player plays this turn from their hand and returns it.
+     *
+     * @param player - the player whose turn it is
+     * @return the card played, or null if the player sits the turn out
+     */
+    Card play(Player player);
+
+    /**
+     * Returns the seat that wins the turn.
+     *
+     * @param played - the card each seat played, or null for a seat that sat out
+     * @return the winning seat, or -1 if nobody wins the turn
+     */
+    int turnWinner(Card[] played);
+
+    /**
+     * Moves the played cards to wherever the variant keeps them after a turn.
+     *
+     * @param played - the card each seat played, or null for a seat that sat out
+     * @param winner - the seat that won the turn, or -1 if nobody did
+     * @param seats  - the players in seat order
+     * @param deck   - the game's deck
+     * @param pile   - the game's discard pile
+     */
+    void collect(Card[] played, int winner, Player[] seats, Deck deck, DiscardPile pile);
+
+    /**
+     * Returns a player's final score once the game is over.
+     *
+     * @param player   - the player
+     * @param turnsWon - the number of turns the player won
+     * @return the score, where the highest score wins the game
+     */
+    int finalScore(Player player, int turnsWon);
+}
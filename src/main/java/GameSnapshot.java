@@ -0,0 +1,399 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * The GameSnapshot class saves and restores the state of a Deck, a Player
+ * or a DiscardPile in a compact, versioned binary format.
+ *
+ * Every snapshot starts with a magic number, a format version and the kind of
+ * object saved. Cards are written straight from the object into the buffer as
+ * codes: the 52 standard cards use their ordinals, and any other card is listed
+ * once in a small dictionary at the front of the card list, so a snapshot can be
+ * restored in another process. When every code fits in a byte, each card takes
+ * a single byte. Measuring or writing a snapshot reads the cards in place through
+ * a small card table rather than copying them out first; only an off-heap discard
+ * pile is copied into an array. Measuring or writing a deck with a pending lazy
+ * shuffle finishes the shuffle, since the saved order must be fixed. Restoring
+ * decodes all the cards first and loads them in bulk, and a damaged or truncated
+ * snapshot is reported as an IOException.
+ *
+ * A Player snapshot keeps the name, age and the exact order of the hand.
+ * A Deck snapshot keeps the order of the cards but not the random source.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class GameSnapshot {
+    /** The first four bytes of every snapshot. */
+    static final int MAGIC = 0x48435331;
+    /** The format version written in every snapshot. */
+    static final byte VERSION = 1;
+
+    private static final byte DECK = 1;
+    private static final byte PLAYER = 2;
+    private static final byte DISCARD_PILE = 3;
+    private static final int HEADER_SIZE = Integer.BYTES + 2;
+    private static final int MAX_CODE = 0xFFFF;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Returns the number of bytes needed to save the deck.
+     * A pending lazy shuffle is finished first.
+     *
+     * @param deck - the deck to measure
+     * @return the snapshot size in bytes
+     * @throws IllegalArgumentException if deck is null
+     */
+    public static int sizeOf(Deck deck) {
+        if (deck == null)
+            throw new IllegalArgumentException("Deck cannot be null");
+        return HEADER_SIZE + new CardTable(deck.size(), deck::cardAt).byteSize();
+    }
+
+    /**
+     * Returns the number of bytes needed to save the player.
+     *
+     * @param player - the player to measure
+     * @return the snapshot size in bytes
+     * @throws IllegalArgumentException if player is null
+     */
+    public static int sizeOf(Player player) {
+        if (player == null)
+            throw new IllegalArgumentException("Player cannot be null");
+        return HEADER_SIZE + stringSize(player.getName()) + Integer.BYTES
+                + new CardTable(player.size(), player::cardAt).byteSize();
+    }
+
+    /**
+     * Returns the number of bytes needed to save the discard pile.
+     *
+     * @param pile - the discard pile to measure
+     * @return the snapshot size in bytes
+     * @throws IllegalArgumentException if pile is null
+     */
+    public static int sizeOf(DiscardPile pile) {
+        if (pile == null)
+            throw new IllegalArgumentException("Discard pile cannot be null");
+        return HEADER_SIZE + pileTable(pile).byteSize();
+    }
+
+    /**
+     * Writes the deck's cards, top first, into the buffer.
+     * A pending lazy shuffle is finished first.
+     *
+     * @param deck - the deck to save
+     * @param out  - the buffer to write to, with at least sizeOf(deck) bytes remaining
+     * @throws IllegalArgumentException if deck or out is null
+     * @throws java.nio.BufferOverflowException if out does not have enough room
+     */
+    public static void write(Deck deck, ByteBuffer out) {
+        if (deck == null)
+            throw new IllegalArgumentException("Deck cannot be null");
+        if (out == null)
+            throw new IllegalArgumentException("Buffer cannot be null");
+        writeHeader(out, DECK);
+        new CardTable(deck.size(), deck::cardAt).write(out);
+    }
+
+    /**
+     * Writes the player's name, age and hand, bottom card first, into the buffer.
+     *
+     * @param player - the player to save
+     * @param out    - the buffer to write to, with at least sizeOf(player) bytes remaining
+     * @throws IllegalArgumentException if player or out is null
+     * @throws java.nio.BufferOverflowException if out does not have enough room
+     */
+    public static void write(Player player, ByteBuffer out) {
+        if (player == null)
+            throw new IllegalArgumentException("Player cannot be null");
+        if (out == null)
+            throw new IllegalArgumentException("Buffer cannot be null");
+        writeHeader(out, PLAYER);
+        writeString(out, player.getName());
+        out.putInt(player.getAge());
+        new CardTable(player.size(), player::cardAt).write(out);
+    }
+
+    /**
+     * Writes the discard pile's cards, in the order they were added, into the buffer.
+     *
+     * @param pile - the discard pile to save
+     * @param out  - the buffer to write to, with at least sizeOf(pile) bytes remaining
+     * @throws IllegalArgumentException if pile or out is null
+     * @throws java.nio.BufferOverflowException if out does not have enough room
+     */
+    public static void write(DiscardPile pile, ByteBuffer out) {
+        if (pile == null)
+            throw new IllegalArgumentException("Discard pile cannot be null");
+        if (out == null)
+            throw new IllegalArgumentException("Buffer cannot be null");
+        writeHeader(out, DISCARD_PILE);
+        pileTable(pile).write(out);
+    }
+
+    /**
+     * Restores a deck saved by write(Deck, ByteBuffer).
+     * The restored deck shuffles with the thread-local random source.
+     *
+     * @param in - the buffer to read from
+     * @return the restored deck
+     * @throws IOException if in does not hold a whole, valid deck snapshot
+     * @throws IllegalArgumentException if in is null
+     */
+    public static Deck readDeck(ByteBuffer in) throws IOException {
+        return readDeck(in, RandomSource.threadLocal());
+    }
+
+    /**
+     * Restores a deck saved by write(Deck, ByteBuffer) that shuffles with the given source.
+     *
+     * @param in     - the buffer to read from
+     * @param random - the random source the restored deck shuffles with
+     * @return the restored deck
+     * @throws IOException if in does not hold a whole, valid deck snapshot
+     * @throws IllegalArgumentException if in or random is null
+     */
+    public static Deck readDeck(ByteBuffer in, RandomSource random) throws IOException {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        readHeader(in, DECK);
+        Card[] cards = readCards(in);
+        Deck deck = new Deck(cards.length, random);
+        deck.setCards(cards, cards.length);
+        return deck;
+    }
+
+    /**
+     * Restores a player saved by write(Player, ByteBuffer).
+     *
+     * @param in - the buffer to read from
+     * @return the restored player
+     * @throws IOException if in does not hold a whole, valid player snapshot
+     * @throws IllegalArgumentException if in is null
+     */
+    public static Player readPlayer(ByteBuffer in) throws IOException {
+        readHeader(in, PLAYER);
+        try {
+            String name = readString(in);
+            int age = in.getInt();
+            Card[] cards = readCards(in);
+            Player player = new Player(name, age);
+            player.setHand(cards, cards.length);
+            return player;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Snapshot is truncated", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Snapshot holds an invalid player", e);
+        }
+    }
+
+    /**
+     * Restores a discard pile saved by write(DiscardPile, ByteBuffer).
+     *
+     * @param in - the buffer to read from
+     * @return the restored discard pile
+     * @throws IOException if in does not hold a whole, valid discard pile snapshot
+     * @throws IllegalArgumentException if in is null
+     */
+    public static DiscardPile readDiscardPile(ByteBuffer in) throws IOException {
+        readHeader(in, DISCARD_PILE);
+        return new DiscardPile(readCards(in));
+    }
+
+    /**
+     * Builds the card table for a discard pile, reading a heap pile's cards in place.
+     *
+     * @param pile - the discard pile
+     * @return the card table
+     */
+    private static CardTable pileTable(DiscardPile pile) {
+        Card[] cards = pile.compactedSlots();
+        return new CardTable(pile.size(), i -> cards[i]);
+    }
+
+    private static void writeHeader(ByteBuffer out, byte kind) {
+        out.putInt(MAGIC).put(VERSION).put(kind);
+    }
+
+    /**
+     * Reads and checks a snapshot header.
+     *
+     * @param in   - the buffer to read from
+     * @param kind - the kind of object expected
+     * @throws IOException if the header does not match
+     * @throws IllegalArgumentException if in is null
+     */
+    private static void readHeader(ByteBuffer in, byte kind) throws IOException {
+        if (in == null)
+            throw new IllegalArgumentException("Buffer cannot be null");
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC)
+            throw new IOException("Buffer does not hold a game snapshot");
+        byte version = in.get();
+        if (version != VERSION)
+            throw new IOException("Unsupported snapshot version " + version);
+        if (in.get() != kind)
+            throw new IOException("Snapshot holds a different kind of object");
+    }
+
+    /**
+     * Returns the number of bytes a string takes in a snapshot.
+     *
+     * @param s - the string
+     * @return the size in bytes
+     * @throws IllegalArgumentException if the string is longer than 65535 bytes in UTF-8
+     */
+    private static int stringSize(String s) {
+        return Short.BYTES + checkedLength(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeString(ByteBuffer out, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) checkedLength(bytes)).put(bytes);
+    }
+
+    private static int checkedLength(byte[] bytes) {
+        if (bytes.length > MAX_CODE)
+            throw new IllegalArgumentException("Names longer than " + MAX_CODE + " bytes cannot be saved");
+        return bytes.length;
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = in.getShort() & 0xFFFF;
+        if (length > in.remaining())
+            throw new IOException("Snapshot is truncated");
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a card list written by CardTable.write.
+     *
+     * @param in - the buffer to read from
+     * @return the cards in the order they were written
+     * @throws IOException if the list is truncated or holds an invalid card or code
+     */
+    private static Card[] readCards(ByteBuffer in) throws IOException {
+        try {
+            Card[] dictionary = new Card[in.getShort() & 0xFFFF];
+            for (int i = 0; i < dictionary.length; i++) {
+                int value = in.getInt();
+                String name = readString(in);
+                String suit = readString(in);
+                dictionary[i] = Card.of(name, suit, value);
+            }
+            int count = in.getInt();
+            int width = in.get();
+            if (width != Byte.BYTES && width != Short.BYTES)
+                throw new IOException("Unsupported card code width " + width);
+            if (count < 0 || (long) count * width > in.remaining())
+                throw new IOException("Snapshot is truncated");
+            Card[] cards = new Card[count];
+            for (int i = 0; i < count; i++) {
+                int code = width == Byte.BYTES ? in.get() & 0xFF : in.getShort() & 0xFFFF;
+                if (code >= CardRegistry.STANDARD_SIZE + dictionary.length)
+                    throw new IOException("Unknown card code " + code);
+                cards[i] = code < CardRegistry.STANDARD_SIZE
+                        ? CardRegistry.standardCard(code)
+                        : dictionary[code - CardRegistry.STANDARD_SIZE];
+            }
+            return cards;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Snapshot is truncated", e);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IOException("Snapshot holds an invalid card", e);
+        }
+    }
+
+    /**
+     * The encoding of one list of cards: the dictionary of non-standard
+     * cards it uses and the width of each card code. The cards are read in
+     * place, and the code of each non-standard card is kept in an int array
+     * indexed by ordinal, which is only created if there is such a card.
+     */
+    private static final class CardTable {
+        private static final Card[] NO_CARDS = new Card[0];
+
+        private final int count;
+        private final IntFunction<Card> cardAt;
+        private Card[] dictionary = NO_CARDS;
+        private int dictionarySize;
+        // The code of each non-standard card, by ordinal minus STANDARD_SIZE, or 0 if not listed
+        private int[] codes;
+        private final int width;
+
+        /**
+         * Scans the cards and lists every non-standard card once.
+         *
+         * @param count  - the number of cards
+         * @param cardAt - the card at each position
+         * @throws IllegalArgumentException if there are too many distinct non-standard cards
+         */
+        CardTable(int count, IntFunction<Card> cardAt) {
+            this.count = count;
+            this.cardAt = cardAt;
+            for (int i = 0; i < count; i++) {
+                Card c = cardAt.apply(i);
+                if (!CardRegistry.isStandard(c)) {
+                    list(c);
+                }
+            }
+            int largest = CardRegistry.STANDARD_SIZE + dictionarySize - 1;
+            width = largest <= 0xFF ? Byte.BYTES : Short.BYTES;
+        }
+
+        private void list(Card c) {
+            int index = c.getOrdinal() - CardRegistry.STANDARD_SIZE;
+            if (codes == null || index >= codes.length) {
+                int length = Math.max(index + 1, CardRegistry.size() - CardRegistry.STANDARD_SIZE);
+                codes = codes == null ? new int[length] : Arrays.copyOf(codes, length);
+            }
+            if (codes[index] != 0) {
+                return;
+            }
+            if (CardRegistry.STANDARD_SIZE + dictionarySize > MAX_CODE)
+                throw new IllegalArgumentException("Too many distinct non-standard cards to snapshot");
+            if (dictionarySize == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, Math.max(8, dictionarySize * 2));
+            }
+            codes[index] = CardRegistry.STANDARD_SIZE + dictionarySize;
+            dictionary[dictionarySize++] = c;
+        }
+
+        int byteSize() {
+            int size = Short.BYTES + Integer.BYTES + 1 + count * width;
+            for (int i = 0; i < dictionarySize; i++) {
+                Card c = dictionary[i];
+                size += Integer.BYTES + stringSize(c.getName()) + stringSize(c.getSuit());
+            }
+            return size;
+        }
+
+        void write(ByteBuffer out) {
+            out.putShort((short) dictionarySize);
+            for (int i = 0; i < dictionarySize; i++) {
+                Card c = dictionary[i];
+                out.putInt(c.getValue());
+                writeString(out, c.getName());
+                writeString(out, c.getSuit());
+            }
+            out.putInt(count).put((byte) width);
+            for (int i = 0; i < count; i++) {
+                Card c = cardAt.apply(i);
+                int code = CardRegistry.isStandard(c) ? c.getOrdinal()
+                        : codes[c.getOrdinal() - CardRegistry.STANDARD_SIZE];
+                if (width == Byte.BYTES) {
+                    out.put((byte) code);
+                } else {
+                    out.putShort((short) code);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.Arrays;
+
+/**
+ * The HeapCardStorage class keeps card slots in a Card array on the Java heap,
+ * with an int array beside it for the links if they were asked for.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+final class HeapCardStorage implements CardStorage {
+    private final Card[] cards;
+    private final int[] links;
+
+    /**
+     * Creates storage with every slot empty.
+     *
+     * @param capacity - the number of slots
+     * @param linked   - true if the slots need links
+     */
+    HeapCardStorage(int capacity, boolean linked) {
+        cards = new Card[capacity];
+        links = linked ? new int[capacity] : null;
+    }
+
+    /**
+     * Returns the length of the card array.
+     *
+     * @return the number of slots
+     */
+    @Override
+    public int capacity() {
+        return cards.length;
+    }
+
+    /**
+     * Returns the card in a slot of the array.
+     *
+     * @param slot - the slot
+     * @return the card, or null if the slot is empty
+     */
+    @Override
+    public Card get(int slot) {
+        return cards[slot];
+    }
+
+    /**
+     * Stores a card reference in a slot of the array.
+     *
+     * @param slot - the slot
+     * @param card - the card, or null to empty the slot
+     */
+    @Override
+    public void set(int slot, Card card) {
+        cards[slot] = card;
+    }
+
+    /**
+     * Returns the link of a slot from the link array.
+     *
+     * @param slot - the slot
+     * @return the link
+     */
+    @Override
+    public int link(int slot) {
+        return links[slot];
+    }
+
+    /**
+     * Sets the link of a slot in the link array.
+     *
+     * @param slot - the slot
+     * @param link - the link
+     */
+    @Override
+    public void setLink(int slot, int link) {
+        links[slot] = link;
+    }
+
+    /**
+     * Fills a range of the array with null.
+     *
+     * @param from - the first slot to empty
+     * @param to   - the slot after the last one to empty
+     */
+    @Override
+    public void clear(int from, int to) {
+        Arrays.fill(cards, from, to, null);
+    }
+
+    /**
+     * Copies a range of the array out with a single array copy.
+     *
+     * @param from   - the first slot to copy
+     * @param dest   - the array to copy into
+     * @param offset - the index in dest where the first card goes
+     * @param n      - the number of slots to copy
+     */
+    @Override
+    public void copyOut(int from, Card[] dest, int offset, int n) {
+        System.arraycopy(cards, from, dest, offset, n);
+    }
+
+    /**
+     * Copies cards into a range of the array with a single array copy.
+     *
+     * @param source - the array to copy from
+     * @param offset - the index in source of the first card
+     * @param to     - the first slot to copy into
+     * @param n      - the number of cards to copy
+     */
+    @Override
+    public void copyIn(Card[] source, int offset, int to, int n) {
+        System.arraycopy(source, offset, cards, to, n);
+    }
+
+    /**
+     * Copies n slots, and their links, into new arrays of the given capacity, in at most two array copies each.
+     *
+     * @param capacity - the capacity of the new storage
+     * @param from     - the first slot to move
+     * @param n        - the number of slots to move
+     * @return the new storage
+     */
+    @Override
+    public CardStorage resize(int capacity, int from, int n) {
+        HeapCardStorage resized = new HeapCardStorage(capacity, links != null);
+        int firstPart = Math.min(n, cards.length - from);
+        System.arraycopy(cards, from, resized.cards, 0, firstPart);
+        System.arraycopy(cards, 0, resized.cards, firstPart, n - firstPart);
+        if (links != null) {
+            System.arraycopy(links, from, resized.links, 0, firstPart);
+            System.arraycopy(links, 0, resized.links, firstPart, n - firstPart);
+        }
+        return resized;
+    }
+
+    /**
+     * Returns the card array itself.
+     *
+     * @return the backing array
+     */
+    @Override
+    public Card[] array() {
+        return cards;
+    }
+}
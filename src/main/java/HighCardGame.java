@@ -1,3 +1,6 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 /**
@@ -8,6 +11,9 @@ import java.util.Scanner;
  * After all rounds are complete, the player with the most points wins.
  * 
  * Handles setup, input, gameplay flow, scoring, and output.
+ * If a file name is given as the first argument, the rounds and scores are
+ * recorded to that file as a binary GameJournal instead of being printed;
+ * GameJournalReader prints the journal as the usual text.
  * 
  * @author Akash K.
  * @version 1.0
@@ -18,6 +24,8 @@ public class HighCardGame {
     /**
      * Main method that sets up the game, gets player names,
      * deals cards, runs the rounds, and prints the results.
+     * 
+     * @param args - optionally, the file to record the game journal to
      */
     public static void main(String[] args) {
         Scanner input = new Scanner(System.in);
@@ -41,10 +49,8 @@ public class HighCardGame {
         deck.shuffle();
 
         // Deal 5 cards to each player
-        for (int i = 0; i < 5; i++) {
-            p1.draw(deck);
-            p2.draw(deck);
-        }
+        Player[] players = { p1, p2 };
+        deck.deal(players, 5);
         int p1Points = 0;
         int p2Points = 0;
         System.out.println("");
@@ -74,27 +80,36 @@ public class HighCardGame {
                         "               \\______/");
         System.out.println(""); // adds line
 
+        if (args.length > 0) {
+            Path path = Paths.get(args[0]);
+            try (GameJournal journal = new GameJournal(path, new String[] { p1.getName(), p2.getName() })) {
+                playGame(players, deck, 5, journal);
+                System.out.println("Game journal written to " + path);
+            } catch (IOException e) {
+                System.out.println("Could not write game journal: " + e.getMessage());
+            }
+            input.close();
+            return;
+        }
+
         // Play 5 rounds
+        Card[] played = new Card[players.length];
         for (int round = 1; round <= 5; round++) {
-            Card p1High = getHighestCard(p1);
-            Card p2High = getHighestCard(p2);
+            int winner = playRound(players, played, deck);
 
             System.out.println("\nRound " + round + ":");
-            System.out.println(p1.getName() + " plays: " + p1High);
-            System.out.println(p2.getName() + " plays: " + p2High);
+            System.out.println(p1.getName() + " plays: " + played[0]);
+            System.out.println(p2.getName() + " plays: " + played[1]);
 
-            if (p1High.getValue() > p2High.getValue()) {
+            if (winner == 0) {
                 System.out.println(p1.getName() + " wins the round!");
                 p1Points++;
-            } else if (p2High.getValue() > p1High.getValue()) {
+            } else if (winner == 1) {
                 System.out.println(p2.getName() + " wins the round!");
                 p2Points++;
             } else {
                 System.out.println("Tie, no points awarded.");
             }
-            // Put the cards back into the deck
-            p1.returnCard(p1High, deck);
-            p2.returnCard(p2High, deck);
         }
         // Final results
         System.out.println("\nFinal Scores:");
@@ -113,20 +128,80 @@ public class HighCardGame {
     }
 
     /**
-     * Returns the highest-value card currently in the player's hand.
+     * Plays a game whose hands are already dealt and records it to a journal:
+     * the cards in each hand, every card played, each round's result and the final scores.
      *
-     * @param p - the player whose highest card is checked
-     * @return the highest-valued card in that player's hand
+     * @param players - the players in seat order
+     * @param deck    - the deck the played cards are returned to
+     * @param rounds  - the number of rounds to play
+     * @param journal - the journal the game is recorded to
+     * @return the final points of each player, in seat order
+     * @throws IOException if the journal cannot be written
      */
-    private static Card getHighestCard(Player p) {
-        Card[] hand = p.getHand();
-        Card highest = hand[0];
+    static int[] playGame(Player[] players, Deck deck, int rounds, GameJournal journal) throws IOException {
+        for (int i = 0; i < players.length; i++) {
+            Card[] hand = players[i].getHand();
+            for (int c = hand.length - 1; c >= 0; c--) {
+                journal.deal(i, hand[c]);
+            }
+        }
+        int[] points = new int[players.length];
+        Card[] played = new Card[players.length];
+        for (int round = 1; round <= rounds; round++) {
+            int winner = playRound(players, played, deck);
+            for (int i = 0; i < players.length; i++) {
+                journal.play(round, i, played[i]);
+            }
+            journal.roundResult(round, winner);
+            if (winner >= 0) {
+                points[winner]++;
+            }
+        }
+        for (int i = 0; i < players.length; i++) {
+            journal.finalScore(i, points[i]);
+        }
+        return points;
+    }
 
-        for (Card c : hand) {
-            if (c.getValue() > highest.getValue()) {
-                highest = c;
+    /**
+     * Plays a single round: every player plays their highest-value card,
+     * and the player whose card is strictly higher than all others wins.
+     * The played cards are written into played and then returned to the deck.
+     *
+     * @param players - the players in seat order
+     * @param played  - receives the card each player played, in seat order
+     * @param deck    - the deck the played cards are returned to
+     * @return the seat index of the round winner, or -1 if the round is a tie
+     */
+    static int playRound(Player[] players, Card[] played, Deck deck) {
+        Metrics.GameRoundEvent round = Metrics.startRound();
+        int winner = -1;
+        int best = -1;
+        for (int i = 0; i < players.length; i++) {
+            Card c = players[i].removeHighestCard();
+            played[i] = c;
+            if (c.getValue() > best) {
+                best = c.getValue();
+                winner = i;
+            } else if (c.getValue() == best) {
+                winner = -1;
             }
         }
-        return highest;
+        // Put the cards back into the deck
+        for (int i = 0; i < players.length; i++) {
+            deck.addCard(played[i]);
+        }
+        Metrics.stopRound(round, players.length, winner);
+        return winner;
+    }
+
+    /**
+     * Returns the highest-value card currently in the player's hand.
+     *
+     * @param p - the player whose highest card is checked
+     * @return the highest-valued card in that player's hand
+     */
+    static Card getHighestCard(Player p) {
+        return p.getHighestCard();
     }
 }
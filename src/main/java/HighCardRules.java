@@ -0,0 +1,106 @@
+/**
+ * The HighCardRules class is the High Card variant for the RulesEngine, for two
+ * or more players: every player is dealt the same number of cards, and on each
+ * turn every player plays their highest-value card. The player whose card is
+ * strictly higher than all others wins the turn, and the played cards go back
+ * to the bottom of the deck. After the last round, the most turns won wins.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class HighCardRules implements GameRules {
+    private final int handSize;
+    private final int rounds;
+
+    /**
+     * Constructs High Card rules with the given hand size and number of rounds.
+     *
+     * @param handSize - the number of cards dealt to each player
+     * @param rounds   - the number of rounds played
+     * @throws IllegalArgumentException if handSize or rounds is less than 1,
+     *                                  or rounds is more than handSize
+     */
+    public HighCardRules(int handSize, int rounds) {
+        if (handSize < 1)
+            throw new IllegalArgumentException("Hand size must be at least 1");
+        if (rounds < 1)
+            throw new IllegalArgumentException("Round count must be at least 1");
+        if (rounds > handSize)
+            throw new IllegalArgumentException("Round count cannot be more than the hand size");
+        this.handSize = handSize;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Returns the hand size, whatever the number of players.
+     *
+     * @param players - the number of players at the table
+     * @return the cards dealt to each player
+     */
+    @Override
+    public int cardsPerPlayer(int players) {
+        return handSize;
+    }
+
+    /**
+     * Returns true once every round has been played.
+     *
+     * @param turn  - the number of turns already played
+     * @param seats - the players in seat order
+     * @return true if no more turns are played
+     */
+    @Override
+    public boolean isOver(int turn, Player[] seats) {
+        return turn >= rounds;
+    }
+
+    /**
+     * Removes and returns the player's highest-value card.
+     *
+     * @param player - the player whose turn it is
+     * @return the card played
+     */
+    @Override
+    public Card play(Player player) {
+        return player.removeHighestCard();
+    }
+
+    /**
+     * Returns the seat whose card is strictly higher than all others.
+     *
+     * @param played - the card each seat played
+     * @return the winning seat, or -1 if the highest value was tied
+     */
+    @Override
+    public int turnWinner(Card[] played) {
+        return RulesEngine.bestSeat(played, false);
+    }
+
+    /**
+     * Returns the played cards to the bottom of the deck, in seat order.
+     *
+     * @param played - the card each seat played
+     * @param winner - the seat that won the turn, or -1 if nobody did
+     * @param seats  - the players in seat order
+     * @param deck   - the game's deck
+     * @param pile   - the game's discard pile
+     */
+    @Override
+    public void collect(Card[] played, int winner, Player[] seats, Deck deck, DiscardPile pile) {
+        for (Card c : played) {
+            deck.addCard(c);
+        }
+    }
+
+    /**
+     * Returns the number of turns the player won.
+     *
+     * @param player   - the player
+     * @param turnsWon - the number of turns the player won
+     * @return the score
+     */
+    @Override
+    public int finalScore(Player player, int turnsWon) {
+        return turnsWon;
+    }
+}
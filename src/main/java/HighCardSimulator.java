@@ -0,0 +1,259 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The HighCardSimulator class plays many independent High Card games
+ * without any console input or output, spread across all cores with fork/join.
+ * Every game is shuffled from its own seed derived from the run's seed and
+ * the game's index, so a seeded run gives the same result however it is split.
+ *
+ * Each game deals handSize cards to every player from a freshly shuffled deck,
+ * then plays the given number of rounds with the same rules as HighCardGame,
+ * using HighCardRules on a RulesEngine.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class HighCardSimulator {
+    private static final int GAMES_PER_TASK = 4096;
+
+    private final int playerCount;
+    private final int handSize;
+    private final int rounds;
+
+    /**
+     * Constructs a simulator for games with the given shape.
+     *
+     * @param playerCount - the number of players at each game
+     * @param handSize    - the number of cards dealt to each player
+     * @param rounds      - the number of rounds played in each game
+     *
+     * @throws IllegalArgumentException if playerCount is less than 2, handSize or
+     *                                  rounds is less than 1, rounds is more than
+     *                                  handSize, or the hands need more than 52 cards
+     */
+    public HighCardSimulator(int playerCount, int handSize, int rounds) {
+        if (playerCount < 2)
+            throw new IllegalArgumentException("Player count must be at least 2");
+        if (handSize < 1)
+            throw new IllegalArgumentException("Hand size must be at least 1");
+        if (rounds < 1)
+            throw new IllegalArgumentException("Round count must be at least 1");
+        if (rounds > handSize)
+            throw new IllegalArgumentException("Round count cannot be more than the hand size");
+        if ((long) playerCount * handSize > CardRegistry.STANDARD_SIZE)
+            throw new IllegalArgumentException("Not enough cards to deal every player a hand");
+        this.playerCount = playerCount;
+        this.handSize = handSize;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Plays the given number of games from a random seed.
+     *
+     * @param games - the number of games to play
+     * @return the aggregate statistics
+     * @throws IllegalArgumentException if games is negative
+     */
+    public SimulationResult run(long games) {
+        return run(games, System.nanoTime());
+    }
+
+    /**
+     * Plays the given number of games from the given seed.
+     * The same seed always produces the same result.
+     *
+     * @param games - the number of games to play
+     * @param seed  - the seed the games are shuffled from
+     * @return the aggregate statistics
+     * @throws IllegalArgumentException if games is negative
+     */
+    public SimulationResult run(long games, long seed) {
+        return run(0, games, seed);
+    }
+
+    /**
+     * Plays the games numbered from first (inclusive) to first + games (exclusive).
+     * Playing a range in pieces and merging the results gives the same
+     * statistics as playing it all at once.
+     *
+     * @param first - the index of the first game
+     * @param games - the number of games to play
+     * @param seed  - the seed the games are shuffled from
+     * @return the aggregate statistics
+     * @throws IllegalArgumentException if first or games is negative
+     */
+    public SimulationResult run(long first, long games, long seed) {
+        if (first < 0)
+            throw new IllegalArgumentException("First game index cannot be negative");
+        if (games < 0)
+            throw new IllegalArgumentException("Game count cannot be negative");
+        return ForkJoinPool.commonPool().invoke(new GameRange(first, first + games, seed, false));
+    }
+
+    /**
+     * Plays the given number of games from the given seed, resolving rounds in
+     * batches of int lanes with a BatchRoundResolver. The result is the same as
+     * run(games, seed) gives.
+     *
+     * @param games - the number of games to play
+     * @param seed  - the seed the games are shuffled from
+     * @return the aggregate statistics
+     * @throws IllegalArgumentException if games is negative
+     */
+    public SimulationResult runBatched(long games, long seed) {
+        return runBatched(0, games, seed);
+    }
+
+    /**
+     * Plays the games numbered from first (inclusive) to first + games (exclusive),
+     * resolving rounds in batches. The result is the same as run(first, games, seed) gives.
+     *
+     * @param first - the index of the first game
+     * @param games - the number of games to play
+     * @param seed  - the seed the games are shuffled from
+     * @return the aggregate statistics
+     * @throws IllegalArgumentException if first or games is negative
+     */
+    public SimulationResult runBatched(long first, long games, long seed) {
+        if (first < 0)
+            throw new IllegalArgumentException("First game index cannot be negative");
+        if (games < 0)
+            throw new IllegalArgumentException("Game count cannot be negative");
+        return ForkJoinPool.commonPool().invoke(new GameRange(first, first + games, seed, true));
+    }
+
+    /**
+     * Plays every game in a range on the current thread, on one RulesEngine
+     * playing HighCardRules.
+     *
+     * @param from - the index of the first game (inclusive)
+     * @param to   - the index of the last game (exclusive)
+     * @param seed - the seed the games are shuffled from
+     * @return the statistics of the range
+     */
+    private SimulationResult playRange(long from, long to, long seed) {
+        RulesEngine engine = new RulesEngine(new HighCardRules(handSize, rounds), playerCount);
+        return engine.run(from, to - from, seed);
+    }
+
+    /**
+     * Plays every game in a range on the current thread, dealing each batch of
+     * games into int lanes, highest card first, and resolving each round of the
+     * whole batch at once.
+     *
+     * @param from - the index of the first game (inclusive)
+     * @param to   - the index of the last game (exclusive)
+     * @param seed - the seed the games are shuffled from
+     * @return the statistics of the range
+     */
+    private SimulationResult playRangeBatched(long from, long to, long seed) {
+        int lanes = (int) Math.max(1, Math.min(GAMES_PER_TASK, to - from));
+        BatchRoundResolver resolver = new BatchRoundResolver(playerCount, lanes);
+        int[][][] values = new int[rounds][playerCount][lanes];
+        int[][] hands = new int[playerCount][handSize];
+        Card[] standard = new Card[CardRegistry.STANDARD_SIZE];
+        for (int i = 0; i < standard.length; i++) {
+            standard[i] = CardRegistry.standardCard(i);
+        }
+        Deck deck = new Deck(standard.length, RandomSource.threadLocal());
+        for (long game = from; game < to; game += lanes) {
+            int n = (int) Math.min(lanes, to - game);
+            for (int lane = 0; lane < n; lane++) {
+                deck.setCards(standard, standard.length);
+                deck.shuffleLazily(RandomSource.seeded(RandomSource.streamSeed(seed, game + lane)));
+                // Deal the same way Deck.deal does, one card to each player in turn
+                for (int c = 0; c < handSize; c++) {
+                    for (int i = 0; i < playerCount; i++) {
+                        hands[i][c] = deck.draw().getValue();
+                    }
+                }
+                for (int i = 0; i < playerCount; i++) {
+                    int[] hand = hands[i];
+                    sortDescending(hand);
+                    for (int round = 0; round < rounds; round++) {
+                        values[round][i][lane] = hand[round];
+                    }
+                }
+            }
+            for (int round = 0; round < rounds; round++) {
+                resolver.resolveRound(values[round], n);
+            }
+            resolver.finishGames(n);
+        }
+        return resolver.getResult();
+    }
+
+    private static void sortDescending(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            int v = values[i];
+            int j = i - 1;
+            while (j >= 0 && values[j] < v) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = v;
+        }
+    }
+
+    /**
+     * A fork/join task that splits a range of games in half until it is
+     * small enough to play directly.
+     */
+    private class GameRange extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final long seed;
+        private final boolean batched;
+
+        GameRange(long from, long to, long seed, boolean batched) {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.batched = batched;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                return batched ? playRangeBatched(from, to, seed) : playRange(from, to, seed);
+            }
+            long mid = from + (to - from) / 2;
+            GameRange left = new GameRange(from, mid, seed, batched);
+            left.fork();
+            SimulationResult right = new GameRange(mid, to, seed, batched).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Runs a simulation from the command line and prints the statistics.
+     * Arguments are: games, players, hand size, rounds, an optional seed and,
+     * after the seed, "batched" to resolve rounds in batches.
+     * Run with -Dcardgame.metrics=true to also print the operation metrics.
+     *
+     * @param args - the command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.out.println("Usage: HighCardSimulator <games> <players> <handSize> <rounds> [seed [batched]]");
+            return;
+        }
+        long games = Long.parseLong(args[0]);
+        HighCardSimulator simulator = new HighCardSimulator(Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+        long start = System.nanoTime();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        SimulationResult result = args.length > 5 && args[5].equalsIgnoreCase("batched")
+                ? simulator.runBatched(games, seed)
+                : simulator.run(games, seed);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(result);
+        System.out.println("Elapsed: " + elapsed / 1_000_000 + " ms");
+        if (Metrics.isEnabled()) {
+            System.out.print(Metrics.report());
+        }
+    }
+}
@@ -0,0 +1,243 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * The LoadGenerator class drives a TableServer with many simulated players
+ * over loopback and measures how long each High Card round takes.
+ *
+ * All the players run on one thread with one Selector. Every player answers
+ * each message as soon as it arrives, so a table plays as fast as the server
+ * lets it. The round latency is the time from a player sending READY until
+ * the ROUND frame for that round arrives, which includes waiting for the rest
+ * of the table.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class LoadGenerator {
+    private final InetSocketAddress address;
+    private final int connections;
+    private final int games;
+    private long[] latencies = new long[1024];
+    private int rounds;
+
+    /**
+     * Constructs a load generator.
+     *
+     * @param address     - the address of the server
+     * @param connections - the number of players to connect
+     * @param games       - the number of games each player plays before it stops
+     * @throws IllegalArgumentException if address is null, or connections or games is less than 1
+     */
+    public LoadGenerator(InetSocketAddress address, int connections, int games) {
+        if (address == null)
+            throw new IllegalArgumentException("Address cannot be null");
+        if (connections < 1)
+            throw new IllegalArgumentException("Connection count must be at least 1");
+        if (games < 1)
+            throw new IllegalArgumentException("Game count must be at least 1");
+        this.address = address;
+        this.connections = connections;
+        this.games = games;
+    }
+
+    /**
+     * Connects every player and plays until each has finished its games or been disconnected.
+     *
+     * @throws IOException if a connection cannot be opened or the server sends a bad frame
+     */
+    public void run() throws IOException {
+        try (Selector selector = Selector.open()) {
+            Client[] clients = new Client[connections];
+            for (int i = 0; i < connections; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                clients[i] = new Client(channel);
+                clients[i].key = channel.register(selector, SelectionKey.OP_READ, clients[i]);
+            }
+            int active = connections;
+            while (active > 0) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Client c = (Client) key.attachment();
+                    if (key.isValid() && key.isWritable()) {
+                        c.flush();
+                    }
+                    if (key.isValid() && key.isReadable() && !c.read()) {
+                        key.cancel();
+                        active--;
+                    }
+                }
+            }
+            for (Client c : clients) {
+                c.channel.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of rounds measured.
+     *
+     * @return the round count
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the round latency at the given percentile.
+     *
+     * @param percentile - the percentile, between 0 and 100
+     * @return the latency in nanoseconds, or 0 if no rounds were measured
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long percentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        if (rounds == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, rounds);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * rounds);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private void record(long nanos) {
+        if (rounds == latencies.length) {
+            latencies = Arrays.copyOf(latencies, rounds * 2);
+        }
+        latencies[rounds++] = nanos;
+    }
+
+    /**
+     * One simulated player.
+     */
+    private final class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(TableProtocol.MAX_FRAME * 4);
+        private final ByteBuffer out = ByteBuffer.allocate(64);
+        private SelectionKey key;
+        private long sentAt;
+        private int gamesPlayed;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads whatever has arrived and answers every complete frame.
+         *
+         * @return false once this player is finished or the server has disconnected it
+         * @throws IOException if the server sends a bad frame
+         */
+        boolean read() throws IOException {
+            int n;
+            try {
+                n = channel.read(in);
+            } catch (IOException e) {
+                return false;
+            }
+            if (n < 0) {
+                return false;
+            }
+            in.flip();
+            int length;
+            boolean more = true;
+            while ((length = TableProtocol.frameLength(in)) > 0) {
+                int start = in.position();
+                in.position(start + length);
+                if (length < 2)
+                    throw new IOException("Empty frame");
+                byte type = in.get(start + 1);
+                if (type == TableProtocol.SEATED) {
+                    ready();
+                } else if (type == TableProtocol.DEALT) {
+                    ready();
+                    sentAt = System.nanoTime();
+                } else if (type == TableProtocol.ROUND) {
+                    record(System.nanoTime() - sentAt);
+                    if (in.get(start + 3) > 0) {
+                        ready();
+                        sentAt = System.nanoTime();
+                    }
+                } else if (type == TableProtocol.GAME_OVER) {
+                    if (++gamesPlayed < games) {
+                        ready();
+                    } else {
+                        more = false;
+                    }
+                } else {
+                    throw new IOException("Unexpected message type " + type);
+                }
+            }
+            in.compact();
+            return more;
+        }
+
+        private void ready() throws IOException {
+            TableProtocol.putReady(out);
+            flush();
+        }
+
+        void flush() throws IOException {
+            out.flip();
+            channel.write(out);
+            boolean pending = out.hasRemaining();
+            out.compact();
+            key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Runs a load test and prints the round latency percentiles. With "local" as the
+     * host, a TableServer is started in this process on a free port first.
+     * Arguments are: host, port, tables, players per table and games per player.
+     *
+     * @param args - the command line arguments
+     * @throws IOException if the server cannot be reached or started
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.out.println("Usage: LoadGenerator <host|local> <port> <tables> <playersPerTable> <gamesPerPlayer>");
+            return;
+        }
+        int players = Integer.parseInt(args[3]);
+        int tables = Integer.parseInt(args[2]);
+        TableServer local = null;
+        InetSocketAddress address;
+        if (args[0].equalsIgnoreCase("local")) {
+            local = new TableServer(Integer.parseInt(args[1]), players,
+                    Runtime.getRuntime().availableProcessors(), System.nanoTime());
+            local.start();
+            address = new InetSocketAddress("127.0.0.1", local.getPort());
+        } else {
+            address = new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+        }
+        try {
+            LoadGenerator generator = new LoadGenerator(address, tables * players, Integer.parseInt(args[4]));
+            long start = System.nanoTime();
+            generator.run();
+            long elapsed = System.nanoTime() - start;
+            System.out.println("Rounds measured: " + generator.getRounds());
+            System.out.println("Elapsed: " + elapsed / 1_000_000 + " ms");
+            System.out.printf("Round latency p50: %.1f us, p99: %.1f us, max: %.1f us%n",
+                    generator.percentileNanos(50) / 1e3, generator.percentileNanos(99) / 1e3,
+                    generator.percentileNanos(100) / 1e3);
+        } finally {
+            if (local != null) {
+                local.close();
+            }
+        }
+    }
+}
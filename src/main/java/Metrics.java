@@ -0,0 +1,297 @@
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Metrics class is an optional instrumentation layer for the card framework.
+ * While it is enabled, every instrumented operation is counted and its latency is
+ * added to a histogram.
+ *
+ * Instrumentation is off unless the cardgame.metrics system property is true or
+ * setEnabled(true) is called. Separately, whenever a JDK Flight Recorder recording
+ * (for example -XX:StartFlightRecording) has the cardgame events enabled, every
+ * operation emits one, timed from its start to its end. While both are off, an
+ * instrumented operation only reads two flags, never reads the clock and allocates nothing.
+ *
+ * Counters and histogram buckets are striped LongAdders, so many threads can
+ * record at once without contending. Each histogram has one bucket per power of
+ * two of nanoseconds, which is enough to estimate percentiles within a factor of two.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class Metrics {
+
+    /**
+     * The operations the framework records.
+     */
+    public enum Operation {
+        DECK_DRAW("Deck.draw"),
+        DECK_DEAL("Deck.deal"),
+        DECK_SHUFFLE("Deck.shuffle"),
+        DECK_RESHUFFLE("Deck.reshuffle"),
+        PLAYER_DRAW("Player.draw"),
+        PLAYER_DISCARD("Player.discardCard"),
+        PLAYER_RETURN("Player.returnCard"),
+        PILE_REMOVE("DiscardPile.removeCard"),
+        GAME_ROUND("HighCardGame round");
+
+        private final String label;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        Operation(String label) {
+            this.label = label;
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Returns the name of the method or step this operation measures.
+         *
+         * @return the label
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    // Bucket i holds latencies below 2^i nanoseconds
+    private static final int BUCKETS = Long.SIZE;
+
+    private static volatile boolean enabled = Boolean.getBoolean("cardgame.metrics");
+
+    // Whether an event is enabled is the same for every instance of its class,
+    // so these are only ever asked isEnabled()
+    private static final CardOperationEvent OPERATION_PROBE = new CardOperationEvent();
+    private static final GameRoundEvent ROUND_PROBE = new GameRoundEvent();
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns whether operations are currently being recorded.
+     *
+     * @return true if instrumentation is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns instrumentation on or off. Operations already in progress
+     * when it is turned off are still recorded.
+     *
+     * @param on - true to record operations, false to stop
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Clears every counter and histogram.
+     */
+    public static void reset() {
+        for (Operation op : Operation.values()) {
+            op.count.reset();
+            op.totalNanos.reset();
+            for (LongAdder bucket : op.buckets) {
+                bucket.reset();
+            }
+        }
+    }
+
+    /**
+     * Returns how many times an operation has been recorded.
+     *
+     * @param op - the operation
+     * @return the count
+     * @throws IllegalArgumentException if op is null
+     */
+    public static long count(Operation op) {
+        if (op == null)
+            throw new IllegalArgumentException("Operation cannot be null");
+        return op.count.sum();
+    }
+
+    /**
+     * Returns the total time spent in an operation, in nanoseconds.
+     *
+     * @param op - the operation
+     * @return the total latency
+     * @throws IllegalArgumentException if op is null
+     */
+    public static long totalNanos(Operation op) {
+        if (op == null)
+            throw new IllegalArgumentException("Operation cannot be null");
+        return op.totalNanos.sum();
+    }
+
+    /**
+     * Returns an upper bound on the given percentile of an operation's latency.
+     * The bound is the top of the histogram bucket holding that percentile,
+     * so it is at most twice the true value.
+     *
+     * @param op         - the operation
+     * @param percentile - the percentile, between 0 and 100
+     * @return the latency bound in nanoseconds, or 0 if nothing has been recorded
+     * @throws IllegalArgumentException if op is null or percentile is out of range
+     */
+    public static long percentileNanos(Operation op, double percentile) {
+        if (op == null)
+            throw new IllegalArgumentException("Operation cannot be null");
+        if (!(percentile >= 0 && percentile <= 100))
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = op.buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns a table of every recorded operation with its count,
+     * mean latency and p50 and p99 latency bounds.
+     *
+     * @return the report, one line per operation
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Operation op : Operation.values()) {
+            long n = count(op);
+            if (n == 0) {
+                continue;
+            }
+            sb.append(String.format("%-24s count %d, mean %d ns, p50 < %d ns, p99 < %d ns%n",
+                    op.label, n, totalNanos(op) / n, percentileNanos(op, 50), percentileNanos(op, 99)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Begins timing an operation, if instrumentation or its Flight Recorder event is enabled.
+     *
+     * @return the event to pass to stop, or null if nothing should be recorded
+     */
+    static CardOperationEvent start() {
+        boolean on = enabled;
+        if (!on && !OPERATION_PROBE.isEnabled()) {
+            return null;
+        }
+        CardOperationEvent event = new CardOperationEvent();
+        event.startNanos = on ? System.nanoTime() : 0;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records an operation that began when the given event was returned by start().
+     *
+     * @param op    - the operation
+     * @param event - the value returned by start() when the operation began
+     */
+    static void stop(Operation op, CardOperationEvent event) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.startNanos != 0) {
+            record(op, event.startNanos);
+        }
+        if (event.shouldCommit()) {
+            event.operation = op.label;
+            event.commit();
+        }
+    }
+
+    /**
+     * Begins timing a round of a game, if instrumentation or its Flight Recorder event is enabled.
+     *
+     * @return the event to pass to stopRound, or null if nothing should be recorded
+     */
+    static GameRoundEvent startRound() {
+        boolean on = enabled;
+        if (!on && !ROUND_PROBE.isEnabled()) {
+            return null;
+        }
+        GameRoundEvent event = new GameRoundEvent();
+        event.startNanos = on ? System.nanoTime() : 0;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records a round of a game that began when the given event was returned by startRound().
+     *
+     * @param event   - the value returned by startRound() when the round began
+     * @param players - the number of players in the round
+     * @param winner  - the winning seat, or -1 for a tie
+     */
+    static void stopRound(GameRoundEvent event, int players, int winner) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.startNanos != 0) {
+            record(Operation.GAME_ROUND, event.startNanos);
+        }
+        if (event.shouldCommit()) {
+            event.players = players;
+            event.winner = winner;
+            event.commit();
+        }
+    }
+
+    private static void record(Operation op, long start) {
+        long nanos = Math.max(0, System.nanoTime() - start);
+        op.count.increment();
+        op.totalNanos.add(nanos);
+        op.buckets[Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(nanos))].increment();
+    }
+
+    @Name("cardgame.CardOperation")
+    @Label("Card Operation")
+    @Category("Card Game")
+    @Description("A deck, player or discard pile operation")
+    static final class CardOperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        // The histogram's start time, or 0 while instrumentation is off
+        transient long startNanos;
+    }
+
+    @Name("cardgame.GameRound")
+    @Label("Game Round")
+    @Category("Card Game")
+    @Description("One round of High Card")
+    static final class GameRoundEvent extends Event {
+        @Label("Players")
+        int players;
+
+        @Label("Winning Seat")
+        int winner;
+
+        // The histogram's start time, or 0 while instrumentation is off
+        transient long startNanos;
+    }
+}
@@ -0,0 +1,397 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The OddsCalculator class computes the exact outcome distribution of a
+ * High Card match dealt from a known set of cards, with every player playing
+ * their highest card each round as in HighCardGame.
+ *
+ * Instead of enumerating deals, it walks the card values from highest to lowest
+ * and decides how many cards of each value every player receives. A round is
+ * decided at the first value that reaches that round's position in someone's
+ * sorted hand: the player who gets there alone wins it, and two or more players
+ * getting there together tie it. The number of deals behind each step is a
+ * multinomial coefficient, and the rest of the match depends only on the value
+ * reached and how many cards each player holds so far, so that suffix is
+ * memoized and shared.
+ *
+ * Only the number of cards of each value, in value order, affects the odds, so
+ * results are cached by that count profile and repeated queries return at once.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class OddsCalculator {
+    private static final int MAX_CHOOSE = 64;
+    private static final long[][] BINOMIAL = new long[MAX_CHOOSE + 1][];
+
+    static {
+        for (int n = 0; n <= MAX_CHOOSE; n++) {
+            BINOMIAL[n] = new long[n + 1];
+            BINOMIAL[n][0] = 1;
+            BINOMIAL[n][n] = 1;
+            for (int k = 1; k < n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    private final int playerCount;
+    private final int handSize;
+    private final int rounds;
+    private final ConcurrentHashMap<Signature, OddsResult> cache = new ConcurrentHashMap<Signature, OddsResult>();
+
+    /**
+     * Constructs a calculator for matches with the given shape.
+     *
+     * @param playerCount - the number of players at the table
+     * @param handSize    - the number of cards dealt to each player
+     * @param rounds      - the number of rounds played in the match
+     *
+     * @throws IllegalArgumentException if playerCount is less than 2, handSize or
+     *                                  rounds is less than 1, rounds is more than
+     *                                  handSize, or the hands need more than 52 cards
+     */
+    public OddsCalculator(int playerCount, int handSize, int rounds) {
+        if (playerCount < 2)
+            throw new IllegalArgumentException("Player count must be at least 2");
+        if (handSize < 1)
+            throw new IllegalArgumentException("Hand size must be at least 1");
+        if (rounds < 1)
+            throw new IllegalArgumentException("Round count must be at least 1");
+        if (rounds > handSize)
+            throw new IllegalArgumentException("Round count cannot be more than the hand size");
+        if ((long) playerCount * handSize > CardRegistry.STANDARD_SIZE)
+            throw new IllegalArgumentException("Not enough cards to deal every player a hand");
+        this.playerCount = playerCount;
+        this.handSize = handSize;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Computes the odds of a match dealt from the cards remaining in the deck.
+     * A deck with a pending lazy shuffle is settled first, and a ConcurrentDeck
+     * must not be changed by other threads while it is read.
+     *
+     * @param deck - the deck the hands are dealt from
+     * @return the exact odds
+     * @throws IllegalArgumentException if deck is null or holds too few cards for every hand
+     */
+    public OddsResult compute(Deck deck) {
+        if (deck == null)
+            throw new IllegalArgumentException("Deck cannot be null");
+        Card[] cards = deck.toArray();
+        int[] values = new int[cards.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = cards[i].getValue();
+        }
+        return compute(values);
+    }
+
+    /**
+     * Computes the odds of a match dealt from the given cards.
+     *
+     * @param cards - the cards the hands are dealt from
+     * @return the exact odds
+     * @throws IllegalArgumentException if cards is null, holds a null card,
+     *                                  or holds too few cards for every hand
+     */
+    public OddsResult compute(Card[] cards) {
+        if (cards == null)
+            throw new IllegalArgumentException("Card array cannot be null");
+        int[] values = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            if (cards[i] == null)
+                throw new IllegalArgumentException("Card array cannot hold a null card");
+            values[i] = cards[i].getValue();
+        }
+        return compute(values);
+    }
+
+    /**
+     * Returns the number of distinct count profiles whose odds are cached.
+     *
+     * @return the cache size
+     */
+    public int cacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Forgets every cached result.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Computes, or looks up, the odds for a set of card values.
+     *
+     * @param values - the value of every card, in any order; sorted in place
+     * @return the exact odds
+     * @throws IllegalArgumentException if there are too few cards for every hand
+     */
+    private OddsResult compute(int[] values) {
+        if (values.length < playerCount * handSize)
+            throw new IllegalArgumentException("Not enough cards to deal every player a hand");
+        Arrays.sort(values);
+        int[] counts = new int[values.length];
+        int groups = 0;
+        for (int i = values.length - 1; i >= 0; i--) {
+            if (i == values.length - 1 || values[i] != values[i + 1]) {
+                groups++;
+            }
+            counts[groups - 1]++;
+        }
+        Signature signature = new Signature(Arrays.copyOf(counts, groups));
+        OddsResult result = cache.get(signature);
+        if (result == null) {
+            result = new Solver(signature.counts).solve();
+            OddsResult raced = cache.putIfAbsent(signature, result);
+            if (raced != null) {
+                result = raced;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns n choose k, for n up to 64.
+     *
+     * @param n - the number of items
+     * @param k - the number chosen
+     * @return the binomial coefficient
+     */
+    private static BigInteger choose(int n, int k) {
+        if (n <= MAX_CHOOSE) {
+            return BigInteger.valueOf(BINOMIAL[n][k]);
+        }
+        BigInteger result = BigInteger.ONE;
+        for (int i = 1; i <= k; i++) {
+            result = result.multiply(BigInteger.valueOf(n - k + i)).divide(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    /**
+     * The cache key for a deck: the number of cards of each distinct value, highest value first.
+     */
+    private static final class Signature {
+        final int[] counts;
+        private final int hash;
+
+        Signature(int[] counts) {
+            this.counts = counts;
+            this.hash = Arrays.hashCode(counts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Signature && Arrays.equals(counts, ((Signature) o).counts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The outcomes of the rest of a match from one state: how many ways the
+     * remaining cards can be dealt, and how those ways split between final
+     * score increases and round results.
+     */
+    private static final class Suffix {
+        static final Suffix NONE = new Suffix(BigInteger.ZERO, null, null);
+
+        final BigInteger total;
+        final Map<Long, BigInteger> scores;
+        final BigInteger[][] roundWays;
+
+        Suffix(BigInteger total, Map<Long, BigInteger> scores, BigInteger[][] roundWays) {
+            this.total = total;
+            this.scores = scores;
+            this.roundWays = roundWays;
+        }
+    }
+
+    /**
+     * The memoized walk over one count profile.
+     */
+    private final class Solver {
+        private final int[] counts;
+        private final int[] cardsFrom;
+        private final long handRadix = handSize + 1;
+        private final long[] seatScore = new long[playerCount];
+        private final HashMap<Long, Suffix> memo = new HashMap<Long, Suffix>();
+
+        Solver(int[] counts) {
+            this.counts = counts;
+            cardsFrom = new int[counts.length + 1];
+            for (int g = counts.length - 1; g >= 0; g--) {
+                cardsFrom[g] = cardsFrom[g + 1] + counts[g];
+            }
+            long unit = 1;
+            for (int i = 0; i < playerCount; i++) {
+                seatScore[i] = unit;
+                unit *= rounds + 1;
+            }
+        }
+
+        OddsResult solve() {
+            Suffix all = suffix(0, new int[playerCount]);
+            return new OddsResult(playerCount, rounds, all.total, all.scores, all.roundWays);
+        }
+
+        /**
+         * Returns the outcomes of dealing the values from group g down, given how
+         * many cards each player already holds.
+         *
+         * @param g    - the index of the next value group, highest value first
+         * @param held - the cards held by each player; left unchanged
+         * @return the outcomes
+         */
+        private Suffix suffix(int g, int[] held) {
+            int needed = 0;
+            long key = g;
+            for (int i = 0; i < playerCount; i++) {
+                needed += handSize - held[i];
+                key = key * handRadix + held[i];
+            }
+            if (needed > cardsFrom[g]) {
+                return Suffix.NONE;
+            }
+            if (needed == 0) {
+                return finished();
+            }
+            Suffix known = memo.get(key);
+            if (known != null) {
+                return known;
+            }
+            Builder builder = new Builder();
+            deal(g, held, held.clone(), 0, counts[g], BigInteger.ONE, builder);
+            Suffix result = builder.build();
+            memo.put(key, result);
+            return result;
+        }
+
+        /**
+         * Tries every way of giving cards of group g to the seats from seat onwards.
+         *
+         * @param g        - the value group being dealt
+         * @param held     - the cards each player held before this group
+         * @param next     - the cards each player holds after this group, filled in so far
+         * @param seat     - the next seat to give cards to
+         * @param left     - the cards of this group not yet given out
+         * @param ways     - the number of ways to choose the cards given out so far
+         * @param builder  - collects the outcomes
+         */
+        private void deal(int g, int[] held, int[] next, int seat, int left, BigInteger ways, Builder builder) {
+            if (seat == playerCount) {
+                step(g, held, next, ways, builder);
+                return;
+            }
+            int most = Math.min(left, handSize - held[seat]);
+            for (int a = 0; a <= most; a++) {
+                next[seat] = held[seat] + a;
+                deal(g, held, next, seat + 1, left - a, ways.multiply(choose(left, a)), builder);
+            }
+            next[seat] = held[seat];
+        }
+
+        /**
+         * Adds the outcomes of one way of dealing group g, including the rounds it decides.
+         *
+         * @param g       - the value group being dealt
+         * @param held    - the cards each player held before this group
+         * @param next    - the cards each player holds after this group
+         * @param ways    - the number of ways to choose those cards
+         * @param builder - collects the outcomes
+         */
+        private void step(int g, int[] held, int[] next, BigInteger ways, Builder builder) {
+            Suffix rest = suffix(g + 1, next);
+            if (rest.total.signum() == 0) {
+                return;
+            }
+            int before = 0;
+            int after = 0;
+            for (int i = 0; i < playerCount; i++) {
+                before = Math.max(before, held[i]);
+                after = Math.max(after, next[i]);
+            }
+            long delta = 0;
+            BigInteger restWays = rest.total.multiply(ways);
+            for (int r = before; r < Math.min(rounds, after); r++) {
+                int winner = -1;
+                int reached = 0;
+                for (int i = 0; i < playerCount; i++) {
+                    if (next[i] > r) {
+                        winner = i;
+                        reached++;
+                    }
+                }
+                int outcome = reached == 1 ? winner : playerCount;
+                builder.roundWays[r][outcome] = builder.roundWays[r][outcome].add(restWays);
+                if (reached == 1) {
+                    delta += seatScore[winner];
+                }
+            }
+            builder.add(rest, ways, delta);
+        }
+
+        private Suffix finished() {
+            Map<Long, BigInteger> scores = new HashMap<Long, BigInteger>();
+            scores.put(0L, BigInteger.ONE);
+            return new Suffix(BigInteger.ONE, scores, zeroRounds());
+        }
+
+        private BigInteger[][] zeroRounds() {
+            BigInteger[][] roundWays = new BigInteger[rounds][playerCount + 1];
+            for (BigInteger[] row : roundWays) {
+                Arrays.fill(row, BigInteger.ZERO);
+            }
+            return roundWays;
+        }
+
+        /**
+         * Accumulates the outcomes of every way of dealing one value group.
+         */
+        private final class Builder {
+            private BigInteger total = BigInteger.ZERO;
+            private final HashMap<Long, BigInteger> scores = new HashMap<Long, BigInteger>();
+            final BigInteger[][] roundWays = zeroRounds();
+
+            /**
+             * Adds ways copies of the rest of the match, with every final score
+             * raised by the points won in the current step.
+             *
+             * @param rest  - the outcomes after this step
+             * @param ways  - the number of ways to make this step
+             * @param delta - the encoded points won in this step
+             */
+            void add(Suffix rest, BigInteger ways, long delta) {
+                total = total.add(rest.total.multiply(ways));
+                for (int r = 0; r < rounds; r++) {
+                    for (int o = 0; o <= playerCount; o++) {
+                        if (rest.roundWays[r][o].signum() != 0) {
+                            roundWays[r][o] = roundWays[r][o].add(rest.roundWays[r][o].multiply(ways));
+                        }
+                    }
+                }
+                for (Map.Entry<Long, BigInteger> e : rest.scores.entrySet()) {
+                    scores.merge(e.getKey() + delta, e.getValue().multiply(ways), BigInteger::add);
+                }
+            }
+
+            Suffix build() {
+                if (total.signum() == 0) {
+                    return Suffix.NONE;
+                }
+                return new Suffix(total, scores, roundWays);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The OddsResult class holds the exact outcome distribution of a High Card
+ * match dealt from a known set of cards, as computed by OddsCalculator.
+ *
+ * Every figure is a count of equally likely deals, out of getTotalDeals(), so
+ * probabilities can be formed exactly; the probability methods divide for convenience.
+ * Seats are numbered from 0 and rounds from 1, as in HighCardGame.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class OddsResult {
+    private final int playerCount;
+    private final int rounds;
+    private final BigInteger totalDeals;
+    // Ways to reach each final score vector, encoded in base rounds + 1 with seat 0 lowest
+    private final Map<Long, BigInteger> scoreWays;
+    // roundWays[r][seat] for wins, roundWays[r][playerCount] for ties
+    private final BigInteger[][] roundWays;
+    private final BigInteger[] matchWins;
+    private final BigInteger matchTies;
+
+    /**
+     * Constructs a result from the computed distributions.
+     *
+     * @param playerCount - the number of seats
+     * @param rounds      - the number of rounds in the match
+     * @param totalDeals  - the number of distinct deals
+     * @param scoreWays   - the deals leading to each encoded final score vector
+     * @param roundWays   - the deals leading to each outcome of each round
+     */
+    OddsResult(int playerCount, int rounds, BigInteger totalDeals, Map<Long, BigInteger> scoreWays,
+            BigInteger[][] roundWays) {
+        this.playerCount = playerCount;
+        this.rounds = rounds;
+        this.totalDeals = totalDeals;
+        this.scoreWays = scoreWays;
+        this.roundWays = roundWays;
+        matchWins = new BigInteger[playerCount];
+        Arrays.fill(matchWins, BigInteger.ZERO);
+        BigInteger ties = BigInteger.ZERO;
+        int[] scores = new int[playerCount];
+        for (Map.Entry<Long, BigInteger> e : scoreWays.entrySet()) {
+            decode(e.getKey(), scores);
+            int winner = -1;
+            int best = -1;
+            for (int i = 0; i < playerCount; i++) {
+                if (scores[i] > best) {
+                    best = scores[i];
+                    winner = i;
+                } else if (scores[i] == best) {
+                    winner = -1;
+                }
+            }
+            if (winner < 0) {
+                ties = ties.add(e.getValue());
+            } else {
+                matchWins[winner] = matchWins[winner].add(e.getValue());
+            }
+        }
+        matchTies = ties;
+    }
+
+    /**
+     * Returns the number of seats at the match.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Returns the number of rounds in the match.
+     *
+     * @return the round count
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the number of distinct, equally likely deals.
+     *
+     * @return the deal count
+     */
+    public BigInteger getTotalDeals() {
+        return totalDeals;
+    }
+
+    /**
+     * Returns the number of deals in which the seat wins the given round.
+     *
+     * @param round - the round, from 1 to getRounds()
+     * @param seat  - the seat, from 0 to getPlayerCount() - 1
+     * @return the deal count
+     * @throws IllegalArgumentException if round or seat is out of range
+     */
+    public BigInteger getRoundWinWays(int round, int seat) {
+        checkRound(round);
+        checkSeat(seat);
+        return roundWays[round - 1][seat];
+    }
+
+    /**
+     * Returns the number of deals in which the given round is tied.
+     *
+     * @param round - the round, from 1 to getRounds()
+     * @return the deal count
+     * @throws IllegalArgumentException if round is out of range
+     */
+    public BigInteger getRoundTieWays(int round) {
+        checkRound(round);
+        return roundWays[round - 1][playerCount];
+    }
+
+    /**
+     * Returns the number of deals that end with exactly the given scores.
+     *
+     * @param scores - the final points of every seat, in seat order
+     * @return the deal count
+     * @throws IllegalArgumentException if scores is null or does not have one entry per seat
+     */
+    public BigInteger getScoreWays(int... scores) {
+        if (scores == null || scores.length != playerCount)
+            throw new IllegalArgumentException("Scores must have one entry per seat");
+        long key = 0;
+        for (int i = playerCount - 1; i >= 0; i--) {
+            if (scores[i] < 0 || scores[i] > rounds) {
+                return BigInteger.ZERO;
+            }
+            key = key * (rounds + 1) + scores[i];
+        }
+        BigInteger ways = scoreWays.get(key);
+        return ways == null ? BigInteger.ZERO : ways;
+    }
+
+    /**
+     * Returns the number of deals in which the seat scores strictly the most points.
+     *
+     * @param seat - the seat, from 0 to getPlayerCount() - 1
+     * @return the deal count
+     * @throws IllegalArgumentException if seat is out of range
+     */
+    public BigInteger getMatchWinWays(int seat) {
+        checkSeat(seat);
+        return matchWins[seat];
+    }
+
+    /**
+     * Returns the number of deals in which no seat scores strictly the most points.
+     *
+     * @return the deal count
+     */
+    public BigInteger getMatchTieWays() {
+        return matchTies;
+    }
+
+    /**
+     * Returns a deal count as a fraction of all deals.
+     *
+     * @param ways - a deal count from this result
+     * @return the probability, to double precision
+     * @throws IllegalArgumentException if ways is null
+     */
+    public double probability(BigInteger ways) {
+        if (ways == null)
+            throw new IllegalArgumentException("Deal count cannot be null");
+        if (totalDeals.signum() == 0) {
+            return 0;
+        }
+        return new BigDecimal(ways).divide(new BigDecimal(totalDeals), MathContext.DECIMAL64).doubleValue();
+    }
+
+    /**
+     * Returns each seat's chance of winning the match, the chance of a tied match,
+     * and each round's tie chance.
+     *
+     * @return the formatted odds
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Deals: ").append(totalDeals).append('\n');
+        for (int i = 0; i < playerCount; i++) {
+            sb.append(String.format("Seat %d: match win %.6f%n", i + 1, probability(matchWins[i])));
+        }
+        sb.append(String.format("Match tie: %.6f%n", probability(matchTies)));
+        for (int r = 1; r <= rounds; r++) {
+            sb.append(String.format("Round %d tie: %.6f%n", r, probability(getRoundTieWays(r))));
+        }
+        return sb.toString();
+    }
+
+    private void decode(long key, int[] scores) {
+        for (int i = 0; i < playerCount; i++) {
+            scores[i] = (int) (key % (rounds + 1));
+            key /= rounds + 1;
+        }
+    }
+
+    private void checkRound(int round) {
+        if (round < 1 || round > rounds)
+            throw new IllegalArgumentException("Round must be between 1 and " + rounds);
+    }
+
+    private void checkSeat(int seat) {
+        if (seat < 0 || seat >= playerCount)
+            throw new IllegalArgumentException("Seat must be between 0 and " + (playerCount - 1));
+    }
+}
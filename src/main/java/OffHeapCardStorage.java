@@ -0,0 +1,192 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The OffHeapCardStorage class keeps card slots outside the Java heap. Each slot
+ * holds its card's int ordinal in a direct ByteBuffer, or EMPTY, and the links sit
+ * in a second buffer if they were asked for. A Card is only looked up from the
+ * CardRegistry when it is read, so however many slots there are, the heap only
+ * sees the storage object and its buffer handles.
+ *
+ * Storage can have up to MAX_CAPACITY slots. The direct memory used counts
+ * against -XX:MaxDirectMemorySize, which defaults to the maximum heap size.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+final class OffHeapCardStorage implements CardStorage {
+    /** The most slots off-heap storage can have. */
+    static final int MAX_CAPACITY = 1 << 28;
+
+    private static final int EMPTY = -1;
+
+    private final int capacity;
+    private final ByteBuffer ordinals;
+    private final ByteBuffer links;
+
+    /**
+     * Creates storage with every slot empty.
+     *
+     * @param capacity - the number of slots
+     * @param linked   - true if the slots need links
+     * @throws IllegalStateException if capacity is more than MAX_CAPACITY
+     */
+    OffHeapCardStorage(int capacity, boolean linked) {
+        if (capacity > MAX_CAPACITY)
+            throw new IllegalStateException("Off-heap storage cannot hold more than " + MAX_CAPACITY + " cards");
+        this.capacity = capacity;
+        ordinals = allocate(capacity);
+        links = linked ? allocate(capacity) : null;
+        clear(0, capacity);
+    }
+
+    /**
+     * Returns the number of ordinals the buffer holds.
+     *
+     * @return the number of slots
+     */
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Reads the ordinal in a slot and looks its card up in the CardRegistry.
+     *
+     * @param slot - the slot
+     * @return the card, or null if the slot is empty
+     */
+    @Override
+    public Card get(int slot) {
+        int ordinal = ordinals.getInt(slot * Integer.BYTES);
+        return ordinal == EMPTY ? null : CardRegistry.byOrdinal(ordinal);
+    }
+
+    /**
+     * Writes the card's ordinal, or EMPTY, into a slot.
+     *
+     * @param slot - the slot
+     * @param card - the card, or null to empty the slot
+     */
+    @Override
+    public void set(int slot, Card card) {
+        ordinals.putInt(slot * Integer.BYTES, card == null ? EMPTY : card.getOrdinal());
+    }
+
+    /**
+     * Reads the link of a slot from the link buffer.
+     *
+     * @param slot - the slot
+     * @return the link
+     */
+    @Override
+    public int link(int slot) {
+        return links.getInt(slot * Integer.BYTES);
+    }
+
+    /**
+     * Writes the link of a slot into the link buffer.
+     *
+     * @param slot - the slot
+     * @param link - the link
+     */
+    @Override
+    public void setLink(int slot, int link) {
+        links.putInt(slot * Integer.BYTES, link);
+    }
+
+    /**
+     * Writes EMPTY into a range of slots.
+     *
+     * @param from - the first slot to empty
+     * @param to   - the slot after the last one to empty
+     */
+    @Override
+    public void clear(int from, int to) {
+        for (int i = from; i < to; i++) {
+            ordinals.putInt(i * Integer.BYTES, EMPTY);
+        }
+    }
+
+    /**
+     * Looks up the card of each ordinal in a range of slots.
+     *
+     * @param from   - the first slot to copy
+     * @param dest   - the array to copy into
+     * @param offset - the index in dest where the first card goes
+     * @param n      - the number of slots to copy
+     */
+    @Override
+    public void copyOut(int from, Card[] dest, int offset, int n) {
+        for (int i = 0; i < n; i++) {
+            dest[offset + i] = CardRegistry.byOrdinal(ordinals.getInt((from + i) * Integer.BYTES));
+        }
+    }
+
+    /**
+     * Writes the ordinal of each card into a range of slots.
+     *
+     * @param source - the array to copy from
+     * @param offset - the index in source of the first card
+     * @param to     - the first slot to copy into
+     * @param n      - the number of cards to copy
+     */
+    @Override
+    public void copyIn(Card[] source, int offset, int to, int n) {
+        for (int i = 0; i < n; i++) {
+            ordinals.putInt((to + i) * Integer.BYTES, source[offset + i].getOrdinal());
+        }
+    }
+
+    /**
+     * Copies n slots, and their links, into new direct buffers of the given capacity, moving the ordinals in bulk without looking any card up.
+     *
+     * @param capacity - the capacity of the new storage
+     * @param from     - the first slot to move
+     * @param n        - the number of slots to move
+     * @return the new storage
+     */
+    @Override
+    public CardStorage resize(int capacity, int from, int n) {
+        OffHeapCardStorage resized = new OffHeapCardStorage(capacity, links != null);
+        int firstPart = Math.min(n, this.capacity - from);
+        copyRange(ordinals, from, resized.ordinals, 0, firstPart);
+        copyRange(ordinals, 0, resized.ordinals, firstPart, n - firstPart);
+        if (links != null) {
+            copyRange(links, from, resized.links, 0, firstPart);
+            copyRange(links, 0, resized.links, firstPart, n - firstPart);
+        }
+        return resized;
+    }
+
+    /**
+     * Returns null, since the cards are not kept in an array.
+     *
+     * @return null
+     */
+    @Override
+    public Card[] array() {
+        return null;
+    }
+
+    /**
+     * Copies n ints from one buffer to another with a single bulk put.
+     *
+     * @param source - the buffer to copy from
+     * @param from   - the index of the first int to copy
+     * @param dest   - the buffer to copy into
+     * @param to     - the index in dest of the first int
+     * @param n      - the number of ints to copy
+     */
+    private static void copyRange(ByteBuffer source, int from, ByteBuffer dest, int to, int n) {
+        ByteBuffer part = source.duplicate();
+        part.limit((from + n) * Integer.BYTES).position(from * Integer.BYTES);
+        ByteBuffer target = dest.duplicate();
+        target.position(to * Integer.BYTES);
+        target.put(part);
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * The OffHeapDeck class is a Deck that keeps its cards outside the Java heap.
+ * It is an ordinary Deck given an OffHeapCardStorage, so each card is stored as
+ * its int ordinal in direct memory, and a Card is only looked up from the
+ * CardRegistry when it leaves the deck or is shown.
+ *
+ * However many cards the deck holds, the heap only sees the deck object and
+ * its buffer handle, so very large shoes add nothing for the garbage collector
+ * to trace.
+ *
+ * A deck can hold up to 2^28 cards. The direct memory used counts against
+ * -XX:MaxDirectMemorySize, which defaults to the maximum heap size.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class OffHeapDeck extends Deck {
+
+    /**
+     * Creates a standard unshuffled 52-card deck stored off the heap.
+     */
+    public OffHeapDeck() {
+        this(1);
+    }
+
+    /**
+     * Creates an unshuffled deck holding the given number of standard decks, one after another.
+     *
+     * @param decks - the number of standard decks, which may be 0 for an empty deck
+     * @throws IllegalArgumentException if decks is negative or the cards would not fit
+     */
+    public OffHeapDeck(int decks) {
+        this(decks, RandomSource.threadLocal());
+    }
+
+    /**
+     * Creates an unshuffled deck holding the given number of standard decks
+     * that shuffles with the given source.
+     *
+     * @param decks  - the number of standard decks, which may be 0 for an empty deck
+     * @param random - the random source used whenever the deck is shuffled
+     * @throws IllegalArgumentException if decks is negative, the cards would not fit, or random is null
+     */
+    public OffHeapDeck(int decks, RandomSource random) {
+        super(new OffHeapCardStorage(capacityFor(cardsIn(decks)), false), random);
+        for (int i = 0; i < decks * CardRegistry.STANDARD_SIZE; i++) {
+            addCard(CardRegistry.standardCard(i % CardRegistry.STANDARD_SIZE));
+        }
+    }
+
+    /**
+     * Returns the number of cards in the given number of standard decks.
+     *
+     * @param decks - the number of standard decks
+     * @return the number of cards
+     * @throws IllegalArgumentException if decks is negative or the cards would not fit
+     */
+    private static int cardsIn(int decks) {
+        if (decks < 0)
+            throw new IllegalArgumentException("Deck count cannot be negative");
+        if ((long) decks * CardRegistry.STANDARD_SIZE > OffHeapCardStorage.MAX_CAPACITY)
+            throw new IllegalArgumentException("Too many decks to store");
+        return decks * CardRegistry.STANDARD_SIZE;
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * The OffHeapDiscardPile class is a DiscardPile that keeps its cards outside
+ * the Java heap. It is an ordinary DiscardPile given an OffHeapCardStorage, so
+ * the slots, in the order cards were added, hold card ordinals in direct memory,
+ * and the links between slots holding the same card sit there too. Only the
+ * index from each distinct card to its first and last slot stays on the heap,
+ * and its size depends on how many different cards exist, not on how many are
+ * in the pile.
+ *
+ * removeCard and contains take O(1) expected time as in DiscardPile, and Card
+ * objects are only looked up from the CardRegistry when they leave the pile or
+ * are shown. A pile can hold up to 2^28 slots.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class OffHeapDiscardPile extends DiscardPile {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Constructs an empty off-heap discard pile.
+     */
+    public OffHeapDiscardPile() {
+        super(new OffHeapCardStorage(INITIAL_CAPACITY, true));
+    }
+
+    /**
+     * Constructs an off-heap discard pile holding the given cards.
+     * Any null card inside the array is ignored.
+     *
+     * @param cards - the array of cards used to create the discard pile
+     * @throws IllegalArgumentException if cards is null
+     */
+    public OffHeapDiscardPile(Card[] cards) {
+        this();
+        if (cards == null)
+            throw new IllegalArgumentException("Card array cannot be null");
+        for (Card c : cards) {
+            if (c != null) {
+                addCard(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * The OutcomeStats class folds game outcomes into running statistics: the win
+ * rate, mean score and score variance of each seat, and the mean, variance and
+ * histogram of the value spread of every hand dealt, where a hand's spread is
+ * its highest card value minus its lowest.
+ *
+ * Only counts and integer sums are kept, so the memory used does not grow with
+ * the number of games, and merging the statistics of separate batches gives
+ * exactly the same result in any order.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class OutcomeStats {
+    /** The largest spread with its own histogram bucket; larger spreads are counted in it. */
+    public static final int MAX_SPREAD = 63;
+
+    private final int playerCount;
+    private long games;
+    private long ties;
+    private final long[] wins;
+    private final long[] scoreSums;
+    private final long[] scoreSquares;
+    private long hands;
+    private long spreadSum;
+    private long spreadSquares;
+    private final long[] spreadCounts = new long[MAX_SPREAD + 1];
+
+    /**
+     * Constructs empty statistics for the given number of players.
+     *
+     * @param playerCount - the number of seats at each game
+     * @throws IllegalArgumentException if playerCount is less than 1
+     */
+    public OutcomeStats(int playerCount) {
+        if (playerCount < 1)
+            throw new IllegalArgumentException("Player count must be at least 1");
+        this.playerCount = playerCount;
+        wins = new long[playerCount];
+        scoreSums = new long[playerCount];
+        scoreSquares = new long[playerCount];
+    }
+
+    /**
+     * Records the outcome of one game.
+     *
+     * @param winner  - the seat that won the game, or -1 for a tie
+     * @param scores  - the final scores, one per seat starting at offset
+     * @param spreads - the spread of each seat's dealt hand, one per seat starting at offset
+     * @param offset  - the index of seat 0 in scores and spreads
+     */
+    void record(int winner, int[] scores, int[] spreads, int offset) {
+        games++;
+        if (winner < 0) {
+            ties++;
+        } else {
+            wins[winner]++;
+        }
+        for (int i = 0; i < playerCount; i++) {
+            long score = scores[offset + i];
+            scoreSums[i] += score;
+            scoreSquares[i] += score * score;
+            long spread = spreads[offset + i];
+            spreadSum += spread;
+            spreadSquares += spread * spread;
+            spreadCounts[(int) Math.max(0, Math.min(MAX_SPREAD, spread))]++;
+        }
+        hands += playerCount;
+    }
+
+    /**
+     * Adds all of the statistics in other into these statistics.
+     *
+     * @param other - the statistics to merge in
+     * @return these statistics
+     * @throws IllegalArgumentException if other is null or has a different player count
+     */
+    public OutcomeStats merge(OutcomeStats other) {
+        if (other == null)
+            throw new IllegalArgumentException("Statistics cannot be null");
+        if (other.playerCount != playerCount)
+            throw new IllegalArgumentException("Cannot merge statistics with different player counts");
+        games += other.games;
+        ties += other.ties;
+        for (int i = 0; i < playerCount; i++) {
+            wins[i] += other.wins[i];
+            scoreSums[i] += other.scoreSums[i];
+            scoreSquares[i] += other.scoreSquares[i];
+        }
+        hands += other.hands;
+        spreadSum += other.spreadSum;
+        spreadSquares += other.spreadSquares;
+        for (int s = 0; s <= MAX_SPREAD; s++) {
+            spreadCounts[s] += other.spreadCounts[s];
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of seats at each game.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Returns the number of games recorded.
+     *
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games that ended without a single winner.
+     *
+     * @return the tied game count
+     */
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * Returns the number of games won by the given seat.
+     *
+     * @param seat - the seat index
+     * @return the games won
+     */
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * Returns the fraction of games won by the given seat.
+     *
+     * @param seat - the seat index
+     * @return the win rate, or 0 if no games were recorded
+     */
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) wins[seat] / games;
+    }
+
+    /**
+     * Returns the mean final score of the given seat.
+     *
+     * @param seat - the seat index
+     * @return the mean score, or 0 if no games were recorded
+     */
+    public double getMeanScore(int seat) {
+        return games == 0 ? 0 : (double) scoreSums[seat] / games;
+    }
+
+    /**
+     * Returns the sample variance of the given seat's final score.
+     *
+     * @param seat - the seat index
+     * @return the score variance, or 0 if fewer than 2 games were recorded
+     */
+    public double getScoreVariance(int seat) {
+        return variance(scoreSums[seat], scoreSquares[seat], games);
+    }
+
+    /**
+     * Returns the number of hands dealt, one per seat per game.
+     *
+     * @return the hand count
+     */
+    public long getHands() {
+        return hands;
+    }
+
+    /**
+     * Returns the mean value spread of the hands dealt.
+     *
+     * @return the mean spread, or 0 if no hands were recorded
+     */
+    public double getMeanSpread() {
+        return hands == 0 ? 0 : (double) spreadSum / hands;
+    }
+
+    /**
+     * Returns the sample variance of the value spread of the hands dealt.
+     *
+     * @return the spread variance, or 0 if fewer than 2 hands were recorded
+     */
+    public double getSpreadVariance() {
+        return variance(spreadSum, spreadSquares, hands);
+    }
+
+    /**
+     * Returns the number of hands dealt with the given value spread.
+     *
+     * @param spread - the spread, between 0 and MAX_SPREAD; MAX_SPREAD also counts every larger spread
+     * @return the hand count
+     * @throws IllegalArgumentException if spread is out of range
+     */
+    public long getSpreadCount(int spread) {
+        if (spread < 0 || spread > MAX_SPREAD)
+            throw new IllegalArgumentException("Spread must be between 0 and " + MAX_SPREAD);
+        return spreadCounts[spread];
+    }
+
+    private static double variance(long sum, long squares, long n) {
+        if (n < 2) {
+            return 0;
+        }
+        double mean = (double) sum / n;
+        return Math.max(0, (squares - mean * sum) / (n - 1));
+    }
+
+    /**
+     * Returns a summary of the games, each seat's results and the spread histogram.
+     *
+     * @return the formatted statistics
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Games: ").append(games).append(", ties: ").append(ties);
+        for (int i = 0; i < playerCount; i++) {
+            sb.append(String.format("\nSeat %d: win rate %.4f, mean score %.4f, score variance %.4f",
+                    i + 1, getWinRate(i), getMeanScore(i), getScoreVariance(i)));
+        }
+        sb.append(String.format("\nHand spread: mean %.4f, variance %.4f", getMeanSpread(), getSpreadVariance()));
+        for (int s = 0; s <= MAX_SPREAD; s++) {
+            if (spreadCounts[s] > 0) {
+                sb.append(String.format("\n  %2d: %d", s, spreadCounts[s]));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,321 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The OutcomeStream class streams game outcomes from the threads playing the
+ * games to a few consumer threads that fold them into OutcomeStats, without
+ * ever holding more than a fixed number of outcomes in memory.
+ *
+ * Each producing thread uses its own Producer, which packs outcomes into a
+ * batch of int arrays and hands the batch over once it is full. Full batches
+ * wait in a bounded queue; when the consumers fall behind and the queue fills
+ * up, producers block until there is room again, so a fast simulation is held
+ * back instead of piling up outcomes. Each consumer folds batches into its own
+ * partial statistics and returns the emptied batch to be reused, and finish()
+ * merges the partials. The memory used depends on the batch size, the queue
+ * capacity and the number of threads, but not on the number of games.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class OutcomeStream {
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private final int players;
+    private final int batchSize;
+    private final ArrayBlockingQueue<Batch> full;
+    private final ConcurrentLinkedQueue<Batch> free = new ConcurrentLinkedQueue<>();
+    private final Batch end;
+    private final Thread[] consumers;
+    private final OutcomeStats[] partials;
+    private volatile Throwable failure;
+    private boolean finished;
+
+    /**
+     * Constructs a stream and starts its consumer threads.
+     *
+     * @param players       - the number of seats at each game
+     * @param batchSize     - the number of outcomes in each batch
+     * @param queueCapacity - the most full batches waiting for a consumer
+     * @param consumerCount - the number of consumer threads
+     * @throws IllegalArgumentException if players, batchSize, queueCapacity or consumerCount is less than 1
+     */
+    public OutcomeStream(int players, int batchSize, int queueCapacity, int consumerCount) {
+        if (players < 1)
+            throw new IllegalArgumentException("Player count must be at least 1");
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        if (queueCapacity < 1)
+            throw new IllegalArgumentException("Queue capacity must be at least 1");
+        if (consumerCount < 1)
+            throw new IllegalArgumentException("Consumer count must be at least 1");
+        this.players = players;
+        this.batchSize = batchSize;
+        full = new ArrayBlockingQueue<>(queueCapacity);
+        end = new Batch(players, 0);
+        consumers = new Thread[consumerCount];
+        partials = new OutcomeStats[consumerCount];
+        for (int i = 0; i < consumerCount; i++) {
+            OutcomeStats partial = new OutcomeStats(players);
+            partials[i] = partial;
+            consumers[i] = new Thread(() -> consume(partial), "outcome-consumer-" + i);
+            consumers[i].setDaemon(true);
+            consumers[i].start();
+        }
+    }
+
+    /**
+     * Returns a new producer. Each producing thread needs its own.
+     *
+     * @return the producer
+     */
+    public Producer newProducer() {
+        return new Producer();
+    }
+
+    /**
+     * Waits for every batch handed over to be folded, stops the consumers and
+     * returns the merged statistics. Every producer must have been flushed first.
+     *
+     * @return the statistics of every outcome streamed
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws IllegalStateException if the stream has already finished or a consumer failed
+     */
+    public OutcomeStats finish() throws InterruptedException {
+        if (finished)
+            throw new IllegalStateException("Stream has already finished");
+        finished = true;
+        for (int i = 0; i < consumers.length; i++) {
+            full.put(end);
+        }
+        OutcomeStats total = new OutcomeStats(players);
+        for (int i = 0; i < consumers.length; i++) {
+            consumers[i].join();
+            total.merge(partials[i]);
+        }
+        if (failure != null)
+            throw new IllegalStateException("Outcome consumer failed", failure);
+        return total;
+    }
+
+    /**
+     * Folds batches into a partial until the end marker arrives. After a failure
+     * the consumer keeps draining the queue, so producers are never left blocked.
+     *
+     * @param partial - the statistics this consumer folds into
+     */
+    private void consume(OutcomeStats partial) {
+        try {
+            while (true) {
+                Batch batch = full.take();
+                if (batch == end) {
+                    return;
+                }
+                try {
+                    if (failure == null) {
+                        for (int g = 0; g < batch.count; g++) {
+                            partial.record(batch.winners[g], batch.scores, batch.spreads, g * players);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+                batch.count = 0;
+                free.add(batch);
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * A batch of outcomes, stored as int arrays with one lane per seat.
+     */
+    private static final class Batch {
+        final int[] winners;
+        final int[] scores;
+        final int[] spreads;
+        int count;
+
+        Batch(int players, int size) {
+            winners = new int[size];
+            scores = new int[size * players];
+            spreads = new int[size * players];
+        }
+    }
+
+    /**
+     * The handle one thread uses to add outcomes to the stream.
+     * A producer must only be used by one thread at a time.
+     */
+    public final class Producer {
+        private Batch batch;
+
+        private Producer() {
+        }
+
+        /**
+         * Adds one game outcome, handing the current batch to the consumers once
+         * it is full. Blocks while the queue of full batches is full.
+         *
+         * @param winner  - the seat that won the game, or -1 for a tie
+         * @param scores  - the final score of each seat, in seat order
+         * @param spreads - the value spread of each seat's dealt hand, in seat order
+         * @throws InterruptedException if the thread is interrupted while waiting for room
+         * @throws IllegalArgumentException if winner is not a seat or -1, or scores or spreads
+         *                                  does not have one entry per seat
+         */
+        public void record(int winner, int[] scores, int[] spreads) throws InterruptedException {
+            if (winner < -1 || winner >= players)
+                throw new IllegalArgumentException("Winner must be a seat or -1");
+            if (scores == null || scores.length != players || spreads == null || spreads.length != players)
+                throw new IllegalArgumentException("Scores and spreads need one entry per seat");
+            if (batch == null) {
+                batch = free.poll();
+                if (batch == null) {
+                    batch = new Batch(players, batchSize);
+                }
+            }
+            int g = batch.count++;
+            batch.winners[g] = winner;
+            System.arraycopy(scores, 0, batch.scores, g * players, players);
+            System.arraycopy(spreads, 0, batch.spreads, g * players, players);
+            if (batch.count == batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Hands the current batch to the consumers even if it is not full.
+         *
+         * @throws InterruptedException if the thread is interrupted while waiting for room
+         */
+        public void flush() throws InterruptedException {
+            if (batch != null && batch.count > 0) {
+                full.put(batch);
+                batch = null;
+            }
+        }
+    }
+
+    /**
+     * Plays games of a variant on several producer threads and streams their
+     * outcomes into statistics. Every game is shuffled from a seed derived from
+     * the given seed and the game's number, so the same seed always gives the
+     * same statistics.
+     *
+     * @param rules   - the variant to play, which must not keep any state between calls
+     * @param players - the number of players at each game
+     * @param games   - the number of games to play
+     * @param seed    - the seed the games are shuffled from
+     * @return the statistics of every game
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws IllegalArgumentException if rules is null, the rules cannot be played
+     *                                  by players players, or games is negative
+     */
+    public static OutcomeStats simulate(GameRules rules, int players, long games, long seed)
+            throws InterruptedException {
+        if (rules == null)
+            throw new IllegalArgumentException("Rules cannot be null");
+        if (players < 2)
+            throw new IllegalArgumentException("Player count must be at least 2");
+        if ((long) rules.cardsPerPlayer(players) * players > CardRegistry.STANDARD_SIZE)
+            throw new IllegalArgumentException("Not enough cards to deal every player a hand");
+        if (games < 0)
+            throw new IllegalArgumentException("Game count cannot be negative");
+        int threads = Runtime.getRuntime().availableProcessors();
+        OutcomeStream stream = new OutcomeStream(players, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY,
+                Math.max(1, threads / 4));
+        Thread[] producers = new Thread[threads];
+        Throwable[] failures = new Throwable[threads];
+        for (int t = 0; t < threads; t++) {
+            long from = games * t / threads;
+            long to = games * (t + 1) / threads;
+            int index = t;
+            Producer producer = stream.newProducer();
+            producers[t] = new Thread(() -> {
+                try {
+                    produce(new RulesEngine(rules, players), players, producer, from, to, seed);
+                } catch (InterruptedException | RuntimeException e) {
+                    failures[index] = e;
+                }
+            }, "outcome-producer-" + t);
+            producers[t].start();
+        }
+        OutcomeStats stats;
+        try {
+            for (Thread t : producers) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            for (Thread t : producers) {
+                t.interrupt();
+            }
+            throw e;
+        } finally {
+            // Always stop the consumers, even if a producer failed or this thread
+            // was interrupted, so no consumer is left waiting on the queue
+            stats = stream.finish();
+        }
+        for (Throwable f : failures) {
+            if (f != null)
+                throw new IllegalStateException("Outcome producer failed", f);
+        }
+        return stats;
+    }
+
+    /**
+     * Plays a range of games on one engine and records each outcome.
+     *
+     * @param engine   - the engine to play on
+     * @param players  - the number of players at the engine's table
+     * @param producer - the producer to record outcomes with
+     * @param from     - the number of the first game (inclusive)
+     * @param to       - the number of the last game (exclusive)
+     * @param seed     - the seed the games are shuffled from
+     * @throws InterruptedException if the thread is interrupted while waiting for room
+     */
+    private static void produce(RulesEngine engine, int players, Producer producer, long from, long to,
+            long seed) throws InterruptedException {
+        int[] scores = new int[players];
+        int[] spreads = new int[players];
+        for (long game = from; game < to; game++) {
+            engine.startGame(RandomSource.seeded(RandomSource.streamSeed(seed, game)));
+            engine.step();
+            for (int i = 0; i < players; i++) {
+                Player p = engine.getPlayer(i);
+                spreads[i] = p.size() == 0 ? 0 : p.getHighestCard().getValue() - p.getLowestCard().getValue();
+            }
+            while (engine.step()) {
+                // play the game out
+            }
+            for (int i = 0; i < players; i++) {
+                scores[i] = engine.getScore(i);
+            }
+            producer.record(engine.getWinner(), scores, spreads);
+        }
+        producer.flush();
+    }
+
+    /**
+     * Streams a simulation of a variant and prints the statistics.
+     * Arguments are: the variant (highcard, lowball or war), games, players and an optional seed.
+     *
+     * @param args - the command line arguments
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 3) {
+            System.out.println("Usage: OutcomeStream <highcard|lowball|war> <games> <players> [seed]");
+            return;
+        }
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        long start = System.nanoTime();
+        OutcomeStats stats = simulate(RulesEngine.variant(args[0]), Integer.parseInt(args[2]),
+                Long.parseLong(args[1]), seed);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(stats);
+        System.out.println("Elapsed: " + elapsed / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * The PersistentDeck class is an immutable deck of cards. Every change returns
+ * a new deck and leaves the old one untouched, and the two share all the storage
+ * the change did not touch.
+ *
+ * Copying a PersistentDeck is just keeping the reference, so a search can fork a
+ * game state for free and try a different move on each branch. Drawing the top
+ * card, adding a card to the bottom and reading a card by position take O(log n)
+ * expected time. Shuffling builds a new deck in O(n).
+ *
+ * A mutable Deck can be turned into a PersistentDeck with Deck.snapshot(), and back
+ * with toDeck().
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class PersistentDeck {
+    private static final PersistentDeck EMPTY = new PersistentDeck(null);
+
+    // Top of the deck first
+    private final CardTree cards;
+
+    private PersistentDeck(CardTree cards) {
+        this.cards = cards;
+    }
+
+    /**
+     * Returns the deck with no cards.
+     *
+     * @return the empty deck
+     */
+    public static PersistentDeck empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a deck holding the given cards, top card first.
+     * Any null entries inside the array are skipped.
+     *
+     * @param cardArray - the cards of the deck
+     * @return the deck
+     * @throws IllegalArgumentException if cardArray is null
+     */
+    public static PersistentDeck of(Card[] cardArray) {
+        if (cardArray == null)
+            throw new IllegalArgumentException("Card array cannot be null");
+        Card[] kept = new Card[cardArray.length];
+        int n = 0;
+        for (Card c : cardArray) {
+            if (c != null) {
+                kept[n++] = c;
+            }
+        }
+        return of(kept, n);
+    }
+
+    /**
+     * Returns a deck holding the first n cards of the array, top card first.
+     * The cards must not be null.
+     *
+     * @param source - the cards of the deck
+     * @param n      - the number of cards to use
+     * @return the deck
+     */
+    static PersistentDeck of(Card[] source, int n) {
+        return n == 0 ? EMPTY : new PersistentDeck(CardTree.build(source, n));
+    }
+
+    /**
+     * Returns the number of cards in the deck.
+     *
+     * @return the size of the deck
+     */
+    public int size() {
+        return CardTree.size(cards);
+    }
+
+    /**
+     * Returns true if the deck has no cards.
+     *
+     * @return true if the deck is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return cards == null;
+    }
+
+    /**
+     * Returns the top card of the deck without removing it.
+     *
+     * @return the top card, or null if the deck has no cards
+     */
+    public Card top() {
+        return cards == null ? null : CardTree.get(cards, 0);
+    }
+
+    /**
+     * Returns the card at the given position, where 0 is the top of the deck.
+     *
+     * @param index - the position
+     * @return the card at that position
+     * @throws IllegalArgumentException if index is not between 0 and size() - 1
+     */
+    public Card cardAt(int index) {
+        if (index < 0 || index >= size())
+            throw new IllegalArgumentException("Index must be between 0 and " + (size() - 1));
+        return CardTree.get(cards, index);
+    }
+
+    /**
+     * Returns this deck without its top card.
+     * If the deck is empty, returns this deck.
+     *
+     * @return the deck after drawing
+     */
+    public PersistentDeck withoutTop() {
+        return cards == null ? this : wrap(CardTree.suffix(cards, 1));
+    }
+
+    /**
+     * Returns this deck with the given card added to the bottom.
+     *
+     * @param card - the card to add
+     * @return the deck after adding
+     * @throws NullPointerException if card is null
+     */
+    public PersistentDeck withCard(Card card) {
+        if (card == null) {
+            throw new NullPointerException("Cannot add null card to deck");
+        }
+        return new PersistentDeck(CardTree.merge(cards, CardTree.leaf(card)));
+    }
+
+    /**
+     * Returns this deck with its cards in a random order chosen by the given source.
+     *
+     * @param random - the random source to shuffle with
+     * @return the shuffled deck
+     * @throws IllegalArgumentException if random is null
+     */
+    public PersistentDeck shuffled(RandomSource random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        Card[] all = toArray();
+        for (int i = all.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Card temp = all[i];
+            all[i] = all[j];
+            all[j] = temp;
+        }
+        return of(all, all.length);
+    }
+
+    /**
+     * Returns a new mutable deck holding the same cards in the same order.
+     *
+     * @return the mutable deck
+     */
+    public Deck toDeck() {
+        return toDeck(RandomSource.threadLocal());
+    }
+
+    /**
+     * Returns a new mutable deck holding the same cards in the same order
+     * that shuffles with the given source.
+     *
+     * @param random - the random source used whenever the new deck is shuffled
+     * @return the mutable deck
+     * @throws IllegalArgumentException if random is null
+     */
+    public Deck toDeck(RandomSource random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        Deck deck = new Deck(size(), random);
+        deck.setCards(toArray(), size());
+        return deck;
+    }
+
+    /**
+     * Returns the deck's contents in list form.
+     *
+     * @return a string showing all cards in the deck
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        Card[] all = toArray();
+        for (int i = 0; i < all.length; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(all[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private Card[] toArray() {
+        Card[] all = new Card[size()];
+        CardTree.copyTo(cards, all, 0);
+        return all;
+    }
+
+    private static PersistentDeck wrap(CardTree cards) {
+        return cards == null ? EMPTY : new PersistentDeck(cards);
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * The PersistentDiscardPile class is an immutable discard pile. Every change
+ * returns a new pile and leaves the old one untouched, and the two share all
+ * the storage the change did not touch.
+ *
+ * Cards are kept in the order they were added. Adding a card, removing a card
+ * and checking for a card take O(log n) expected time; as in DiscardPile,
+ * removing a card takes its oldest copy.
+ *
+ * A mutable DiscardPile can be turned into a PersistentDiscardPile with
+ * DiscardPile.snapshot(), and back with toDiscardPile().
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class PersistentDiscardPile {
+    private static final PersistentDiscardPile EMPTY = new PersistentDiscardPile(null);
+
+    // Oldest card first
+    private final CardTree cards;
+
+    private PersistentDiscardPile(CardTree cards) {
+        this.cards = cards;
+    }
+
+    /**
+     * Returns the pile with no cards.
+     *
+     * @return the empty pile
+     */
+    public static PersistentDiscardPile empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a pile holding the first n cards of the array, oldest card first.
+     * The cards must not be null.
+     *
+     * @param source - the cards of the pile
+     * @param n      - the number of cards to use
+     * @return the pile
+     */
+    static PersistentDiscardPile of(Card[] source, int n) {
+        return n == 0 ? EMPTY : new PersistentDiscardPile(CardTree.build(source, n));
+    }
+
+    /**
+     * Returns the amount of cards in the discard pile.
+     *
+     * @return the size of the pile
+     */
+    public int size() {
+        return CardTree.size(cards);
+    }
+
+    /**
+     * Returns all cards in the discard pile as an array, in the order they were added.
+     *
+     * @return an array containing all cards in the pile
+     */
+    public Card[] getCards() {
+        Card[] all = new Card[size()];
+        CardTree.copyTo(cards, all, 0);
+        return all;
+    }
+
+    /**
+     * Returns true if the discard pile holds at least one card equal to the given card.
+     *
+     * @param card - the card to look for
+     * @return true if the card is in the pile, false otherwise
+     * @throws IllegalArgumentException if card is null
+     */
+    public boolean contains(Card card) {
+        if (card == null)
+            throw new IllegalArgumentException("Cannot search for null card in discard pile");
+        return CardTree.indexOf(cards, card) >= 0;
+    }
+
+    /**
+     * Returns this pile with the given card added.
+     *
+     * @param card - the card to add
+     * @return the pile after adding
+     * @throws IllegalArgumentException if card is null
+     */
+    public PersistentDiscardPile withCard(Card card) {
+        if (card == null)
+            throw new IllegalArgumentException("Cannot add null card to discard pile");
+        return new PersistentDiscardPile(CardTree.merge(cards, CardTree.leaf(card)));
+    }
+
+    /**
+     * Returns this pile without the oldest copy of the given card.
+     * If the card is not in the pile, returns this pile.
+     *
+     * @param card - the card to remove
+     * @return the pile after removing
+     * @throws IllegalArgumentException if card is null
+     */
+    public PersistentDiscardPile without(Card card) {
+        if (card == null)
+            throw new IllegalArgumentException("Cannot remove null card from discard pile");
+        int index = CardTree.indexOf(cards, card);
+        if (index < 0) {
+            return this;
+        }
+        CardTree rest = CardTree.removeAt(cards, index);
+        return rest == null ? EMPTY : new PersistentDiscardPile(rest);
+    }
+
+    /**
+     * Returns a new mutable discard pile holding the same cards in the same order.
+     *
+     * @return the mutable pile
+     */
+    public DiscardPile toDiscardPile() {
+        return new DiscardPile(getCards());
+    }
+
+    /**
+     * Returns a formatted string listing all cards in the discard pile.
+     * Cards are separated by commas, and the last card ends with a period.
+     *
+     * @return a string representing all the cards in the pile
+     */
+    @Override
+    public String toString() {
+        Card[] all = getCards();
+        if (all.length == 0)
+            return "";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < all.length; i++) {
+            sb.append(all[i]).append(i < all.length - 1 ? ", " : ".");
+        }
+        return sb.toString();
+    }
+}
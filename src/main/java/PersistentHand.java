@@ -0,0 +1,166 @@
+/**
+ * The PersistentHand class is an immutable hand of cards. Every change returns
+ * a new hand and leaves the old one untouched, and the two share all the storage
+ * the change did not touch.
+ *
+ * Keeping a hand is just keeping the reference, so a search can try "what if I
+ * return this card" on many branches of the same state without copying. Adding
+ * a card, removing a card and finding the highest card take O(log n) expected
+ * time. Like Player, a card is added to the top of the hand, removing a card
+ * takes its lowest copy, and ties for the highest card go to the one nearest
+ * the top.
+ *
+ * A Player's hand can be saved with Player.snapshotHand() and put back with
+ * Player.restoreHand(PersistentHand).
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class PersistentHand {
+    private static final PersistentHand EMPTY = new PersistentHand(null);
+
+    // Bottom of the hand first
+    private final CardTree cards;
+
+    private PersistentHand(CardTree cards) {
+        this.cards = cards;
+    }
+
+    /**
+     * Returns the hand with no cards.
+     *
+     * @return the empty hand
+     */
+    public static PersistentHand empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a hand holding the first n cards of the array, bottom card first.
+     * The cards must not be null.
+     *
+     * @param source - the cards of the hand
+     * @param n      - the number of cards to use
+     * @return the hand
+     */
+    static PersistentHand of(Card[] source, int n) {
+        return n == 0 ? EMPTY : new PersistentHand(CardTree.build(source, n));
+    }
+
+    /**
+     * Returns the number of cards in the hand.
+     *
+     * @return the hand size
+     */
+    public int size() {
+        return CardTree.size(cards);
+    }
+
+    /**
+     * Returns the hand as an array of cards, from the top of the hand to the bottom.
+     *
+     * @return the hand as an array
+     */
+    public Card[] getHand() {
+        Card[] bottomFirst = toArray();
+        Card[] arr = new Card[bottomFirst.length];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = bottomFirst[arr.length - 1 - i];
+        }
+        return arr;
+    }
+
+    /**
+     * Returns true if the hand holds at least one card equal to the given card.
+     *
+     * @param card - the card to look for
+     * @return true if the card is in the hand, false otherwise
+     * @throws IllegalArgumentException if card is null
+     */
+    public boolean contains(Card card) {
+        if (card == null)
+            throw new IllegalArgumentException("Card cannot be null");
+        return CardTree.indexOf(cards, card) >= 0;
+    }
+
+    /**
+     * Returns the highest-value card in the hand.
+     * If several cards share the highest value, the one nearest the top of the hand is returned.
+     *
+     * @return the highest-valued card, or null if the hand is empty
+     */
+    public Card getHighestCard() {
+        return cards == null ? null : CardTree.get(cards, CardTree.lastIndexOfMax(cards));
+    }
+
+    /**
+     * Returns this hand with the given card added to the top.
+     *
+     * @param card - the card to add
+     * @return the hand after adding
+     * @throws IllegalArgumentException if card is null
+     */
+    public PersistentHand withCard(Card card) {
+        if (card == null)
+            throw new IllegalArgumentException("Card cannot be null");
+        return new PersistentHand(CardTree.merge(cards, CardTree.leaf(card)));
+    }
+
+    /**
+     * Returns this hand without the lowest copy of the given card.
+     * If the card is not in the hand, returns this hand.
+     *
+     * @param card - the card to remove
+     * @return the hand after removing
+     * @throws IllegalArgumentException if card is null
+     */
+    public PersistentHand without(Card card) {
+        if (card == null)
+            throw new IllegalArgumentException("Card cannot be null");
+        int index = CardTree.indexOf(cards, card);
+        return index < 0 ? this : wrap(CardTree.removeAt(cards, index));
+    }
+
+    /**
+     * Returns this hand without its highest-value card, choosing the one nearest
+     * the top of the hand when several share the highest value.
+     * If the hand is empty, returns this hand.
+     *
+     * @return the hand after removing
+     */
+    public PersistentHand withoutHighestCard() {
+        return cards == null ? this : wrap(CardTree.removeAt(cards, CardTree.lastIndexOfMax(cards)));
+    }
+
+    /**
+     * Returns the hand's cards from the top of the hand to the bottom, ending in a period.
+     *
+     * @return a string listing the hand
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        Card[] hand = getHand();
+        for (int i = 0; i < hand.length; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(hand[i]);
+        }
+        return sb.append('.').toString();
+    }
+
+    /**
+     * Returns the hand's cards, bottom of the hand first.
+     *
+     * @return the cards
+     */
+    Card[] toArray() {
+        Card[] all = new Card[size()];
+        CardTree.copyTo(cards, all, 0);
+        return all;
+    }
+
+    private static PersistentHand wrap(CardTree cards) {
+        return cards == null ? EMPTY : new PersistentHand(cards);
+    }
+}
@@ -1,4 +1,5 @@
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeMap;
 
 /**
  * The Player class represents a player in the card game.
@@ -6,13 +7,58 @@ import java.util.ArrayList;
  * A player can draw cards from a deck, discard cards to a discard pile,
  * return cards to a deck, and view their current hand.
  * 
+ * While every card in the hand is a distinct card of the standard 52-card deck,
+ * the hand is stored compactly: a 64-bit mask marks which cards are held and a
+ * byte array keeps their order. The mask is laid out by value, so membership
+ * checks and finding the highest card are bit operations. As soon as a card
+ * from outside the standard deck or a second copy of a card is added, the hand
+ * switches to a list form; it goes back to the compact form once emptied.
+ * The list form leaves removed cards behind as empty slots until they outnumber
+ * the cards held, and chains the slots of each card and of each value, so
+ * removing a card and finding the highest or lowest card never scan the whole
+ * hand in either form.
+ * 
  * @author Akash K.
  * @version 1.0
  */
 public class Player {
     private String name;
     private int age;
-    private ArrayList<Card> hand = new ArrayList<Card>();
+    private static final int RANKS = 13;
+    private static final int SUITS = 4;
+    private static final int INITIAL_ORDER_CAPACITY = 8;
+
+    // Compact form, used while hand is null: bit (rank * 4 + suit) is set for
+    // each held standard card, and order lists their ordinals bottom to top.
+    private long mask;
+    private byte[] order = new byte[INITIAL_ORDER_CAPACITY];
+    private int count;
+    // List form, used while slots is not null: the cards bottom of the hand
+    // first, with removed cards left as null until the next compaction. Slots
+    // holding the same card are chained bottom to top through prevSame and
+    // nextSame, starting from firstSlot and lastSlot, which are indexed by
+    // ordinal. Slots holding cards of one value are chained the same way
+    // through prevValue and nextValue, starting from their group in byValue.
+    private Card[] slots;
+    private int used;
+    private int live;
+    private int bottom;
+    private int[] prevSame;
+    private int[] nextSame;
+    private int[] prevValue;
+    private int[] nextValue;
+    private int[] firstSlot;
+    private int[] lastSlot;
+    private TreeMap<Integer, ValueGroup> byValue;
+
+    /**
+     * The first and last slots, and the number of cards, of one value in the list form.
+     */
+    private static final class ValueGroup {
+        private int first = -1;
+        private int last = -1;
+        private int size;
+    }
 
     /**
      * Constructs a Player with a name, age, and an initial starting hand.
@@ -43,7 +89,7 @@ public class Player {
         for (int i = startingHand.length - 1; i >= 0; i--) {
             Card c = startingHand[i];
             if (c != null) {
-                hand.add(c);
+                addToHand(c);
             }
         }
     }
@@ -65,7 +111,6 @@ public class Player {
             throw new IllegalArgumentException("Player age cannot be negative");
         this.name = name.trim();
         this.age = age;
-        hand = new ArrayList<Card>();
     }
 
     /**
@@ -93,20 +138,122 @@ public class Player {
      * @return the player's hand as an array
      */
     public Card[] getHand() {
-        Card[] arr = new Card[hand.size()];
-        for (int i = 0; i < hand.size(); i++) {
-            arr[i] = hand.get(hand.size() - 1 - i);
+        if (slots == null) {
+            Card[] arr = new Card[count];
+            for (int i = 0; i < count; i++) {
+                arr[i] = CardRegistry.standardCard(order[count - 1 - i]);
+            }
+            return arr;
+        }
+        Card[] arr = new Card[live];
+        int i = live;
+        for (int s = bottom; s < used; s++) {
+            if (slots[s] != null) {
+                arr[--i] = slots[s];
+            }
         }
         return arr;
     }
 
+    /**
+     * Returns the highest-value card in the player's hand without removing it.
+     * If several cards share the highest value, the one nearest the top of the hand is returned.
+     *
+     * @return the highest-valued card, or null if the hand is empty
+     */
+    public Card getHighestCard() {
+        if (slots == null) {
+            if (mask == 0) {
+                return null;
+            }
+            int top = Long.SIZE - 1 - Long.numberOfLeadingZeros(mask);
+            return cardOfRank(top / SUITS, 1);
+        }
+        return slots[byValue.lastEntry().getValue().last];
+    }
+
+    /**
+     * Returns the lowest-value card in the player's hand without removing it.
+     * If several cards share the lowest value, the one nearest the top of the hand is returned.
+     *
+     * @return the lowest-valued card, or null if the hand is empty
+     */
+    public Card getLowestCard() {
+        if (slots == null) {
+            if (mask == 0) {
+                return null;
+            }
+            return cardOfRank(Long.numberOfTrailingZeros(mask) / SUITS, 1);
+        }
+        return slots[byValue.firstEntry().getValue().last];
+    }
+
+    /**
+     * Returns the k-th highest-value card in the player's hand without removing it,
+     * where k = 1 is the highest card. Cards of equal value are ranked from the
+     * top of the hand down, so getKthHighestCard(1) is the same card as getHighestCard().
+     *
+     * The lookup walks the values from the highest down to the one holding the k-th
+     * card, then walks that value's cards from the top of the hand, so it takes
+     * O(d + k) time for d distinct values held. In the compact form d is at most 13,
+     * but picking among several suits of one rank scans the hand order.
+     *
+     * @param k - the rank of the card, between 1 and size()
+     * @return the k-th highest-valued card
+     * @throws IllegalArgumentException if k is less than 1 or more than the hand size
+     */
+    public Card getKthHighestCard(int k) {
+        if (k < 1 || k > size())
+            throw new IllegalArgumentException("Rank must be between 1 and " + size());
+        if (slots == null) {
+            for (int rank = RANKS - 1;; rank--) {
+                int held = Long.bitCount(suitsOf(rank));
+                if (k <= held) {
+                    return cardOfRank(rank, k);
+                }
+                k -= held;
+            }
+        }
+        for (ValueGroup group : byValue.descendingMap().values()) {
+            if (k <= group.size) {
+                int s = group.last;
+                while (--k > 0) {
+                    s = prevValue[s];
+                }
+                return slots[s];
+            }
+            k -= group.size;
+        }
+        throw new IllegalStateException("Hand index is out of step with the hand");
+    }
+
+    /**
+     * Removes and returns the highest-value card in the player's hand.
+     * If several cards share the highest value, the one nearest the top of the hand is removed.
+     *
+     * @return the highest-valued card, or null if the hand is empty
+     */
+    public Card removeHighestCard() {
+        return removeNearestTop(getHighestCard());
+    }
+
+    /**
+     * Removes and returns the lowest-value card in the player's hand.
+     * If several cards share the lowest value, the one nearest the top of the hand is removed.
+     *
+     * @return the lowest-valued card, or null if the hand is empty
+     */
+    public Card removeLowestCard() {
+        return removeNearestTop(getLowestCard());
+    }
+
     /**
      * Returns the number of cards in the player's hand.
      *
      * @return the hand size
      */
     public int size() {
-        return hand.size();
+        return slots == null ? count : live;
     }
 
     /**
@@ -121,10 +268,12 @@ public class Player {
         if (deck == null) {
             throw new IllegalArgumentException("Deck cannot be null");
         }
+        Metrics.CardOperationEvent timing = Metrics.start();
         Card pulled = deck.draw();
         if (pulled != null) {
-            hand.add(pulled);
+            addToHand(pulled);
         }
+        Metrics.stop(Metrics.Operation.PLAYER_DRAW, timing);
     }
 
     /**
@@ -143,12 +292,13 @@ public class Player {
         if (pile == null)
             throw new IllegalArgumentException("Discard pile cannot be null");
 
-        if (hand.contains(card)) {
-            hand.remove(card);
+        Metrics.CardOperationEvent timing = Metrics.start();
+        boolean removed = removeFromHand(card);
+        if (removed) {
             pile.addCard(card);
-            return true;
         }
-        return false;
+        Metrics.stop(Metrics.Operation.PLAYER_DISCARD, timing);
+        return removed;
     }
 
     /**
@@ -166,12 +316,13 @@ public class Player {
             throw new IllegalArgumentException("Card cannot be null");
         if (deck == null)
             throw new IllegalArgumentException("Deck cannot be null");
-        if (hand.contains(card)) {
-            hand.remove(card);
+        Metrics.CardOperationEvent timing = Metrics.start();
+        boolean removed = removeFromHand(card);
+        if (removed) {
             deck.addCard(card);
-            return true;
         }
-        return false;
+        Metrics.stop(Metrics.Operation.PLAYER_RETURN, timing);
+        return removed;
     }
 
     /**
@@ -184,9 +335,365 @@ public class Player {
     @Override
     public String toString() {
         String s = name + ", " + age;
-        for (int i = hand.size() - 1; i >= 0; i--) {
-            s += ", " + hand.get(i).toString();
+        Card[] cards = getHand();
+        for (int i = 0; i < cards.length; i++) {
+            s += ", " + cards[i].toString();
         }
         return s + ".";
     }
+
+    /**
+     * Returns an immutable copy of the player's hand that later changes to the
+     * player do not affect. Taking the snapshot is O(n); forking it after that is free.
+     *
+     * @return the snapshot of the hand
+     */
+    public PersistentHand snapshotHand() {
+        int n = size();
+        Card[] cards = new Card[n];
+        for (int i = 0; i < n; i++) {
+            cards[i] = cardAt(i);
+        }
+        return PersistentHand.of(cards, n);
+    }
+
+    /**
+     * Replaces the player's hand with the cards of the snapshot, in the same order.
+     *
+     * @param snapshot - the hand to restore
+     * @throws IllegalArgumentException if snapshot is null
+     */
+    public void restoreHand(PersistentHand snapshot) {
+        if (snapshot == null)
+            throw new IllegalArgumentException("Hand snapshot cannot be null");
+        setHand(snapshot.toArray(), snapshot.size());
+    }
+
+    /**
+     * Adds a card to the top of the hand. Used when a deck deals to several players at once.
+     *
+     * @param card - the card to add
+     */
+    void receive(Card card) {
+        addToHand(card);
+    }
+
+    /**
+     * Removes and returns the card at the bottom of the hand.
+     *
+     * @return the bottom card, or null if the hand is empty
+     */
+    Card removeBottomCard() {
+        if (size() == 0) {
+            return null;
+        }
+        if (slots == null) {
+            Card card = CardRegistry.standardCard(order[0]);
+            removeFromHand(card);
+            return card;
+        }
+        Card card = slots[bottom];
+        unlinkSlot(bottom);
+        return card;
+    }
+
+    /**
+     * Returns the card at the given position, where 0 is the bottom of the hand.
+     * In the list form, this first compacts away any removed cards.
+     *
+     * @param index - the position, between 0 and size() - 1
+     * @return the card at that position
+     */
+    Card cardAt(int index) {
+        if (slots == null) {
+            return CardRegistry.standardCard(order[index]);
+        }
+        if (used != live) {
+            compact();
+        }
+        return slots[index];
+    }
+
+    /**
+     * Replaces the hand with the first n cards of the array, bottom card first.
+     *
+     * @param cards - the cards to load
+     * @param n     - the number of cards to load
+     */
+    void setHand(Card[] cards, int n) {
+        dropList();
+        mask = 0;
+        count = 0;
+        for (int i = 0; i < n; i++) {
+            addToHand(cards[i]);
+        }
+    }
+
+    /**
+     * Returns the bit that marks a standard card in the compact hand.
+     *
+     * @param ordinal - the standard card's ordinal
+     * @return the card's bit in the mask
+     */
+    private static long bitOf(int ordinal) {
+        return 1L << ((ordinal % RANKS) * SUITS + ordinal / RANKS);
+    }
+
+    /**
+     * Returns the suits held of one rank in the compact hand, one bit per suit.
+     *
+     * @param rank - the rank, from 0 for an Ace to 12 for a King
+     * @return the four suit bits of that rank
+     */
+    private long suitsOf(int rank) {
+        return (mask >>> (rank * SUITS)) & ((1L << SUITS) - 1);
+    }
+
+    /**
+     * Returns the n-th card of one rank in the compact hand, counting from the top of the hand.
+     *
+     * @param rank - the rank, which must have at least n cards held
+     * @param n    - which card of the rank, where 1 is the one nearest the top
+     * @return the card
+     */
+    private Card cardOfRank(int rank, int n) {
+        long suitsHeld = suitsOf(rank);
+        if (Long.bitCount(suitsHeld) == 1) {
+            return CardRegistry.standardCard(Long.numberOfTrailingZeros(suitsHeld) * RANKS + rank);
+        }
+        int i = count;
+        while (n > 0) {
+            i--;
+            if (order[i] % RANKS == rank) {
+                n--;
+            }
+        }
+        return CardRegistry.standardCard(order[i]);
+    }
+
+    /**
+     * Adds a card to the top of the hand, switching to the list form
+     * if the compact form cannot hold it.
+     *
+     * @param card - the card to add
+     */
+    private void addToHand(Card card) {
+        if (slots == null) {
+            int ordinal = card.getOrdinal();
+            if (ordinal < CardRegistry.STANDARD_SIZE && (mask & bitOf(ordinal)) == 0) {
+                if (count == order.length) {
+                    order = Arrays.copyOf(order, Math.min(order.length * 2, CardRegistry.STANDARD_SIZE));
+                }
+                order[count++] = (byte) ordinal;
+                mask |= bitOf(ordinal);
+                return;
+            }
+            int capacity = Math.max(INITIAL_ORDER_CAPACITY, count * 2);
+            slots = new Card[capacity];
+            prevSame = new int[capacity];
+            nextSame = new int[capacity];
+            prevValue = new int[capacity];
+            nextValue = new int[capacity];
+            firstSlot = new int[0];
+            lastSlot = new int[0];
+            byValue = new TreeMap<Integer, ValueGroup>();
+            for (int i = 0; i < count; i++) {
+                indexCard(CardRegistry.standardCard(order[i]));
+            }
+            mask = 0;
+            count = 0;
+        }
+        indexCard(card);
+    }
+
+    /**
+     * Puts a card in a new slot at the top of the list form and links it
+     * into the chains of its card and its value.
+     *
+     * @param card - the card to add
+     */
+    private void indexCard(Card card) {
+        if (used == slots.length) {
+            int capacity = slots.length * 2;
+            slots = Arrays.copyOf(slots, capacity);
+            prevSame = Arrays.copyOf(prevSame, capacity);
+            nextSame = Arrays.copyOf(nextSame, capacity);
+            prevValue = Arrays.copyOf(prevValue, capacity);
+            nextValue = Arrays.copyOf(nextValue, capacity);
+        }
+        int s = used++;
+        slots[s] = card;
+        live++;
+
+        int ordinal = card.getOrdinal();
+        if (ordinal >= firstSlot.length) {
+            int length = Math.max(ordinal + 1, Math.max(CardRegistry.STANDARD_SIZE, firstSlot.length * 2));
+            int old = firstSlot.length;
+            firstSlot = Arrays.copyOf(firstSlot, length);
+            lastSlot = Arrays.copyOf(lastSlot, length);
+            Arrays.fill(firstSlot, old, length, -1);
+            Arrays.fill(lastSlot, old, length, -1);
+        }
+        prevSame[s] = lastSlot[ordinal];
+        nextSame[s] = -1;
+        if (lastSlot[ordinal] >= 0) {
+            nextSame[lastSlot[ordinal]] = s;
+        } else {
+            firstSlot[ordinal] = s;
+        }
+        lastSlot[ordinal] = s;
+
+        ValueGroup group = byValue.get(card.getValue());
+        if (group == null) {
+            group = new ValueGroup();
+            byValue.put(card.getValue(), group);
+        }
+        prevValue[s] = group.last;
+        nextValue[s] = -1;
+        if (group.last >= 0) {
+            nextValue[group.last] = s;
+        } else {
+            group.first = s;
+        }
+        group.last = s;
+        group.size++;
+    }
+
+    /**
+     * Removes the card in a slot of the list form, leaving the slot empty.
+     * Compacts the slots once the empty ones outnumber the cards held, and goes
+     * back to the compact form once the list form is empty.
+     *
+     * @param s - the slot, which must hold a card
+     */
+    private void unlinkSlot(int s) {
+        Card card = slots[s];
+        slots[s] = null;
+        live--;
+
+        int ordinal = card.getOrdinal();
+        if (prevSame[s] >= 0) {
+            nextSame[prevSame[s]] = nextSame[s];
+        } else {
+            firstSlot[ordinal] = nextSame[s];
+        }
+        if (nextSame[s] >= 0) {
+            prevSame[nextSame[s]] = prevSame[s];
+        } else {
+            lastSlot[ordinal] = prevSame[s];
+        }
+
+        ValueGroup group = byValue.get(card.getValue());
+        if (prevValue[s] >= 0) {
+            nextValue[prevValue[s]] = nextValue[s];
+        } else {
+            group.first = nextValue[s];
+        }
+        if (nextValue[s] >= 0) {
+            prevValue[nextValue[s]] = prevValue[s];
+        } else {
+            group.last = prevValue[s];
+        }
+        if (--group.size == 0) {
+            byValue.remove(card.getValue());
+        }
+
+        if (live == 0) {
+            dropList();
+        } else if (used - live > live) {
+            compact();
+        } else {
+            while (slots[bottom] == null) {
+                bottom++;
+            }
+        }
+    }
+
+    /**
+     * Moves the cards of the list form down over the empty slots, keeping their
+     * order, and rebuilds the chains.
+     */
+    private void compact() {
+        int n = 0;
+        for (int s = bottom; s < used; s++) {
+            if (slots[s] != null) {
+                slots[n++] = slots[s];
+            }
+        }
+        Arrays.fill(slots, n, used, null);
+        Arrays.fill(firstSlot, -1);
+        Arrays.fill(lastSlot, -1);
+        byValue.clear();
+        Card[] cards = Arrays.copyOf(slots, n);
+        used = 0;
+        live = 0;
+        bottom = 0;
+        for (Card c : cards) {
+            indexCard(c);
+        }
+    }
+
+    /**
+     * Leaves the list form, if the hand is in it.
+     */
+    private void dropList() {
+        slots = null;
+        prevSame = null;
+        nextSame = null;
+        prevValue = null;
+        nextValue = null;
+        firstSlot = null;
+        lastSlot = null;
+        byValue = null;
+        used = 0;
+        live = 0;
+        bottom = 0;
+    }
+
+    /**
+     * Removes the copy of a card nearest the top of the hand, where the card
+     * is the one held nearest the top among all cards of its value.
+     *
+     * @param card - the card to remove, or null
+     * @return the removed card, or null if card is null
+     */
+    private Card removeNearestTop(Card card) {
+        if (card == null) {
+            return null;
+        }
+        if (slots == null) {
+            removeFromHand(card);
+            return card;
+        }
+        unlinkSlot(lastSlot[card.getOrdinal()]);
+        return card;
+    }
+
+    /**
+     * Removes the lowest copy of a card from the hand.
+     *
+     * @param card - the card to remove
+     * @return true if the card was in the hand, false otherwise
+     */
+    private boolean removeFromHand(Card card) {
+        int ordinal = card.getOrdinal();
+        if (slots == null) {
+            if (ordinal >= CardRegistry.STANDARD_SIZE || (mask & bitOf(ordinal)) == 0) {
+                return false;
+            }
+            mask &= ~bitOf(ordinal);
+            int i = 0;
+            while (order[i] != ordinal) {
+                i++;
+            }
+            System.arraycopy(order, i + 1, order, i, count - i - 1);
+            count--;
+            return true;
+        }
+        if (ordinal >= firstSlot.length || firstSlot[ordinal] < 0) {
+            return false;
+        }
+        unlinkSlot(firstSlot[ordinal]);
+        return true;
+    }
 }
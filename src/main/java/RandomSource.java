@@ -0,0 +1,73 @@
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The RandomSource interface supplies the random numbers used to shuffle.
+ * A deck can be given its own source, so parallel tables do not share
+ * one global generator, and a seeded source lets any game be replayed exactly.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public interface RandomSource {
+
+    /**
+     * Returns a random int between 0 (inclusive) and bound (exclusive).
+     *
+     * @param bound - the upper bound, must be positive
+     * @return the random int
+     */
+    int nextInt(int bound);
+
+    /**
+     * Returns a source backed by the calling thread's ThreadLocalRandom.
+     * This is the default for decks and never contends between threads.
+     *
+     * @return the thread-local random source
+     */
+    static RandomSource threadLocal() {
+        return bound -> ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    /**
+     * Returns a source backed by a SplittableRandom with the given seed.
+     * Two sources with the same seed produce the same shuffles.
+     * The returned source must only be used by one thread at a time.
+     *
+     * @param seed - the seed to start from
+     * @return the seeded random source
+     */
+    static RandomSource seeded(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return random::nextInt;
+    }
+
+    /**
+     * Derives the seed of an independent stream from a base seed and a stream index,
+     * so work split into numbered pieces can be replayed no matter how it was scheduled.
+     *
+     * @param seed  - the base seed
+     * @param index - the index of the stream
+     * @return the seed for that stream
+     */
+    static long streamSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns a source backed by the given Random.
+     *
+     * @param random - the Random to draw numbers from
+     * @return the random source
+     * @throws IllegalArgumentException if random is null
+     */
+    static RandomSource of(Random random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random cannot be null");
+        return random::nextInt;
+    }
+}
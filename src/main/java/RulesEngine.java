@@ -0,0 +1,355 @@
+/**
+ * The RulesEngine class plays games of any GameRules variant on one reusable
+ * table: a Deck, a DiscardPile and a seat of Players, all created once.
+ *
+ * A game is a small state machine. startGame() puts every card back into the
+ * deck in standard order and shuffles it lazily; each call to step() then
+ * deals, plays one turn, or finishes the game with the final scores. Between
+ * games the engine only resets its arrays, and once the deck and hands have
+ * grown to their working size a turn allocates nothing, so every variant runs
+ * on the same fast path. When metrics are enabled, every turn is recorded as
+ * a game round.
+ *
+ * An engine is not safe to use from several threads; give each thread its own.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class RulesEngine {
+    private static final int READY = 0;
+    private static final int DEAL = 1;
+    private static final int TURN = 2;
+    private static final int FINISH = 3;
+    private static final int DONE = 4;
+
+    private final GameRules rules;
+    private final Player[] seats;
+    private final Card[] played;
+    private final int[] turnsWon;
+    private final int[] scores;
+    private final Card[] standard = new Card[CardRegistry.STANDARD_SIZE];
+    private final Deck deck;
+    private final DiscardPile pile = new DiscardPile();
+    private final int cardsPerPlayer;
+    private SimulationResult recorder;
+    private int phase = READY;
+    private int turn;
+    private int turnWinner;
+    private int winner;
+
+    /**
+     * Constructs an engine that plays the given variant with the given number of players.
+     *
+     * @param rules       - the variant to play
+     * @param playerCount - the number of players at the table
+     * @throws IllegalArgumentException if rules is null, playerCount is less than 2,
+     *                                  or the deal needs more than 52 cards
+     */
+    public RulesEngine(GameRules rules, int playerCount) {
+        if (rules == null)
+            throw new IllegalArgumentException("Rules cannot be null");
+        if (playerCount < 2)
+            throw new IllegalArgumentException("Player count must be at least 2");
+        int cards = rules.cardsPerPlayer(playerCount);
+        if (cards < 0)
+            throw new IllegalArgumentException("Cards per player cannot be negative");
+        if ((long) cards * playerCount > CardRegistry.STANDARD_SIZE)
+            throw new IllegalArgumentException("Not enough cards to deal every player a hand");
+        this.rules = rules;
+        this.cardsPerPlayer = cards;
+        seats = new Player[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            seats[i] = new Player("Player " + (i + 1), 0);
+        }
+        played = new Card[playerCount];
+        turnsWon = new int[playerCount];
+        scores = new int[playerCount];
+        for (int i = 0; i < standard.length; i++) {
+            standard[i] = CardRegistry.standardCard(i);
+        }
+        deck = new Deck(standard.length, RandomSource.threadLocal());
+    }
+
+    /**
+     * Plays the games numbered from first (inclusive) to first + games (exclusive)
+     * on the current thread. Every game is shuffled from its own seed derived from
+     * the given seed and the game's number, so the same range and seed always give
+     * the same result.
+     *
+     * @param first - the number of the first game
+     * @param games - the number of games to play
+     * @param seed  - the seed the games are shuffled from
+     * @return the aggregate statistics, with one round per turn
+     * @throws IllegalArgumentException if first or games is negative
+     */
+    public SimulationResult run(long first, long games, long seed) {
+        if (first < 0)
+            throw new IllegalArgumentException("First game index cannot be negative");
+        if (games < 0)
+            throw new IllegalArgumentException("Game count cannot be negative");
+        SimulationResult result = new SimulationResult(seats.length);
+        recorder = result;
+        try {
+            for (long game = first; game < first + games; game++) {
+                playGame(RandomSource.seeded(RandomSource.streamSeed(seed, game)));
+            }
+        } finally {
+            recorder = null;
+        }
+        return result;
+    }
+
+    /**
+     * Plays a whole game, shuffled with the given source.
+     *
+     * @param random - the random source the deck is shuffled with
+     * @return the seat that won the game, or -1 if it was a tie
+     * @throws IllegalArgumentException if random is null
+     */
+    public int playGame(RandomSource random) {
+        startGame(random);
+        while (step()) {
+            // every step deals, plays a turn or scores the game
+        }
+        return winner;
+    }
+
+    /**
+     * Starts a new game: collects every card into the deck in standard order,
+     * empties the hands and the discard pile, and shuffles the deck lazily.
+     * Any game in progress is abandoned.
+     *
+     * @param random - the random source the deck is shuffled with
+     * @throws IllegalArgumentException if random is null
+     */
+    public void startGame(RandomSource random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        deck.setCards(standard, standard.length);
+        deck.shuffleLazily(random);
+        pile.clear();
+        for (int i = 0; i < seats.length; i++) {
+            seats[i].setHand(standard, 0);
+            played[i] = null;
+            turnsWon[i] = 0;
+            scores[i] = 0;
+        }
+        turn = 0;
+        turnWinner = -1;
+        winner = -1;
+        phase = DEAL;
+    }
+
+    /**
+     * Advances the game by one step: the deal, one turn, or the final scoring.
+     *
+     * @return true if the game goes on, false once it has been scored
+     * @throws IllegalStateException if no game has been started or the game is already over
+     */
+    public boolean step() {
+        switch (phase) {
+            case DEAL:
+                deck.deal(seats, cardsPerPlayer);
+                phase = TURN;
+                return true;
+            case TURN:
+                if (rules.isOver(turn, seats)) {
+                    phase = FINISH;
+                } else {
+                    playTurn();
+                }
+                return true;
+            case FINISH:
+                finish();
+                phase = DONE;
+                return false;
+            default:
+                throw new IllegalStateException("No game in progress");
+        }
+    }
+
+    private void playTurn() {
+        Metrics.GameRoundEvent round = Metrics.startRound();
+        for (int i = 0; i < seats.length; i++) {
+            played[i] = rules.play(seats[i]);
+        }
+        turnWinner = rules.turnWinner(played);
+        if (turnWinner >= 0) {
+            turnsWon[turnWinner]++;
+        }
+        rules.collect(played, turnWinner, seats, deck, pile);
+        turn++;
+        if (recorder != null) {
+            recorder.recordRound(turnWinner);
+        }
+        Metrics.stopRound(round, seats.length, turnWinner);
+    }
+
+    private void finish() {
+        int best = Integer.MIN_VALUE;
+        for (int i = 0; i < seats.length; i++) {
+            scores[i] = rules.finalScore(seats[i], turnsWon[i]);
+            if (scores[i] > best) {
+                best = scores[i];
+                winner = i;
+            } else if (scores[i] == best) {
+                winner = -1;
+            }
+        }
+        if (recorder != null) {
+            recorder.recordGame(scores);
+        }
+    }
+
+    /**
+     * Returns true if the current game has been scored.
+     *
+     * @return true if the game is over, false if it is still being played or was never started
+     */
+    public boolean isDone() {
+        return phase == DONE;
+    }
+
+    /**
+     * Returns the number of turns played so far in the current game.
+     *
+     * @return the turn count
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Returns the card the given seat played on the last turn.
+     *
+     * @param seat - the seat
+     * @return the card, or null if the seat sat out or no turn has been played
+     * @throws IllegalArgumentException if seat is out of range
+     */
+    public Card getPlayed(int seat) {
+        checkSeat(seat);
+        return played[seat];
+    }
+
+    /**
+     * Returns the seat that won the last turn.
+     *
+     * @return the seat, or -1 if nobody won it or no turn has been played
+     */
+    public int getTurnWinner() {
+        return turnWinner;
+    }
+
+    /**
+     * Returns the player in the given seat.
+     *
+     * @param seat - the seat
+     * @return the player
+     * @throws IllegalArgumentException if seat is out of range
+     */
+    public Player getPlayer(int seat) {
+        checkSeat(seat);
+        return seats[seat];
+    }
+
+    /**
+     * Returns the final score of the given seat in the last finished game.
+     *
+     * @param seat - the seat
+     * @return the score
+     * @throws IllegalArgumentException if seat is out of range
+     * @throws IllegalStateException if the current game has not been scored
+     */
+    public int getScore(int seat) {
+        checkSeat(seat);
+        if (phase != DONE)
+            throw new IllegalStateException("The game has not finished");
+        return scores[seat];
+    }
+
+    /**
+     * Returns the seat that won the last finished game.
+     *
+     * @return the seat, or -1 if the game was a tie
+     * @throws IllegalStateException if the current game has not been scored
+     */
+    public int getWinner() {
+        if (phase != DONE)
+            throw new IllegalStateException("The game has not finished");
+        return winner;
+    }
+
+    private void checkSeat(int seat) {
+        if (seat < 0 || seat >= seats.length)
+            throw new IllegalArgumentException("Seat must be between 0 and " + (seats.length - 1));
+    }
+
+    /**
+     * Returns the seat whose card is strictly better than every other card played,
+     * where better means higher, or lower for a lowball variant. Seats that sat
+     * out are skipped.
+     *
+     * @param played - the card each seat played, or null for a seat that sat out
+     * @param lowest - true if the lowest card wins
+     * @return the winning seat, or -1 if the best value was tied or nobody played
+     */
+    static int bestSeat(Card[] played, boolean lowest) {
+        int winner = -1;
+        int best = Integer.MIN_VALUE;
+        for (int i = 0; i < played.length; i++) {
+            if (played[i] == null) {
+                continue;
+            }
+            int value = lowest ? -played[i].getValue() : played[i].getValue();
+            if (value > best) {
+                best = value;
+                winner = i;
+            } else if (value == best) {
+                winner = -1;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Returns the rules of a variant named on the command line: "war" for War
+     * with at most 1000 turns, "lowball" for lowball, and anything else for
+     * High Card, both with 5 cards and 5 rounds.
+     *
+     * @param name - the variant's name
+     * @return the rules
+     */
+    static GameRules variant(String name) {
+        if (name.equalsIgnoreCase("war")) {
+            return new WarRules(1000);
+        }
+        if (name.equalsIgnoreCase("lowball")) {
+            return new LowballRules(5, 5);
+        }
+        return new HighCardRules(5, 5);
+    }
+
+    /**
+     * Plays many games of a variant and prints the statistics.
+     * Arguments are: the variant (highcard, lowball or war), games, players and an optional seed.
+     *
+     * @param args - the command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: RulesEngine <highcard|lowball|war> <games> <players> [seed]");
+            return;
+        }
+        long games = Long.parseLong(args[1]);
+        RulesEngine engine = new RulesEngine(variant(args[0]), Integer.parseInt(args[2]));
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        long start = System.nanoTime();
+        SimulationResult result = engine.run(0, games, seed);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(result);
+        System.out.println("Elapsed: " + elapsed / 1_000_000 + " ms");
+        if (Metrics.isEnabled()) {
+            System.out.print(Metrics.report());
+        }
+    }
+}
@@ -0,0 +1,429 @@
+/**
+ * The Shoe class is a Deck made of several standard 52-card decks, as used
+ * at casino tables. It has a cut card: once that many cards have been dealt
+ * since the last shuffle, isCutCardReached() returns true, and the dealer
+ * should finish the hand, gather the cards back and reshuffle before the next one.
+ * Reaching the cut card never reshuffles by itself, since the cards dealt may
+ * still be in the players' hands.
+ *
+ * The shoe never builds its cards up front. Each position in the shoe holds the
+ * ordinal of a standard card, and positions that have never been written stand
+ * for the unshuffled shoe, so a new shoe costs nothing to fill. The shuffle is
+ * done lazily: every draw performs the one Fisher-Yates swap that picks the card
+ * it deals, so dealing costs O(1) per card no matter how many decks the shoe holds.
+ *
+ * A shoe only ever holds cards that are really in it. Cards added with addCard go
+ * to the bottom, below every undealt card. Shuffling mixes the undealt cards and
+ * the added ones; reshuffle first returns the given cards to the shoe. Only
+ * standard cards can be returned, and never more than the shoe was built with.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class Shoe extends Deck {
+    private final int decks;
+    private final int total;
+    private final int cutPosition;
+    private final int[] positions;
+    private final boolean[] written;
+    // Positions below dealt hold cards that are out of the shoe
+    private int dealt;
+    private int dealtSinceShuffle;
+    private boolean settled;
+    private RandomSource random;
+    // Receives each added card drawn one at a time
+    private final Card[] oneCard = new Card[1];
+
+    /**
+     * Creates a shuffled shoe of the given number of decks.
+     *
+     * @param decks       - the number of standard decks in the shoe
+     * @param cutPosition - the number of cards dealt before the cut card comes out
+     * @throws IllegalArgumentException if decks is less than 1, or cutPosition
+     *                                  is less than 1 or more than the cards in the shoe
+     */
+    public Shoe(int decks, int cutPosition) {
+        this(decks, cutPosition, RandomSource.threadLocal());
+    }
+
+    /**
+     * Creates a shuffled shoe of the given number of decks that shuffles with the given source.
+     *
+     * @param decks       - the number of standard decks in the shoe
+     * @param cutPosition - the number of cards dealt before the cut card comes out
+     * @param random      - the random source used to shuffle the shoe
+     * @throws IllegalArgumentException if decks is less than 1, cutPosition is less
+     *                                  than 1 or more than the cards in the shoe, or
+     *                                  random is null
+     */
+    public Shoe(int decks, int cutPosition, RandomSource random) {
+        super(0, random);
+        if (decks < 1)
+            throw new IllegalArgumentException("A shoe needs at least one deck");
+        if ((long) decks * CardRegistry.STANDARD_SIZE > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many decks in the shoe");
+        this.decks = decks;
+        this.total = decks * CardRegistry.STANDARD_SIZE;
+        if (cutPosition < 1 || cutPosition > total)
+            throw new IllegalArgumentException("Cut position must be between 1 and " + total);
+        this.cutPosition = cutPosition;
+        this.random = random;
+        positions = new int[total];
+        written = new boolean[total];
+    }
+
+    /**
+     * Returns the number of standard decks in the shoe.
+     *
+     * @return the deck count
+     */
+    public int getDecks() {
+        return decks;
+    }
+
+    /**
+     * Returns the number of cards dealt after a shuffle before the cut card comes out.
+     *
+     * @return the cut card position
+     */
+    public int getCutPosition() {
+        return cutPosition;
+    }
+
+    /**
+     * Returns true once the cut card has come out, meaning at least getCutPosition()
+     * cards have been dealt since the shoe was last shuffled. The shoe keeps
+     * dealing until it is shuffled again.
+     *
+     * @return true if the shoe is due to be gathered and reshuffled
+     */
+    public boolean isCutCardReached() {
+        return dealtSinceShuffle >= cutPosition;
+    }
+
+    /**
+     * Returns the number of cards left in the shoe, including added cards.
+     *
+     * @return the size of the shoe
+     */
+    @Override
+    public int size() {
+        return total - dealt + super.size();
+    }
+
+    /**
+     * Removes and returns the top card of the shoe. Once the undealt cards run
+     * out, the added cards are dealt from the bottom of the shoe.
+     *
+     * @return the top card, or null if the shoe is empty
+     */
+    @Override
+    public Card draw() {
+        Metrics.CardOperationEvent timing = Metrics.start();
+        Card top = takeTop();
+        Metrics.stop(Metrics.Operation.DECK_DRAW, timing);
+        return top;
+    }
+
+    /**
+     * Removes and returns the top card, doing one step of the pending shuffle.
+     *
+     * @return the top card, or null if the shoe is empty
+     */
+    private Card takeTop() {
+        if (dealt == total) {
+            if (super.draw(oneCard, 0, 1) == 0) {
+                return null;
+            }
+            dealtSinceShuffle++;
+            Card added = oneCard[0];
+            oneCard[0] = null;
+            return added;
+        }
+        int i = dealt;
+        int pick = settled ? i : i + random.nextInt(total - i);
+        int card = positionAt(pick);
+        if (pick != i) {
+            setPosition(pick, positionAt(i));
+        }
+        setPosition(i, card);
+        dealt++;
+        dealtSinceShuffle++;
+        return CardRegistry.standardCard(card);
+    }
+
+    /**
+     * Removes up to n cards from the top of the shoe into the buffer, top card first.
+     * Once the undealt cards run out, the added cards are moved with one bulk draw.
+     *
+     * @param buffer - the array to draw into
+     * @param offset - the index in buffer where the first card goes
+     * @param n      - the most cards to draw
+     * @return the number of cards drawn, which is less than n if the shoe runs out
+     * @throws IllegalArgumentException if buffer is null, n is negative, or the
+     *                                  range does not fit in the buffer
+     */
+    @Override
+    public int draw(Card[] buffer, int offset, int n) {
+        checkRange(buffer, offset, n);
+        int drawn = 0;
+        while (drawn < n && dealt < total) {
+            buffer[offset + drawn++] = takeTop();
+        }
+        if (drawn < n) {
+            int added = super.draw(buffer, offset + drawn, n - drawn);
+            dealtSinceShuffle += added;
+            drawn += added;
+        }
+        return drawn;
+    }
+
+    /**
+     * Shuffles the undealt and added cards together and puts the cut card back in.
+     */
+    @Override
+    public void shuffle() {
+        Metrics.CardOperationEvent timing = Metrics.start();
+        restart();
+        Metrics.stop(Metrics.Operation.DECK_SHUFFLE, timing);
+    }
+
+    /**
+     * Shuffles the undealt and added cards together with the given source,
+     * which the shoe keeps using until it is given another one.
+     *
+     * @param random - the random source to shuffle with
+     * @throws IllegalArgumentException if random is null
+     */
+    @Override
+    public void shuffle(RandomSource random) {
+        if (random == null)
+            throw new IllegalArgumentException("Random source cannot be null");
+        this.random = random;
+        shuffle();
+    }
+
+    /**
+     * Shuffles the shoe. A shoe is always shuffled lazily, so this is the same as shuffle().
+     */
+    @Override
+    public void shuffleLazily() {
+        shuffle();
+    }
+
+    /**
+     * Shuffles the shoe with the given source. A shoe is always shuffled lazily,
+     * so this is the same as shuffle(RandomSource).
+     *
+     * @param random - the random source to shuffle with
+     * @throws IllegalArgumentException if random is null
+     */
+    @Override
+    public void shuffleLazily(RandomSource random) {
+        shuffle(random);
+    }
+
+    /**
+     * Adds a card that was dealt from the shoe back to its bottom.
+     *
+     * @param card - the card to add
+     * @throws NullPointerException if card is null
+     * @throws IllegalArgumentException if card is not a standard card
+     * @throws IllegalStateException if the shoe already holds every card it was built with
+     */
+    @Override
+    public void addCard(Card card) {
+        if (card == null) {
+            throw new NullPointerException("Cannot add null card to deck");
+        }
+        checkReturnable(card, 1);
+        super.addCard(card);
+    }
+
+    /**
+     * Returns the given cards to the shoe and shuffles them in with the undealt and added cards.
+     * Null entries are skipped.
+     *
+     * @param cardArray - the cards being returned to the shoe
+     * @throws NullPointerException if cardArray is null
+     * @throws IllegalArgumentException if a card is not a standard card
+     * @throws IllegalStateException if the shoe would hold more cards than it was built with
+     */
+    @Override
+    public void reshuffle(Card[] cardArray) {
+        if (cardArray == null)
+            throw new NullPointerException("Card array cannot be null");
+        Metrics.CardOperationEvent timing = Metrics.start();
+        gather(cardArray, cardArray.length);
+        restart();
+        Metrics.stop(Metrics.Operation.DECK_RESHUFFLE, timing);
+    }
+
+    /**
+     * Returns every card in the discard pile to the shoe, emptying the pile,
+     * and shuffles them in with the undealt and added cards.
+     *
+     * @param pile - the discard pile to recycle
+     * @throws NullPointerException if pile is null
+     * @throws IllegalArgumentException if the pile holds a card that is not a standard card
+     * @throws IllegalStateException if the shoe would hold more cards than it was built with
+     */
+    @Override
+    public void reshuffle(DiscardPile pile) {
+        if (pile == null)
+            throw new NullPointerException("Discard pile cannot be null");
+        Metrics.CardOperationEvent timing = Metrics.start();
+        gather(pile.compactedSlots(), pile.size());
+        pile.clear();
+        restart();
+        Metrics.stop(Metrics.Operation.DECK_RESHUFFLE, timing);
+    }
+
+    /**
+     * Returns the undealt cards, top first, followed by any added cards in list form.
+     * This completes the pending shuffle of the undealt cards.
+     *
+     * @return a string showing all cards in the shoe
+     */
+    @Override
+    public String toString() {
+        settle();
+        StringBuilder sb = new StringBuilder("[");
+        int n = size();
+        for (int i = 0; i < n; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(cardAt(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Returns the card at the given position, where 0 is the top of the shoe.
+     * This completes the pending shuffle of the undealt cards.
+     *
+     * @param index - the position, between 0 and size() - 1
+     * @return the card at that position
+     */
+    @Override
+    Card cardAt(int index) {
+        settle();
+        int undealt = total - dealt;
+        if (index < undealt) {
+            return CardRegistry.standardCard(positionAt(dealt + index));
+        }
+        return super.cardAt(index - undealt);
+    }
+
+    /**
+     * Replaces the contents of the shoe with the first n cards of the array, top
+     * card first, and treats every other card as dealt. The order is kept.
+     *
+     * @param source - the cards to load, which must be standard cards
+     * @param n      - the number of cards to load, at most the cards the shoe was built with
+     * @throws IllegalArgumentException if a card is not a standard card or n is too large
+     */
+    @Override
+    void setCards(Card[] source, int n) {
+        if (n > total)
+            throw new IllegalArgumentException("A shoe of " + decks + " decks holds at most " + total + " cards");
+        for (int i = 0; i < n; i++) {
+            if (!CardRegistry.isStandard(source[i]))
+                throw new IllegalArgumentException("Only standard cards can go into a shoe");
+        }
+        super.setCards(source, 0);
+        dealt = total - n;
+        for (int i = 0; i < n; i++) {
+            setPosition(dealt + i, source[i].getOrdinal());
+        }
+        dealtSinceShuffle = 0;
+        settled = true;
+    }
+
+    /**
+     * Checks that the given number of cards like card can be returned to the shoe.
+     *
+     * @param card  - a card being returned
+     * @param count - the number of cards being returned
+     * @throws IllegalArgumentException if card is not a standard card
+     * @throws IllegalStateException if the shoe would hold more cards than it was built with
+     */
+    private void checkReturnable(Card card, int count) {
+        if (!CardRegistry.isStandard(card))
+            throw new IllegalArgumentException("Only standard cards can go into a shoe");
+        if (super.size() + count > dealt)
+            throw new IllegalStateException("The shoe already holds every card it was built with");
+    }
+
+    /**
+     * Checks every card first, then adds the non-null ones to the bottom of the shoe.
+     *
+     * @param cards - the cards being returned
+     * @param n     - the number of entries of cards to use
+     */
+    private void gather(Card[] cards, int n) {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (cards[i] != null) {
+                count++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (cards[i] != null) {
+                checkReturnable(cards[i], count);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (cards[i] != null) {
+                super.addCard(cards[i]);
+            }
+        }
+    }
+
+    /**
+     * Moves the added cards into the positions of dealt cards, marks every
+     * card in the shoe as shuffled pending and puts the cut card back in.
+     */
+    private void restart() {
+        Card[] added = new Card[super.size()];
+        super.draw(added, 0, added.length);
+        for (Card c : added) {
+            dealt--;
+            setPosition(dealt, c.getOrdinal());
+        }
+        dealtSinceShuffle = 0;
+        settled = false;
+    }
+
+    /**
+     * Performs all remaining Fisher-Yates swaps, so the order of every
+     * undealt position is fixed.
+     */
+    private void settle() {
+        if (settled) {
+            return;
+        }
+        for (int i = dealt; i < total - 1; i++) {
+            int j = i + random.nextInt(total - i);
+            int swapped = positionAt(j);
+            setPosition(j, positionAt(i));
+            setPosition(i, swapped);
+        }
+        settled = true;
+    }
+
+    /**
+     * Returns the ordinal of the card at the given position.
+     *
+     * @param i - the position
+     * @return the card's ordinal
+     */
+    private int positionAt(int i) {
+        return written[i] ? positions[i] : i % CardRegistry.STANDARD_SIZE;
+    }
+
+    private void setPosition(int i, int ordinal) {
+        positions[i] = ordinal;
+        written[i] = true;
+    }
+}
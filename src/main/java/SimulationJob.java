@@ -0,0 +1,271 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The SimulationJob class runs a long simulation of a GameRules variant in
+ * numbered chunks of games and checkpoints its progress to a file, so a run
+ * that is stopped or crashes can carry on where it left off.
+ *
+ * Every game is shuffled from a seed derived from the job seed and the game's
+ * number, exactly as RulesEngine.run does, so a chunk always plays the same
+ * games. Chunks are played a wave at a time on a fork/join pool, and after any
+ * wave that ends more than the checkpoint interval after the last checkpoint,
+ * the statistics so far and the number of the next chunk are written to a
+ * temporary file, forced to disk and moved over the checkpoint file in one
+ * atomic rename. The checkpoint file therefore always holds a whole, consistent
+ * state. A job started with an existing checkpoint resumes from it, and gives
+ * the same final result, bit for bit, as a run that was never interrupted.
+ *
+ * The checkpoint records the job seed, game count, chunk size, player count and
+ * the class of the rules, and a job refuses to resume from a checkpoint that does
+ * not match. Rules with settings, such as a hand size, must be given the same
+ * settings again. Once a job finishes, its checkpoint holds the final result.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class SimulationJob {
+    /** The first four bytes of every checkpoint file. */
+    static final int MAGIC = 0x48434B31;
+    /** The format version written in every checkpoint. */
+    static final short VERSION = 1;
+
+    private static final long DEFAULT_CHECKPOINT_MILLIS = 30_000;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final GameRules rules;
+    private final int playerCount;
+    private final long games;
+    private final long seed;
+    private final int chunkSize;
+    private final Path checkpoint;
+    private final long checkpointMillis;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a job that checkpoints every 30 seconds and runs on the common pool.
+     *
+     * @param rules       - the variant to play, which must not keep any state between calls
+     * @param playerCount - the number of players at each game
+     * @param games       - the total number of games to play
+     * @param seed        - the seed every game is shuffled from
+     * @param chunkSize   - the number of games in each chunk
+     * @param checkpoint  - the checkpoint file, which is resumed from if it exists
+     * @throws IllegalArgumentException if rules or checkpoint is null, the rules cannot
+     *                                  be played by playerCount players, games is negative,
+     *                                  or chunkSize is less than 1
+     */
+    public SimulationJob(GameRules rules, int playerCount, long games, long seed, int chunkSize, Path checkpoint) {
+        this(rules, playerCount, games, seed, chunkSize, checkpoint, DEFAULT_CHECKPOINT_MILLIS,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a job with the given checkpoint interval and pool.
+     *
+     * @param rules            - the variant to play, which must not keep any state between calls
+     * @param playerCount      - the number of players at each game
+     * @param games            - the total number of games to play
+     * @param seed             - the seed every game is shuffled from
+     * @param chunkSize        - the number of games in each chunk
+     * @param checkpoint       - the checkpoint file, which is resumed from if it exists
+     * @param checkpointMillis - the least time between checkpoints, in milliseconds
+     * @param pool             - the pool the chunks are played on
+     * @throws IllegalArgumentException if rules, checkpoint or pool is null, the rules
+     *                                  cannot be played by playerCount players, games or
+     *                                  checkpointMillis is negative, or chunkSize is less than 1
+     */
+    public SimulationJob(GameRules rules, int playerCount, long games, long seed, int chunkSize, Path checkpoint,
+            long checkpointMillis, ForkJoinPool pool) {
+        if (rules == null)
+            throw new IllegalArgumentException("Rules cannot be null");
+        if (playerCount < 2)
+            throw new IllegalArgumentException("Player count must be at least 2");
+        if ((long) rules.cardsPerPlayer(playerCount) * playerCount > CardRegistry.STANDARD_SIZE)
+            throw new IllegalArgumentException("Not enough cards to deal every player a hand");
+        if (games < 0)
+            throw new IllegalArgumentException("Game count cannot be negative");
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        if (checkpoint == null)
+            throw new IllegalArgumentException("Checkpoint path cannot be null");
+        if (checkpointMillis < 0)
+            throw new IllegalArgumentException("Checkpoint interval cannot be negative");
+        if (pool == null)
+            throw new IllegalArgumentException("Pool cannot be null");
+        this.rules = rules;
+        this.playerCount = playerCount;
+        this.games = games;
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+        this.checkpoint = checkpoint;
+        this.checkpointMillis = checkpointMillis;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays every chunk not yet covered by the checkpoint, checkpointing as it goes,
+     * and returns the statistics of the whole job.
+     *
+     * @return the aggregate statistics of every game in the job
+     * @throws IOException if the checkpoint cannot be read or written, or belongs to a different job
+     */
+    public SimulationResult run() throws IOException {
+        long chunks = (games + chunkSize - 1) / chunkSize;
+        SimulationResult total = new SimulationResult(playerCount);
+        long next = load(total);
+        long wave = (long) pool.getParallelism() * CHUNKS_PER_THREAD;
+        long lastSave = System.nanoTime();
+        while (next < chunks) {
+            long end = Math.min(chunks, next + wave);
+            total.merge(pool.invoke(new ChunkRange(next, end)));
+            next = end;
+            if (next == chunks || System.nanoTime() - lastSave >= checkpointMillis * 1_000_000) {
+                save(total, next);
+                lastSave = System.nanoTime();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Plays one chunk on the current thread.
+     *
+     * @param chunk - the number of the chunk
+     * @return the chunk's statistics
+     */
+    private SimulationResult playChunk(long chunk) {
+        long first = chunk * chunkSize;
+        return new RulesEngine(rules, playerCount).run(first, Math.min(chunkSize, games - first), seed);
+    }
+
+    /**
+     * A fork/join task that plays a range of chunks.
+     */
+    private final class ChunkRange extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        ChunkRange(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from == 1) {
+                return playChunk(from);
+            }
+            long mid = from + (to - from) / 2;
+            ChunkRange left = new ChunkRange(from, mid);
+            left.fork();
+            SimulationResult right = new ChunkRange(mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Loads the checkpoint, if there is one, into total.
+     *
+     * @param total - the empty result to load the saved statistics into
+     * @return the number of the next chunk to play
+     * @throws IOException if the checkpoint cannot be read, is damaged, or belongs to a different job
+     */
+    private long load(SimulationResult total) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(checkpoint);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (bytes.length < Integer.BYTES + Short.BYTES + Short.BYTES || in.getInt() != MAGIC
+                || in.getShort() != VERSION)
+            throw new IOException("Not a simulation checkpoint: " + checkpoint);
+        int nameLength = in.getShort() & 0xFFFF;
+        if (nameLength > in.remaining())
+            throw new IOException("Not a simulation checkpoint: " + checkpoint);
+        byte[] savedName = new byte[nameLength];
+        if (bytes.length != headerSize(savedName) + Long.BYTES + SimulationResult.byteSize(playerCount))
+            throw new IOException("Checkpoint belongs to a different job: " + checkpoint);
+        in.get(savedName);
+        if (!Arrays.equals(savedName, rulesName()) || in.getInt() != playerCount || in.getLong() != games
+                || in.getLong() != seed || in.getInt() != chunkSize)
+            throw new IOException("Checkpoint belongs to a different job: " + checkpoint);
+        long next = in.getLong();
+        total.merge(SimulationResult.readFrom(in, playerCount));
+        return next;
+    }
+
+    /**
+     * Writes the statistics and the next chunk to a temporary file, forces it to
+     * disk and renames it over the checkpoint file.
+     *
+     * @param total - the statistics of every chunk before next
+     * @param next  - the number of the next chunk to play
+     * @throws IOException if the checkpoint cannot be written
+     */
+    private void save(SimulationResult total, long next) throws IOException {
+        byte[] rulesName = rulesName();
+        ByteBuffer out = ByteBuffer.allocate(headerSize(rulesName) + Long.BYTES
+                + SimulationResult.byteSize(playerCount));
+        out.putInt(MAGIC).putShort(VERSION).putShort((short) rulesName.length).put(rulesName)
+                .putInt(playerCount).putLong(games).putLong(seed).putInt(chunkSize).putLong(next);
+        total.writeTo(out);
+        out.flip();
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private byte[] rulesName() {
+        return rules.getClass().getName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int headerSize(byte[] rulesName) {
+        return Integer.BYTES + Short.BYTES + Short.BYTES + rulesName.length
+                + Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+    }
+
+    /**
+     * Runs a checkpointed simulation and prints the statistics. Running it again with
+     * the same arguments after it was stopped resumes from the checkpoint.
+     * Arguments are: the variant (highcard, lowball or war), games, players, seed and checkpoint file.
+     * The variants are set up as in RulesEngine.main.
+     *
+     * @param args - the command line arguments
+     * @throws IOException if the checkpoint cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.out.println("Usage: SimulationJob <highcard|lowball|war> <games> <players> <seed> <checkpoint>");
+            return;
+        }
+        SimulationJob job = new SimulationJob(RulesEngine.variant(args[0]), Integer.parseInt(args[2]), Long.parseLong(args[1]),
+                Long.parseLong(args[3]), 100_000, Paths.get(args[4]));
+        long start = System.nanoTime();
+        SimulationResult result = job.run();
+        long elapsed = System.nanoTime() - start;
+        System.out.println(result);
+        System.out.println("Elapsed: " + elapsed / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,277 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The SimulationResult class holds the aggregate statistics of many
+ * High Card games played by the same number of players.
+ * Results from separate batches of games can be merged together.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class SimulationResult {
+    private final int playerCount;
+    private long games;
+    private long gameTies;
+    private long rounds;
+    private long roundTies;
+    private final long[] gameWins;
+    private final long[] roundWins;
+    private final long[] points;
+
+    /**
+     * Constructs an empty result for the given number of players.
+     *
+     * @param playerCount - the number of seats at each game
+     * @throws IllegalArgumentException if playerCount is less than 1
+     */
+    public SimulationResult(int playerCount) {
+        if (playerCount < 1)
+            throw new IllegalArgumentException("Player count must be at least 1");
+        this.playerCount = playerCount;
+        gameWins = new long[playerCount];
+        roundWins = new long[playerCount];
+        points = new long[playerCount];
+    }
+
+    /**
+     * Records the outcome of one round.
+     *
+     * @param winner - the seat that won the round, or -1 for a tie
+     */
+    void recordRound(int winner) {
+        rounds++;
+        if (winner < 0) {
+            roundTies++;
+        } else {
+            roundWins[winner]++;
+        }
+    }
+
+    /**
+     * Records the final points of one game.
+     * The seat with strictly the most points wins the game; otherwise it is a tie.
+     *
+     * @param gamePoints - the points each seat scored, in seat order
+     */
+    void recordGame(int[] gamePoints) {
+        games++;
+        int winner = -1;
+        int best = -1;
+        for (int i = 0; i < playerCount; i++) {
+            points[i] += gamePoints[i];
+            if (gamePoints[i] > best) {
+                best = gamePoints[i];
+                winner = i;
+            } else if (gamePoints[i] == best) {
+                winner = -1;
+            }
+        }
+        if (winner < 0) {
+            gameTies++;
+        } else {
+            gameWins[winner]++;
+        }
+    }
+
+    /**
+     * Records many rounds at once, where every round won is worth one point.
+     *
+     * @param count - the number of rounds
+     * @param ties  - how many of them were ties
+     * @param wins  - the rounds won by each seat, in seat order
+     */
+    void recordRounds(long count, long ties, long[] wins) {
+        rounds += count;
+        roundTies += ties;
+        for (int i = 0; i < playerCount; i++) {
+            roundWins[i] += wins[i];
+            points[i] += wins[i];
+        }
+    }
+
+    /**
+     * Records the outcomes of many games at once.
+     *
+     * @param count - the number of games
+     * @param ties  - how many of them ended without a single winner
+     * @param wins  - the games won by each seat, in seat order
+     */
+    void recordGames(long count, long ties, long[] wins) {
+        games += count;
+        gameTies += ties;
+        for (int i = 0; i < playerCount; i++) {
+            gameWins[i] += wins[i];
+        }
+    }
+
+    /**
+     * Returns the number of bytes writeTo uses for a result with the given number of players.
+     *
+     * @param playerCount - the number of seats
+     * @return the size in bytes
+     */
+    static int byteSize(int playerCount) {
+        return (4 + 3 * playerCount) * Long.BYTES;
+    }
+
+    /**
+     * Writes every statistic into the buffer, to be read back with readFrom.
+     *
+     * @param out - the buffer to write to, with at least byteSize(getPlayerCount()) bytes left
+     */
+    void writeTo(ByteBuffer out) {
+        out.putLong(games).putLong(gameTies).putLong(rounds).putLong(roundTies);
+        for (int i = 0; i < playerCount; i++) {
+            out.putLong(gameWins[i]).putLong(roundWins[i]).putLong(points[i]);
+        }
+    }
+
+    /**
+     * Reads a result written by writeTo.
+     *
+     * @param in          - the buffer to read from
+     * @param playerCount - the number of seats the result was written with
+     * @return the result
+     */
+    static SimulationResult readFrom(ByteBuffer in, int playerCount) {
+        SimulationResult result = new SimulationResult(playerCount);
+        result.games = in.getLong();
+        result.gameTies = in.getLong();
+        result.rounds = in.getLong();
+        result.roundTies = in.getLong();
+        for (int i = 0; i < playerCount; i++) {
+            result.gameWins[i] = in.getLong();
+            result.roundWins[i] = in.getLong();
+            result.points[i] = in.getLong();
+        }
+        return result;
+    }
+
+    /**
+     * Adds all of the statistics in other into this result.
+     *
+     * @param other - the result to merge in
+     * @return this result
+     * @throws IllegalArgumentException if other is null or has a different player count
+     */
+    public SimulationResult merge(SimulationResult other) {
+        if (other == null)
+            throw new IllegalArgumentException("Result cannot be null");
+        if (other.playerCount != playerCount)
+            throw new IllegalArgumentException("Cannot merge results with different player counts");
+        games += other.games;
+        gameTies += other.gameTies;
+        rounds += other.rounds;
+        roundTies += other.roundTies;
+        for (int i = 0; i < playerCount; i++) {
+            gameWins[i] += other.gameWins[i];
+            roundWins[i] += other.roundWins[i];
+            points[i] += other.points[i];
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of seats at each game.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games that ended without a single winner.
+     *
+     * @return the tied game count
+     */
+    public long getGameTies() {
+        return gameTies;
+    }
+
+    /**
+     * Returns the number of rounds played across all games.
+     *
+     * @return the round count
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the number of rounds that ended in a tie.
+     *
+     * @return the tied round count
+     */
+    public long getRoundTies() {
+        return roundTies;
+    }
+
+    /**
+     * Returns the number of games won by the given seat.
+     *
+     * @param seat - the seat index
+     * @return the games won
+     */
+    public long getGameWins(int seat) {
+        return gameWins[seat];
+    }
+
+    /**
+     * Returns the number of rounds won by the given seat.
+     *
+     * @param seat - the seat index
+     * @return the rounds won
+     */
+    public long getRoundWins(int seat) {
+        return roundWins[seat];
+    }
+
+    /**
+     * Returns the total points scored by the given seat.
+     *
+     * @param seat - the seat index
+     * @return the total points
+     */
+    public long getPoints(int seat) {
+        return points[seat];
+    }
+
+    /**
+     * Returns the fraction of games won by the given seat.
+     *
+     * @param seat - the seat index
+     * @return the win rate, or 0 if no games were played
+     */
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) gameWins[seat] / games;
+    }
+
+    /**
+     * Returns a summary of the games, ties, and each seat's wins and points.
+     *
+     * @return the formatted statistics
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Games: ").append(games).append(", ties: ").append(gameTies);
+        sb.append("\nRounds: ").append(rounds).append(", ties: ").append(roundTies);
+        for (int i = 0; i < playerCount; i++) {
+            sb.append("\nSeat ").append(i + 1)
+                    .append(": game wins ").append(gameWins[i])
+                    .append(", round wins ").append(roundWins[i])
+                    .append(", points ").append(points[i]);
+        }
+        return sb.toString();
+    }
+}
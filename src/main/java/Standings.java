@@ -0,0 +1,223 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The Standings class holds the running results of a tournament for every entrant:
+ * matches won, drawn and lost, and the High Card rounds won across all matches.
+ *
+ * A match win is worth 2 points, a draw 1 and a loss 0. Entrants are ranked by
+ * points, then by rounds won, then by entry order. Every counter is updated with
+ * its own atomic add as each match finishes, so matches running on many threads
+ * record their results without any shared lock.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class Standings {
+    private static final int WIN_POINTS = 2;
+    private static final int DRAW_POINTS = 1;
+
+    private final Player[] players;
+    private final AtomicIntegerArray wins;
+    private final AtomicIntegerArray draws;
+    private final AtomicIntegerArray losses;
+    private final AtomicLongArray roundsWon;
+
+    /**
+     * Constructs empty standings for the given entrants.
+     *
+     * @param players - the entrants, in entry order
+     */
+    Standings(Player[] players) {
+        this.players = players;
+        wins = new AtomicIntegerArray(players.length);
+        draws = new AtomicIntegerArray(players.length);
+        losses = new AtomicIntegerArray(players.length);
+        roundsWon = new AtomicLongArray(players.length);
+    }
+
+    /**
+     * Records the result of one match.
+     *
+     * @param a       - the entry index of the first player
+     * @param b       - the entry index of the second player
+     * @param pointsA - the rounds the first player won
+     * @param pointsB - the rounds the second player won
+     */
+    void recordMatch(int a, int b, int pointsA, int pointsB) {
+        if (pointsA > pointsB) {
+            wins.incrementAndGet(a);
+            losses.incrementAndGet(b);
+        } else if (pointsB > pointsA) {
+            wins.incrementAndGet(b);
+            losses.incrementAndGet(a);
+        } else {
+            draws.incrementAndGet(a);
+            draws.incrementAndGet(b);
+        }
+        roundsWon.addAndGet(a, pointsA);
+        roundsWon.addAndGet(b, pointsB);
+    }
+
+    /**
+     * Records a bye, which counts as a match win with no rounds played.
+     *
+     * @param a - the entry index of the player given the bye
+     */
+    void recordBye(int a) {
+        wins.incrementAndGet(a);
+    }
+
+    /**
+     * Returns the number of entrants.
+     *
+     * @return the entrant count
+     */
+    public int size() {
+        return players.length;
+    }
+
+    /**
+     * Returns the entrant with the given entry index.
+     *
+     * @param index - the entry index
+     * @return the player
+     * @throws IllegalArgumentException if index is out of range
+     */
+    public Player getPlayer(int index) {
+        checkIndex(index);
+        return players[index];
+    }
+
+    /**
+     * Returns the number of matches the entrant has won, including byes.
+     *
+     * @param index - the entry index
+     * @return the win count
+     * @throws IllegalArgumentException if index is out of range
+     */
+    public int getWins(int index) {
+        checkIndex(index);
+        return wins.get(index);
+    }
+
+    /**
+     * Returns the number of matches the entrant has drawn.
+     *
+     * @param index - the entry index
+     * @return the draw count
+     * @throws IllegalArgumentException if index is out of range
+     */
+    public int getDraws(int index) {
+        checkIndex(index);
+        return draws.get(index);
+    }
+
+    /**
+     * Returns the number of matches the entrant has lost.
+     *
+     * @param index - the entry index
+     * @return the loss count
+     * @throws IllegalArgumentException if index is out of range
+     */
+    public int getLosses(int index) {
+        checkIndex(index);
+        return losses.get(index);
+    }
+
+    /**
+     * Returns the entrant's tournament points: 2 for each win and 1 for each draw.
+     *
+     * @param index - the entry index
+     * @return the points
+     * @throws IllegalArgumentException if index is out of range
+     */
+    public int getPoints(int index) {
+        checkIndex(index);
+        return wins.get(index) * WIN_POINTS + draws.get(index) * DRAW_POINTS;
+    }
+
+    /**
+     * Returns the number of High Card rounds the entrant has won across all matches.
+     *
+     * @param index - the entry index
+     * @return the round count
+     * @throws IllegalArgumentException if index is out of range
+     */
+    public long getRoundsWon(int index) {
+        checkIndex(index);
+        return roundsWon.get(index);
+    }
+
+    /**
+     * Returns the entry indices of every entrant, best first.
+     *
+     * @return the ranking
+     */
+    public int[] getRanking() {
+        int n = players.length;
+        long[] keys = new long[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            keys[i] = rankKey(i);
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> keys[i]).reversed()
+                .thenComparingInt(i -> i));
+        int[] ranking = new int[n];
+        for (int i = 0; i < n; i++) {
+            ranking[i] = order[i];
+        }
+        return ranking;
+    }
+
+    /**
+     * Returns one line per entrant, best first, in the form
+     * "1. Alice: 14 pts (7-0-0), 29 rounds".
+     *
+     * @return the standings table
+     */
+    @Override
+    public String toString() {
+        return toString(players.length);
+    }
+
+    /**
+     * Returns the lines of the standings table for the best entrants only.
+     *
+     * @param limit - the most entrants to list
+     * @return the top of the standings table
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public String toString(int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Limit cannot be negative");
+        StringBuilder sb = new StringBuilder();
+        int[] ranking = getRanking();
+        for (int r = 0; r < Math.min(limit, ranking.length); r++) {
+            int i = ranking[r];
+            sb.append(r + 1).append(". ").append(players[i].getName()).append(": ")
+                    .append(getPoints(i)).append(" pts (").append(wins.get(i)).append('-')
+                    .append(draws.get(i)).append('-').append(losses.get(i)).append("), ")
+                    .append(roundsWon.get(i)).append(" rounds\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a key that orders entrants by points and then rounds won.
+     *
+     * @param index - the entry index
+     * @return the sort key, higher is better
+     */
+    private long rankKey(int index) {
+        return ((long) getPoints(index) << 40) + roundsWon.get(index);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= players.length)
+            throw new IllegalArgumentException("Entry index must be between 0 and " + (players.length - 1));
+    }
+}
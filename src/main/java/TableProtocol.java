@@ -0,0 +1,127 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The TableProtocol class defines the binary wire protocol spoken between a
+ * TableServer and its clients.
+ *
+ * Every message is a frame of one length byte, counting the bytes after it,
+ * then one type byte and the payload. Cards are sent as their standard ordinal
+ * in a single byte and seats as a single byte, so the largest frame is a few
+ * dozen bytes.
+ *
+ * A client only ever sends READY. The server sends SEATED once a table has
+ * all its players; after every player has sent READY it deals a game (DEALT),
+ * and after the next READY from every player it plays a round (ROUND). The
+ * last ROUND of a game is followed by GAME_OVER, and the next READY from
+ * every player deals a new game.
+ *
+ * <pre>
+ * READY     (client)  -
+ * SEATED    (server)  table id (int), seat, players
+ * DEALT     (server)  hand size, then one card per hand card, top of the hand first
+ * ROUND     (server)  round number, rounds left, winning seat or -1, then one card per seat
+ * GAME_OVER (server)  winning seat or -1, then one score per seat
+ * </pre>
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public final class TableProtocol {
+    /** Sent by a client when it is ready for the next deal or round. */
+    public static final byte READY = 1;
+    /** Sent by the server when a table is formed. */
+    public static final byte SEATED = 2;
+    /** Sent by the server with a player's new hand. */
+    public static final byte DEALT = 3;
+    /** Sent by the server with the cards and the winner of a round. */
+    public static final byte ROUND = 4;
+    /** Sent by the server with the final scores of a game. */
+    public static final byte GAME_OVER = 5;
+
+    /** The largest frame, including the length byte. */
+    static final int MAX_FRAME = 1 + 255;
+
+    private TableProtocol() {
+    }
+
+    /**
+     * Returns the length of the complete frame at the buffer's position,
+     * including the length byte, without moving the position.
+     *
+     * @param in - the buffer holding received bytes, ready to be read
+     * @return the frame length, or -1 if the whole frame has not arrived yet
+     */
+    static int frameLength(ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            return -1;
+        }
+        int length = 1 + (in.get(in.position()) & 0xFF);
+        return in.remaining() >= length ? length : -1;
+    }
+
+    /**
+     * Writes a READY frame.
+     *
+     * @param out - the buffer to write to
+     */
+    static void putReady(ByteBuffer out) {
+        out.put((byte) 1).put(READY);
+    }
+
+    /**
+     * Writes a SEATED frame.
+     *
+     * @param out     - the buffer to write to
+     * @param table   - the table id
+     * @param seat    - the seat of the player receiving the frame
+     * @param players - the number of players at the table
+     */
+    static void putSeated(ByteBuffer out, int table, int seat, int players) {
+        out.put((byte) (1 + Integer.BYTES + 2)).put(SEATED).putInt(table).put((byte) seat).put((byte) players);
+    }
+
+    /**
+     * Writes a DEALT frame holding the player's hand, top of the hand first.
+     *
+     * @param out    - the buffer to write to
+     * @param player - the player whose hand is sent, which must hold only standard cards
+     */
+    static void putDealt(ByteBuffer out, Player player) {
+        int n = player.size();
+        out.put((byte) (2 + n)).put(DEALT).put((byte) n);
+        for (int i = n - 1; i >= 0; i--) {
+            out.put((byte) player.cardAt(i).getOrdinal());
+        }
+    }
+
+    /**
+     * Writes a ROUND frame.
+     *
+     * @param out        - the buffer to write to
+     * @param round      - the number of the round, starting at 1
+     * @param roundsLeft - the rounds still to play in the game
+     * @param winner     - the winning seat, or -1 for a tie
+     * @param engine     - the engine the round was played on, holding each seat's card
+     * @param players    - the number of players at the table
+     */
+    static void putRound(ByteBuffer out, int round, int roundsLeft, int winner, RulesEngine engine, int players) {
+        out.put((byte) (4 + players)).put(ROUND).put((byte) round).put((byte) roundsLeft).put((byte) winner);
+        for (int i = 0; i < players; i++) {
+            out.put((byte) engine.getPlayed(i).getOrdinal());
+        }
+    }
+
+    /**
+     * Writes a GAME_OVER frame.
+     *
+     * @param out     - the buffer to write to
+     * @param engine  - the engine holding the finished game
+     * @param players - the number of players at the table
+     */
+    static void putGameOver(ByteBuffer out, RulesEngine engine, int players) {
+        out.put((byte) (2 + players)).put(GAME_OVER).put((byte) engine.getWinner());
+        for (int i = 0; i < players; i++) {
+            out.put((byte) engine.getScore(i));
+        }
+    }
+}
@@ -0,0 +1,478 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The TableServer class hosts many High Card tables over TCP using non-blocking
+ * NIO, speaking the binary TableProtocol.
+ *
+ * An acceptor thread groups new connections, in the order they arrive, into
+ * tables of the configured size, and hands each full table to one of a fixed
+ * number of event loop threads, in turn. Each event loop owns a Selector and
+ * runs its tables' games on a RulesEngine playing HighCardRules. A table and
+ * everything in it, its deck, players and connections, is only ever touched by
+ * its event loop's thread, so the game loop needs no locks; the only hand-off
+ * between threads is the queue of newly formed tables.
+ *
+ * Every game is shuffled from a seed derived from the server seed, the table id
+ * and the game's number. When a player disconnects, the rest of the table is
+ * disconnected too, and so is a table with a player that stops reading, once
+ * more than MAX_PENDING bytes are waiting to be sent to it.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class TableServer implements Closeable {
+    private static final int HAND_SIZE = 5;
+    private static final int ROUNDS = 5;
+    private static final int BACKLOG = 4096;
+    private static final int OUT_CAPACITY = 1024;
+    // The most bytes that may wait to be sent to one client
+    private static final int MAX_PENDING = 64 * 1024;
+    // Pauses after a failed accept, doubling while the failures continue
+    private static final long MIN_ACCEPT_BACKOFF_MS = 10;
+    private static final long MAX_ACCEPT_BACKOFF_MS = 1000;
+
+    private final int port;
+    private final int players;
+    private final long seed;
+    private final EventLoop[] loops;
+    private ServerSocketChannel server;
+    private Thread acceptor;
+    private volatile boolean running;
+
+    /**
+     * Constructs a server for tables of the given size. Nothing is opened until start() is called.
+     *
+     * @param port    - the port to listen on, or 0 for any free port
+     * @param players - the number of players at each table
+     * @param threads - the number of event loop threads
+     * @param seed    - the seed every game is shuffled from
+     * @throws IllegalArgumentException if port is out of range, players is less than 2
+     *                                  or the hands need more than 52 cards, or threads is less than 1
+     */
+    public TableServer(int port, int players, int threads, long seed) {
+        if (port < 0 || port > 0xFFFF)
+            throw new IllegalArgumentException("Port must be between 0 and 65535");
+        if (players < 2)
+            throw new IllegalArgumentException("Player count must be at least 2");
+        if (players * HAND_SIZE > CardRegistry.STANDARD_SIZE)
+            throw new IllegalArgumentException("Not enough cards to deal every player a hand");
+        if (threads < 1)
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        this.port = port;
+        this.players = players;
+        this.seed = seed;
+        loops = new EventLoop[threads];
+    }
+
+    /**
+     * Opens the listening socket and starts the acceptor and event loop threads.
+     *
+     * @throws IOException if the socket or a selector cannot be opened
+     * @throws IllegalStateException if the server has already been started
+     */
+    public synchronized void start() throws IOException {
+        if (server != null)
+            throw new IllegalStateException("Server has already been started");
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), BACKLOG);
+        running = true;
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(i);
+            Thread t = new Thread(loops[i], "table-loop-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+        acceptor = new Thread(this::acceptLoop, "table-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the bound port
+     * @throws IllegalStateException if the server has not been started
+     */
+    public int getPort() {
+        if (server == null)
+            throw new IllegalStateException("Server has not been started");
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections and closes every connection and selector.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        try {
+            if (server != null) {
+                server.close();
+            }
+        } catch (IOException e) {
+            // closing anyway
+        }
+        for (EventLoop loop : loops) {
+            if (loop != null) {
+                loop.selector.wakeup();
+            }
+        }
+    }
+
+    /**
+     * Accepts connections and hands each full table of them to the next event loop.
+     * A failed accept, such as running out of file descriptors, is reported once
+     * and retried after a pause that grows while the failures continue.
+     */
+    private void acceptLoop() {
+        int next = 0;
+        SocketChannel[] group = new SocketChannel[players];
+        int filled = 0;
+        long backoff = 0;
+        try {
+            while (running) {
+                SocketChannel channel;
+                try {
+                    channel = server.accept();
+                    channel.configureBlocking(false);
+                    channel.socket().setTcpNoDelay(true);
+                } catch (IOException e) {
+                    if (!running) {
+                        return;
+                    }
+                    if (backoff == 0) {
+                        System.err.println("TableServer: accept failed, backing off: " + e);
+                    }
+                    backoff = Math.min(MAX_ACCEPT_BACKOFF_MS, Math.max(MIN_ACCEPT_BACKOFF_MS, backoff * 2));
+                    try {
+                        Thread.sleep(backoff);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                    continue;
+                }
+                backoff = 0;
+                group[filled++] = channel;
+                if (filled == players) {
+                    EventLoop loop = loops[next];
+                    next = (next + 1) % loops.length;
+                    loop.incoming.add(group);
+                    loop.selector.wakeup();
+                    group = new SocketChannel[players];
+                    filled = 0;
+                }
+            }
+        } finally {
+            for (int i = 0; i < filled; i++) {
+                closeQuietly(group[i]);
+            }
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+    }
+
+    /**
+     * One event loop thread, owning a selector and every table seated on it.
+     */
+    private final class EventLoop implements Runnable {
+        private final int index;
+        private final Selector selector;
+        private final ConcurrentLinkedQueue<SocketChannel[]> incoming = new ConcurrentLinkedQueue<>();
+        private int tablesOpened;
+
+        EventLoop(int index) throws IOException {
+            this.index = index;
+            this.selector = Selector.open();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    register();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Connection c = (Connection) key.attachment();
+                        try {
+                            if (key.isValid() && key.isWritable()) {
+                                c.flush();
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                c.read();
+                            }
+                        } catch (IOException e) {
+                            c.disconnect();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // the selector failed, so this loop's tables are lost
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    ((Connection) key.attachment()).close();
+                }
+                SocketChannel[] group;
+                while ((group = incoming.poll()) != null) {
+                    for (SocketChannel channel : group) {
+                        closeQuietly(channel);
+                    }
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    // closing anyway
+                }
+            }
+        }
+
+        /**
+         * Registers the connections of each newly formed table and seats them.
+         * If a client went away before it was registered, the rest of its table is closed.
+         */
+        private void register() {
+            SocketChannel[] group;
+            while ((group = incoming.poll()) != null) {
+                Connection[] seats = new Connection[group.length];
+                try {
+                    for (int i = 0; i < group.length; i++) {
+                        seats[i] = new Connection(group[i]);
+                        seats[i].key = group[i].register(selector, SelectionKey.OP_READ, seats[i]);
+                    }
+                } catch (ClosedChannelException e) {
+                    for (SocketChannel channel : group) {
+                        closeQuietly(channel);
+                    }
+                    for (Connection c : seats) {
+                        if (c != null && c.key != null) {
+                            c.key.cancel();
+                        }
+                    }
+                    continue;
+                }
+                Table table = new Table(tablesOpened++ * loops.length + index, seats);
+                table.seat();
+            }
+        }
+    }
+
+    /**
+     * One client connection, with its own receive and send buffers.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(TableProtocol.MAX_FRAME);
+        private ByteBuffer out = ByteBuffer.allocate(OUT_CAPACITY);
+        private SelectionKey key;
+        private Table table;
+        private int seat;
+        private boolean ready;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads whatever has arrived and handles every complete frame.
+         *
+         * @throws IOException if the connection fails or the client sends a bad frame
+         */
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                disconnect();
+                return;
+            }
+            in.flip();
+            int length;
+            while ((length = TableProtocol.frameLength(in)) > 0) {
+                int end = in.position() + length;
+                byte type = length > 1 ? in.get(in.position() + 1) : 0;
+                in.position(end);
+                if (type != TableProtocol.READY)
+                    throw new IOException("Unexpected message type " + type);
+                if (!ready) {
+                    ready = true;
+                    table.onReady();
+                }
+            }
+            in.compact();
+        }
+
+        /**
+         * Returns the send buffer with room for at least one more frame, growing it if needed.
+         *
+         * @return the send buffer, ready to be written into
+         */
+        ByteBuffer out() {
+            if (out.remaining() < TableProtocol.MAX_FRAME) {
+                ByteBuffer grown = ByteBuffer.allocate(out.capacity() * 2);
+                out.flip();
+                grown.put(out);
+                out = grown;
+            }
+            return out;
+        }
+
+        /**
+         * Writes as much of the send buffer as the socket takes, and watches
+         * for the socket to drain if anything is left.
+         *
+         * @throws IOException if the connection fails, or more than MAX_PENDING
+         *                     bytes are still waiting because the client is not reading
+         */
+        void flush() throws IOException {
+            out.flip();
+            channel.write(out);
+            boolean pending = out.hasRemaining();
+            out.compact();
+            if (out.position() > MAX_PENDING)
+                throw new IOException("Client is not reading, " + out.position() + " bytes are waiting");
+            if (key.isValid()) {
+                key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * Closes this connection and the rest of its table.
+         */
+        void disconnect() {
+            table.close();
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+    }
+
+    /**
+     * One table: its seats and the engine its games are played on.
+     * Only the owning event loop's thread touches it.
+     */
+    private final class Table {
+        private final int id;
+        private final Connection[] seats;
+        private final RulesEngine engine;
+        private long games;
+        private int ready;
+        private boolean inGame;
+        private boolean closed;
+
+        Table(int id, Connection[] seats) {
+            this.id = id;
+            this.seats = seats;
+            this.engine = new RulesEngine(new HighCardRules(HAND_SIZE, ROUNDS), seats.length);
+        }
+
+        void seat() {
+            for (int i = 0; i < seats.length; i++) {
+                seats[i].table = this;
+                seats[i].seat = i;
+                TableProtocol.putSeated(seats[i].out(), id, i, seats.length);
+            }
+            flushAll();
+        }
+
+        /**
+         * Counts a READY from one seat, and deals or plays a round once every seat is ready.
+         */
+        void onReady() {
+            if (++ready < seats.length) {
+                return;
+            }
+            ready = 0;
+            for (Connection c : seats) {
+                c.ready = false;
+            }
+            if (!inGame) {
+                engine.startGame(RandomSource.seeded(RandomSource.streamSeed(seed, ((long) id << 32) | games)));
+                engine.step();
+                inGame = true;
+                for (int i = 0; i < seats.length; i++) {
+                    TableProtocol.putDealt(seats[i].out(), engine.getPlayer(i));
+                }
+            } else {
+                engine.step();
+                int round = engine.getTurn();
+                for (Connection c : seats) {
+                    TableProtocol.putRound(c.out(), round, ROUNDS - round, engine.getTurnWinner(), engine, seats.length);
+                }
+                if (round == ROUNDS) {
+                    while (engine.step()) {
+                        // move on to the final scoring
+                    }
+                    inGame = false;
+                    games++;
+                    for (Connection c : seats) {
+                        TableProtocol.putGameOver(c.out(), engine, seats.length);
+                    }
+                }
+            }
+            flushAll();
+        }
+
+        private void flushAll() {
+            for (Connection c : seats) {
+                try {
+                    c.flush();
+                } catch (IOException e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Connection c : seats) {
+                c.close();
+            }
+        }
+    }
+
+    /**
+     * Runs a server until the process is stopped.
+     * Arguments are: port, players per table, event loop threads and an optional seed.
+     *
+     * @param args - the command line arguments
+     * @throws IOException if the server cannot be started
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.out.println("Usage: TableServer <port> <playersPerTable> <threads> [seed]");
+            return;
+        }
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        TableServer server = new TableServer(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), seed);
+        server.start();
+        System.out.println("Listening on port " + server.getPort());
+        Thread.currentThread().join();
+    }
+}
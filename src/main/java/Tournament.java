@@ -0,0 +1,345 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The Tournament class plays two-player High Card matches between many entrants,
+ * either as a full round robin or as a Swiss tournament, and ranks them in Standings.
+ *
+ * Every match is dealt from its own deck, shuffled from a seed derived from the
+ * tournament seed and the match's number, and is played by fresh players carrying
+ * the entrants' names, so an entrant can be in many matches at once. Matches run on
+ * the work-stealing fork/join pool and record their results into the standings as
+ * they finish. Since no result depends on the order matches finish in, the same
+ * seed always produces the same standings.
+ *
+ * In a Swiss tournament each round pairs entrants with similar points, avoiding
+ * rematches where possible; with an odd number of entrants, the lowest-ranked
+ * entrant without a bye sits the round out and is awarded a win.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class Tournament {
+    private static final int MATCHES_PER_TASK = 1024;
+    private static final int NO_PLAYER = -1;
+
+    private final Player[] entrants;
+    private final int handSize;
+    private final int rounds;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a tournament of five-card, five-round matches on the common pool.
+     *
+     * @param entrants - the players entered, in entry order
+     * @throws IllegalArgumentException if entrants is null, contains null or has fewer than 2 players
+     */
+    public Tournament(Player[] entrants) {
+        this(entrants, 5, 5, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a tournament whose matches have the given shape and run on the given pool.
+     *
+     * @param entrants - the players entered, in entry order
+     * @param handSize - the number of cards dealt to each player in a match
+     * @param rounds   - the number of rounds in a match
+     * @param pool     - the pool the matches run on
+     * @throws IllegalArgumentException if entrants is null, contains null or has fewer
+     *                                  than 2 players, handSize or rounds is less than 1,
+     *                                  rounds is more than handSize, two hands need more
+     *                                  than 52 cards, or pool is null
+     */
+    public Tournament(Player[] entrants, int handSize, int rounds, ForkJoinPool pool) {
+        if (entrants == null)
+            throw new IllegalArgumentException("Entrants cannot be null");
+        if (entrants.length < 2)
+            throw new IllegalArgumentException("A tournament needs at least 2 entrants");
+        for (Player p : entrants) {
+            if (p == null)
+                throw new IllegalArgumentException("Entrant cannot be null");
+        }
+        if (handSize < 1)
+            throw new IllegalArgumentException("Hand size must be at least 1");
+        if (rounds < 1)
+            throw new IllegalArgumentException("Round count must be at least 1");
+        if (rounds > handSize)
+            throw new IllegalArgumentException("Round count cannot be more than the hand size");
+        if (2 * handSize > CardRegistry.STANDARD_SIZE)
+            throw new IllegalArgumentException("Not enough cards to deal both players a hand");
+        if (pool == null)
+            throw new IllegalArgumentException("Pool cannot be null");
+        this.entrants = entrants.clone();
+        this.handSize = handSize;
+        this.rounds = rounds;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays every entrant against every other entrant once.
+     *
+     * @param seed - the seed every match is shuffled from
+     * @return the final standings
+     */
+    public Standings roundRobin(long seed) {
+        Standings standings = new Standings(entrants);
+        long n = entrants.length;
+        pool.invoke(new PairRange(standings, 0, n * (n - 1) / 2, seed));
+        return standings;
+    }
+
+    /**
+     * Plays a Swiss tournament of the given number of rounds.
+     *
+     * @param swissRounds - the number of rounds, each giving every entrant one match or a bye
+     * @param seed        - the seed every match is shuffled from
+     * @return the final standings
+     * @throws IllegalArgumentException if swissRounds is less than 1
+     */
+    public Standings swiss(int swissRounds, long seed) {
+        if (swissRounds < 1)
+            throw new IllegalArgumentException("Round count must be at least 1");
+        int n = entrants.length;
+        Standings standings = new Standings(entrants);
+        int[][] opponents = new int[n][swissRounds];
+        int[] played = new int[n];
+        boolean[] hadBye = new boolean[n];
+        int[] first = new int[n / 2];
+        int[] second = new int[n / 2];
+        for (int round = 0; round < swissRounds; round++) {
+            int[] order = standings.getRanking();
+            boolean[] paired = new boolean[n];
+            if (n % 2 == 1) {
+                int bye = byeFor(order, hadBye);
+                paired[bye] = true;
+                hadBye[bye] = true;
+                standings.recordBye(bye);
+            }
+            int boards = 0;
+            for (int i = 0; i < n; i++) {
+                int a = order[i];
+                if (paired[a]) {
+                    continue;
+                }
+                int fallback = NO_PLAYER;
+                int b = NO_PLAYER;
+                for (int j = i + 1; j < n && b == NO_PLAYER; j++) {
+                    int candidate = order[j];
+                    if (paired[candidate]) {
+                        continue;
+                    }
+                    if (fallback == NO_PLAYER) {
+                        fallback = candidate;
+                    }
+                    if (!hasPlayed(opponents[a], played[a], candidate)) {
+                        b = candidate;
+                    }
+                }
+                if (b == NO_PLAYER) {
+                    b = fallback;
+                }
+                paired[a] = true;
+                paired[b] = true;
+                opponents[a][played[a]++] = b;
+                opponents[b][played[b]++] = a;
+                first[boards] = a;
+                second[boards] = b;
+                boards++;
+            }
+            pool.invoke(new BoardRange(standings, first, second, 0, boards, (long) round * n, seed));
+        }
+        return standings;
+    }
+
+    /**
+     * Returns the entrant who sits out a Swiss round: the lowest-ranked one
+     * without a bye yet, or the top-ranked one once every other entrant has had one.
+     *
+     * @param order  - the entry indexes, best ranked first
+     * @param hadBye - whether each entrant, by entry index, has had a bye
+     * @return the entry index of the entrant given the bye
+     */
+    static int byeFor(int[] order, boolean[] hadBye) {
+        int bye = order.length - 1;
+        while (bye > 0 && hadBye[order[bye]]) {
+            bye--;
+        }
+        return order[bye];
+    }
+
+    private static boolean hasPlayed(int[] opponents, int count, int player) {
+        for (int i = 0; i < count; i++) {
+            if (opponents[i] == player) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plays one match between two entrants and records it.
+     *
+     * @param standings - the standings to record the result in
+     * @param a         - the entry index of the first player
+     * @param b         - the entry index of the second player
+     * @param match     - the match number the deck is seeded from
+     * @param seed      - the tournament seed
+     * @param seats     - a two-element array reused for the match's players
+     * @param played    - a two-element array reused for the cards played each round
+     */
+    private void playMatch(Standings standings, int a, int b, long match, long seed, Player[] seats, Card[] played) {
+        Deck deck = new Deck();
+        deck.shuffleLazily(RandomSource.seeded(RandomSource.streamSeed(seed, match)));
+        seats[0] = new Player(entrants[a].getName(), entrants[a].getAge());
+        seats[1] = new Player(entrants[b].getName(), entrants[b].getAge());
+        deck.deal(seats, handSize);
+        int pointsA = 0;
+        int pointsB = 0;
+        for (int round = 0; round < rounds; round++) {
+            int winner = HighCardGame.playRound(seats, played, deck);
+            if (winner == 0) {
+                pointsA++;
+            } else if (winner == 1) {
+                pointsB++;
+            }
+        }
+        standings.recordMatch(a, b, pointsA, pointsB);
+    }
+
+    /**
+     * A fork/join task that plays a range of round robin pairings, numbered
+     * (0, 1), (0, 2), ..., (0, n - 1), (1, 2), and so on.
+     */
+    private final class PairRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Standings standings;
+        private final long from;
+        private final long to;
+        private final long seed;
+
+        PairRange(Standings standings, long from, long to, long seed) {
+            this.standings = standings;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MATCHES_PER_TASK) {
+                long mid = from + (to - from) / 2;
+                invokeAll(new PairRange(standings, from, mid, seed), new PairRange(standings, mid, to, seed));
+                return;
+            }
+            int n = entrants.length;
+            int a = rowOf(from, n);
+            int b = (int) (from - rowStart(a, n)) + a + 1;
+            Player[] seats = new Player[2];
+            Card[] played = new Card[2];
+            for (long match = from; match < to; match++) {
+                playMatch(standings, a, b, match, seed, seats, played);
+                if (++b == n) {
+                    a++;
+                    b = a + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the first pairing whose first player is a.
+     *
+     * @param a - the first player's entry index
+     * @param n - the number of entrants
+     * @return the pairing number
+     */
+    static long rowStart(long a, long n) {
+        return a * (2 * n - a - 1) / 2;
+    }
+
+    /**
+     * Returns the first player of the given round robin pairing.
+     *
+     * @param match - the pairing number
+     * @param n     - the number of entrants
+     * @return the first player's entry index
+     */
+    static int rowOf(long match, int n) {
+        double b = 2.0 * n - 1;
+        int a = (int) Math.max(0, Math.floor((b - Math.sqrt(b * b - 8.0 * match)) / 2));
+        while (a > 0 && rowStart(a, n) > match) {
+            a--;
+        }
+        while (rowStart(a + 1, n) <= match) {
+            a++;
+        }
+        return a;
+    }
+
+    /**
+     * A fork/join task that plays a range of the boards of one Swiss round.
+     */
+    private final class BoardRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Standings standings;
+        private final int[] first;
+        private final int[] second;
+        private final int from;
+        private final int to;
+        private final long firstMatch;
+        private final long seed;
+
+        BoardRange(Standings standings, int[] first, int[] second, int from, int to, long firstMatch, long seed) {
+            this.standings = standings;
+            this.first = first;
+            this.second = second;
+            this.from = from;
+            this.to = to;
+            this.firstMatch = firstMatch;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MATCHES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BoardRange(standings, first, second, from, mid, firstMatch, seed),
+                        new BoardRange(standings, first, second, mid, to, firstMatch, seed));
+                return;
+            }
+            Player[] seats = new Player[2];
+            Card[] played = new Card[2];
+            for (int board = from; board < to; board++) {
+                playMatch(standings, first[board], second[board], firstMatch + board, seed, seats, played);
+            }
+        }
+    }
+
+    /**
+     * Runs a tournament between generated entrants and prints the top of the standings.
+     * Arguments are: entrants, "roundrobin" or a number of Swiss rounds, and an optional seed.
+     *
+     * @param args - the command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: Tournament <entrants> <roundrobin|swissRounds> [seed]");
+            return;
+        }
+        Player[] entrants = new Player[Integer.parseInt(args[0])];
+        for (int i = 0; i < entrants.length; i++) {
+            entrants[i] = new Player("Player " + (i + 1), 0);
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        Tournament tournament = new Tournament(entrants);
+        long start = System.nanoTime();
+        Standings standings = args[1].equalsIgnoreCase("roundrobin")
+                ? tournament.roundRobin(seed)
+                : tournament.swiss(Integer.parseInt(args[1]), seed);
+        long elapsed = System.nanoTime() - start;
+        System.out.print(standings.toString(10));
+        System.out.println("Elapsed: " + elapsed / 1_000_000 + " ms");
+    }
+}
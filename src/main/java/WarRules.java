@@ -0,0 +1,127 @@
+/**
+ * The WarRules class is the game of War for the RulesEngine, for two or more
+ * players. The deck is dealt out evenly, and on each turn every player who still
+ * has cards plays the bottom card of their hand. The strictly highest card takes
+ * every played card, and the pot left by any earlier tied turns, onto the top of
+ * the winner's hand, so the cards come back into play only after the rest of the
+ * hand. On a tie the played cards are added to the pot in the discard pile.
+ *
+ * The game ends when only one player has cards left or the turn limit is reached,
+ * and the player holding the most cards wins.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class WarRules implements GameRules {
+    private final int maxTurns;
+
+    /**
+     * Constructs War rules that stop after the given number of turns.
+     *
+     * @param maxTurns - the most turns played in a game
+     * @throws IllegalArgumentException if maxTurns is less than 1
+     */
+    public WarRules(int maxTurns) {
+        if (maxTurns < 1)
+            throw new IllegalArgumentException("Turn limit must be at least 1");
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Returns as many cards as every player can be dealt evenly from one deck.
+     *
+     * @param players - the number of players at the table
+     * @return the cards dealt to each player
+     */
+    @Override
+    public int cardsPerPlayer(int players) {
+        return CardRegistry.STANDARD_SIZE / players;
+    }
+
+    /**
+     * Returns true once the turn limit is reached or fewer than two players have cards.
+     *
+     * @param turn  - the number of turns already played
+     * @param seats - the players in seat order
+     * @return true if no more turns are played
+     */
+    @Override
+    public boolean isOver(int turn, Player[] seats) {
+        if (turn >= maxTurns) {
+            return true;
+        }
+        int withCards = 0;
+        for (Player p : seats) {
+            if (p.size() > 0) {
+                withCards++;
+            }
+        }
+        return withCards < 2;
+    }
+
+    /**
+     * Removes and returns the bottom card of the player's hand.
+     *
+     * @param player - the player whose turn it is
+     * @return the card played, or null if the player has no cards left
+     */
+    @Override
+    public Card play(Player player) {
+        return player.removeBottomCard();
+    }
+
+    /**
+     * Returns the seat whose card is strictly higher than all others.
+     *
+     * @param played - the card each seat played, or null for a seat that sat out
+     * @return the winning seat, or -1 if the highest value was tied
+     */
+    @Override
+    public int turnWinner(Card[] played) {
+        return RulesEngine.bestSeat(played, false);
+    }
+
+    /**
+     * Gives the pot and the played cards to the winner, or adds the played cards to the pot on a tie.
+     *
+     * @param played - the card each seat played, or null for a seat that sat out
+     * @param winner - the seat that won the turn, or -1 if nobody did
+     * @param seats  - the players in seat order
+     * @param deck   - the game's deck
+     * @param pile   - the game's discard pile, which holds the pot
+     */
+    @Override
+    public void collect(Card[] played, int winner, Player[] seats, Deck deck, DiscardPile pile) {
+        if (winner < 0) {
+            for (Card c : played) {
+                if (c != null) {
+                    pile.addCard(c);
+                }
+            }
+            return;
+        }
+        Player taker = seats[winner];
+        Card[] pot = pile.compactedSlots();
+        for (int i = 0; i < pile.size(); i++) {
+            taker.receive(pot[i]);
+        }
+        pile.clear();
+        for (Card c : played) {
+            if (c != null) {
+                taker.receive(c);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cards the player holds.
+     *
+     * @param player   - the player
+     * @param turnsWon - the number of turns the player won
+     * @return the score
+     */
+    @Override
+    public int finalScore(Player player, int turnsWon) {
+        return player.size();
+    }
+}
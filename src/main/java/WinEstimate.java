@@ -0,0 +1,90 @@
+/**
+ * The WinEstimate class holds the result of a Monte Carlo estimate of the
+ * chance of winning a High Card match: the estimated probability, the
+ * half-width of its confidence interval and how many games were sampled.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class WinEstimate {
+    private final long samples;
+    private final long wins;
+    private final double confidence;
+    private final double halfWidth;
+
+    /**
+     * Constructs an estimate from the sampled games.
+     *
+     * @param samples    - the number of games sampled
+     * @param wins       - the number of sampled games won outright
+     * @param confidence - the confidence level of the interval, between 0 and 1
+     * @param halfWidth  - the half-width of the confidence interval
+     */
+    WinEstimate(long samples, long wins, double confidence, double halfWidth) {
+        this.samples = samples;
+        this.wins = wins;
+        this.confidence = confidence;
+        this.halfWidth = halfWidth;
+    }
+
+    /**
+     * Returns the estimated probability of winning the match outright.
+     *
+     * @return the win probability, between 0 and 1
+     */
+    public double getProbability() {
+        return samples == 0 ? 0 : (double) wins / samples;
+    }
+
+    /**
+     * Returns the half-width of the confidence interval around the probability.
+     *
+     * @return the interval half-width
+     */
+    public double getHalfWidth() {
+        return halfWidth;
+    }
+
+    /**
+     * Returns the confidence level of the interval.
+     *
+     * @return the confidence level, between 0 and 1
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+
+    /**
+     * Returns the number of games sampled.
+     *
+     * @return the sample count
+     */
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * Returns the number of sampled games won outright.
+     *
+     * @return the win count
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Returns the estimate in the form "Win probability: 0.4123 +/- 0.0050 (95% confidence, 40960 samples)".
+     *
+     * @return the formatted estimate
+     */
+    @Override
+    public String toString() {
+        return String.format("Win probability: %.4f +/- %.4f (%s%% confidence, %d samples)",
+                getProbability(), halfWidth, formatPercent(confidence), samples);
+    }
+
+    private static String formatPercent(double fraction) {
+        double percent = fraction * 100;
+        return percent == Math.rint(percent) ? String.valueOf((long) percent) : String.valueOf(percent);
+    }
+}
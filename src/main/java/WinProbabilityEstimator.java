@@ -0,0 +1,405 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The WinProbabilityEstimator class estimates a player's chance of winning a
+ * High Card match from the cards they already hold and the cards already seen.
+ *
+ * The unseen cards of the standard deck are dealt at random to fill the player's
+ * hand and every opponent's hand, the match is played out with the same rules
+ * as HighCardGame, and the fraction of matches the player wins outright is the
+ * estimate. Samples are taken in batches spread across the common fork/join pool,
+ * and sampling stops as soon as the Wilson confidence interval is narrow enough.
+ *
+ * Each batch has its own random stream derived from the seed and the batch
+ * number, so a run that samples every batch gives the same answer however
+ * the batches are split between threads. A run that stops early may include
+ * different batches from one run to the next.
+ *
+ * Each pool thread keeps its own card arrays, which are reused across batches
+ * and estimates, so sampling does not allocate. Only card values matter to the
+ * outcome, so the arrays hold values rather than Card objects.
+ *
+ * @author Akash K.
+ * @version 1.0
+ */
+public class WinProbabilityEstimator {
+    private static final int BATCH_SIZE = 1024;
+    private static final double DEFAULT_CONFIDENCE = 0.95;
+    private static final ThreadLocal<Sampler> SAMPLERS = ThreadLocal.withInitial(Sampler::new);
+
+    private final int playerCount;
+    private final int handSize;
+    private final int rounds;
+
+    /**
+     * Constructs an estimator for matches with the given shape.
+     *
+     * @param playerCount - the number of players at the table, including the player
+     * @param handSize    - the number of cards dealt to each player
+     * @param rounds      - the number of rounds played in the match
+     *
+     * @throws IllegalArgumentException if playerCount is less than 2, handSize or
+     *                                  rounds is less than 1, rounds is more than
+     *                                  handSize, or the hands need more than 52 cards
+     */
+    public WinProbabilityEstimator(int playerCount, int handSize, int rounds) {
+        if (playerCount < 2)
+            throw new IllegalArgumentException("Player count must be at least 2");
+        if (handSize < 1)
+            throw new IllegalArgumentException("Hand size must be at least 1");
+        if (rounds < 1)
+            throw new IllegalArgumentException("Round count must be at least 1");
+        if (rounds > handSize)
+            throw new IllegalArgumentException("Round count cannot be more than the hand size");
+        if ((long) playerCount * handSize > CardRegistry.STANDARD_SIZE)
+            throw new IllegalArgumentException("Not enough cards to deal every player a hand");
+        this.playerCount = playerCount;
+        this.handSize = handSize;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Estimates the chance of winning with 95% confidence, from a random seed.
+     *
+     * @param hand       - the cards the player already holds
+     * @param seen       - the cards already seen, which none of the hands can hold
+     * @param halfWidth  - stop once the confidence interval is no wider than this either side,
+     *                     or 0 to always take maxSamples samples
+     * @param maxSamples - the most matches to sample
+     * @return the estimate
+     * @throws IllegalArgumentException if any argument is invalid, as for the full overload
+     */
+    public WinEstimate estimate(Card[] hand, DiscardPile seen, double halfWidth, long maxSamples) {
+        return estimate(hand, seen, halfWidth, DEFAULT_CONFIDENCE, maxSamples, System.nanoTime());
+    }
+
+    /**
+     * Estimates the chance of winning the match outright.
+     *
+     * @param hand       - the cards the player already holds, at most handSize of them
+     * @param seen       - the cards already seen, which none of the hands can hold
+     * @param halfWidth  - stop once the confidence interval is no wider than this either side,
+     *                     or 0 to always take maxSamples samples
+     * @param confidence - the confidence level of the interval, between 0 and 1 exclusive
+     * @param maxSamples - the most matches to sample
+     * @param seed       - the seed the samples are drawn from
+     * @return the estimate
+     * @throws IllegalArgumentException if hand or seen is null, hand holds a null card or
+     *                                  more than handSize cards, halfWidth is negative,
+     *                                  confidence is not between 0 and 1, maxSamples is
+     *                                  less than 1, or too few unseen cards are left to deal
+     */
+    public WinEstimate estimate(Card[] hand, DiscardPile seen, double halfWidth, double confidence,
+            long maxSamples, long seed) {
+        if (hand == null)
+            throw new IllegalArgumentException("Hand cannot be null");
+        if (hand.length > handSize)
+            throw new IllegalArgumentException("Hand cannot hold more than " + handSize + " cards");
+        if (seen == null)
+            throw new IllegalArgumentException("Seen cards cannot be null");
+        if (!(halfWidth >= 0))
+            throw new IllegalArgumentException("Interval half-width cannot be negative");
+        if (!(confidence > 0 && confidence < 1))
+            throw new IllegalArgumentException("Confidence must be between 0 and 1");
+        if (maxSamples < 1)
+            throw new IllegalArgumentException("Sample count must be at least 1");
+
+        boolean[] known = new boolean[CardRegistry.STANDARD_SIZE];
+        int[] held = new int[hand.length];
+        for (int i = 0; i < hand.length; i++) {
+            if (hand[i] == null)
+                throw new IllegalArgumentException("Hand cannot hold a null card");
+            held[i] = hand[i].getValue();
+            if (CardRegistry.isStandard(hand[i])) {
+                known[hand[i].getOrdinal()] = true;
+            }
+        }
+        for (int i = 0; i < seen.slotCount(); i++) {
+            Card c = seen.slotAt(i);
+            if (c != null && CardRegistry.isStandard(c)) {
+                known[c.getOrdinal()] = true;
+            }
+        }
+        int[] unseen = new int[CardRegistry.STANDARD_SIZE];
+        int unseenCount = 0;
+        for (int ordinal = 0; ordinal < CardRegistry.STANDARD_SIZE; ordinal++) {
+            if (!known[ordinal]) {
+                unseen[unseenCount++] = CardRegistry.standardCard(ordinal).getValue();
+            }
+        }
+        if (unseenCount < handSize - hand.length + (playerCount - 1) * handSize)
+            throw new IllegalArgumentException("Not enough unseen cards to deal every hand");
+
+        Job job = new Job(held, unseen, unseenCount, halfWidth, confidence, maxSamples, seed);
+        Worker[] workers = new Worker[Math.max(1, ForkJoinPool.commonPool().getParallelism())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(job);
+        }
+        ForkJoinTask.invokeAll(workers);
+        return job.result();
+    }
+
+    /**
+     * Returns the Wilson score interval half-width for a sampled proportion.
+     *
+     * @param wins    - the number of successes
+     * @param samples - the number of samples, at least 1
+     * @param z       - the standard normal quantile of the confidence level
+     * @return the half-width of the interval
+     */
+    static double wilsonHalfWidth(long wins, long samples, double z) {
+        double n = samples;
+        double p = wins / n;
+        double z2 = z * z;
+        return z / (1 + z2 / n) * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n));
+    }
+
+    /**
+     * Returns the standard normal quantile that leaves (1 - confidence) / 2 in
+     * each tail, using Acklam's rational approximation.
+     *
+     * @param confidence - the two-sided confidence level, between 0 and 1
+     * @return the quantile, for example about 1.96 for 0.95
+     */
+    static double zScore(double confidence) {
+        double p = 1 - (1 - confidence) / 2;
+        double q;
+        if (p > 0.97575) {
+            q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                    - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                    / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                    + 3.754408661907416e+00) * q + 1);
+        }
+        q = p - 0.5;
+        double r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+    }
+
+    /**
+     * The shared state of one estimate: its inputs, the next batch to sample
+     * and the running totals.
+     */
+    private final class Job {
+        final int playerCount = WinProbabilityEstimator.this.playerCount;
+        final int handSize = WinProbabilityEstimator.this.handSize;
+        final int rounds = WinProbabilityEstimator.this.rounds;
+        final int[] held;
+        final int[] unseen;
+        final int unseenCount;
+        final double halfWidth;
+        final double confidence;
+        final double z;
+        final long maxSamples;
+        final long batches;
+        final long seed;
+        private long nextBatch;
+        private long samples;
+        private long wins;
+        private volatile boolean done;
+
+        Job(int[] held, int[] unseen, int unseenCount, double halfWidth, double confidence,
+                long maxSamples, long seed) {
+            this.held = held;
+            this.unseen = unseen;
+            this.unseenCount = unseenCount;
+            this.halfWidth = halfWidth;
+            this.confidence = confidence;
+            this.z = zScore(confidence);
+            this.maxSamples = maxSamples;
+            this.batches = (maxSamples + BATCH_SIZE - 1) / BATCH_SIZE;
+            this.seed = seed;
+        }
+
+        /**
+         * Claims the next batch to sample.
+         *
+         * @return the batch number, or -1 if sampling is finished
+         */
+        synchronized long claim() {
+            return done || nextBatch == batches ? -1 : nextBatch++;
+        }
+
+        /**
+         * Adds a finished batch to the totals and stops sampling once
+         * the interval is narrow enough.
+         *
+         * @param n   - the games sampled in the batch
+         * @param won - the games won in the batch
+         */
+        synchronized void add(long n, long won) {
+            samples += n;
+            wins += won;
+            if (halfWidth > 0 && wilsonHalfWidth(wins, samples, z) <= halfWidth) {
+                done = true;
+            }
+        }
+
+        synchronized WinEstimate result() {
+            return new WinEstimate(samples, wins, confidence, wilsonHalfWidth(wins, samples, z));
+        }
+    }
+
+    /**
+     * A fork/join task that samples batches on its thread until the job is finished.
+     */
+    private static final class Worker extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Job job;
+
+        Worker(Job job) {
+            this.job = job;
+        }
+
+        @Override
+        protected void compute() {
+            Sampler sampler = SAMPLERS.get();
+            sampler.prepare(job);
+            long batch;
+            while ((batch = job.claim()) >= 0) {
+                long n = Math.min(BATCH_SIZE, job.maxSamples - batch * BATCH_SIZE);
+                job.add(n, sampler.play(job, batch, (int) n));
+            }
+        }
+    }
+
+    /**
+     * The reusable per-thread arrays one worker samples with, and the
+     * batch's random stream.
+     */
+    private static final class Sampler {
+        private int[] pool = new int[CardRegistry.STANDARD_SIZE];
+        private int[] hands = new int[CardRegistry.STANDARD_SIZE];
+        private int[] points = new int[CardRegistry.STANDARD_SIZE];
+        private int playerCount;
+        private int handSize;
+        private int rounds;
+        private long state;
+
+        /**
+         * Takes on the shape of the job's match, making sure the arrays are large enough.
+         *
+         * @param job - the estimate about to be sampled
+         */
+        void prepare(Job job) {
+            playerCount = job.playerCount;
+            handSize = job.handSize;
+            rounds = job.rounds;
+            if (pool.length < job.unseenCount) {
+                pool = new int[job.unseenCount];
+            }
+            if (hands.length < playerCount * handSize) {
+                hands = new int[playerCount * handSize];
+            }
+            if (points.length < playerCount) {
+                points = new int[playerCount];
+            }
+        }
+
+        /**
+         * Plays n sampled matches from the batch's own random stream.
+         *
+         * @param job   - the estimate being sampled
+         * @param batch - the batch number
+         * @param n     - the number of matches to play
+         * @return the number of matches the player won outright
+         */
+        int play(Job job, long batch, int n) {
+            // A partial shuffle leaves the pool a permutation, so it is only refilled per batch
+            System.arraycopy(job.unseen, 0, pool, 0, job.unseenCount);
+            state = RandomSource.streamSeed(job.seed, batch);
+            int won = 0;
+            for (int s = 0; s < n; s++) {
+                int next = 0;
+                for (int i = 0; i < handSize; i++) {
+                    if (i < job.held.length) {
+                        hands[i] = job.held[i];
+                    } else {
+                        int j = next + nextInt(job.unseenCount - next);
+                        hands[i] = pool[j];
+                        pool[j] = pool[next];
+                        pool[next++] = hands[i];
+                    }
+                }
+                for (int i = handSize; i < playerCount * handSize; i++) {
+                    int j = next + nextInt(job.unseenCount - next);
+                    hands[i] = pool[j];
+                    pool[j] = pool[next];
+                    pool[next++] = hands[i];
+                }
+                if (playMatch()) {
+                    won++;
+                }
+            }
+            return won;
+        }
+
+        /**
+         * Plays the dealt hands out, each player playing their highest card every round.
+         *
+         * @return true if the player in seat 0 scores strictly the most points
+         */
+        private boolean playMatch() {
+            for (int p = 0; p < playerCount; p++) {
+                sortDescending(p * handSize);
+                points[p] = 0;
+            }
+            for (int r = 0; r < rounds; r++) {
+                int winner = -1;
+                int best = -1;
+                for (int p = 0; p < playerCount; p++) {
+                    int v = hands[p * handSize + r];
+                    if (v > best) {
+                        best = v;
+                        winner = p;
+                    } else if (v == best) {
+                        winner = -1;
+                    }
+                }
+                if (winner >= 0) {
+                    points[winner]++;
+                }
+            }
+            for (int p = 1; p < playerCount; p++) {
+                if (points[p] >= points[0]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void sortDescending(int from) {
+            for (int i = from + 1; i < from + handSize; i++) {
+                int v = hands[i];
+                int j = i - 1;
+                while (j >= from && hands[j] < v) {
+                    hands[j + 1] = hands[j];
+                    j--;
+                }
+                hands[j + 1] = v;
+            }
+        }
+
+        /**
+         * Returns a uniformly distributed int from 0 (inclusive) to bound (exclusive),
+         * stepping the batch's SplitMix64 stream.
+         *
+         * @param bound - the upper bound, at least 1
+         * @return the random int
+         */
+        private int nextInt(int bound) {
+            state += 0x9E3779B97F4A7C15L;
+            long z = state;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            z ^= z >>> 31;
+            return (int) (((z >>> 32) * bound) >>> 32);
+        }
+    }
+}
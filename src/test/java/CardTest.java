@@ -0,0 +1,132 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class CardTest {
+
+    @Test
+    public void standardCardsAreLaidOutBySuitThenRank() {
+        String[] suits = { "Hearts", "Clubs", "Diamonds", "Spades" };
+        for (int i = 0; i < CardRegistry.STANDARD_SIZE; i++) {
+            Card c = CardRegistry.standardCard(i);
+            assertEquals(i, c.getOrdinal());
+            assertEquals(i % 13 + 1, c.getValue());
+            assertEquals(suits[i / 13], c.getSuit());
+            assertSame(c, CardRegistry.byOrdinal(i));
+            assertTrue(CardRegistry.isStandard(c));
+        }
+        assertEquals("Ace of Hearts", CardRegistry.standardCard(0).toString());
+        assertEquals("King of Spades", CardRegistry.standardCard(51).toString());
+        assertThrows(IllegalArgumentException.class, () -> CardRegistry.standardCard(52));
+        assertThrows(IllegalArgumentException.class, () -> CardRegistry.byOrdinal(-1));
+    }
+
+    @Test
+    public void ofReturnsTheCanonicalInstance() {
+        assertSame(CardRegistry.standardCard(0), Card.of("Ace", "Hearts", 1));
+        assertSame(CardRegistry.standardCard(51), Card.of(" King ", "Spades ", 13));
+
+        Card joker = Card.of("Joker", "Green", 0);
+        assertSame(joker, Card.of("Joker", "Green", 0));
+        assertSame(joker, CardRegistry.byOrdinal(joker.getOrdinal()));
+        assertFalse(CardRegistry.isStandard(joker));
+        int registered = CardRegistry.size();
+        Card.of("Joker", "Green", 0);
+        assertEquals(registered, CardRegistry.size());
+    }
+
+    @Test
+    public void constructedCardsEqualTheirCanonicalCounterpart() {
+        Card king = new Card("King", "Spades", 13);
+        Card canonical = CardRegistry.standardCard(51);
+        assertNotSame(canonical, king);
+        assertEquals(canonical, king);
+        assertEquals(king, canonical);
+        assertEquals(canonical.hashCode(), king.hashCode());
+        assertEquals(canonical.getOrdinal(), king.getOrdinal());
+        assertEquals(canonical.toString(), king.toString());
+
+        Card joker = new Card("Joker", "Purple", 0);
+        assertEquals(Card.of("Joker", "Purple", 0), joker);
+        assertEquals(joker, new Card(" Joker", "Purple", 0));
+    }
+
+    @Test
+    public void equalityAndHashCodeFollowTheOrdinal() {
+        Set<Card> cards = new HashSet<>();
+        for (int i = 0; i < CardRegistry.STANDARD_SIZE; i++) {
+            Card c = CardRegistry.standardCard(i);
+            assertEquals(c.getOrdinal(), c.hashCode());
+            assertTrue(cards.add(c));
+            assertFalse(cards.add(new Card(c.getName(), c.getSuit(), c.getValue())));
+        }
+        assertEquals(CardRegistry.STANDARD_SIZE, cards.size());
+
+        // Same name and suit but another value is another card.
+        Card highAce = Card.of("Ace", "Hearts", 14);
+        assertNotEquals(CardRegistry.standardCard(0), highAce);
+        assertNotEquals(CardRegistry.standardCard(0).hashCode(), highAce.hashCode());
+        assertNotEquals(CardRegistry.standardCard(0), Card.of("Ace", "Stars", 1));
+        assertFalse(highAce.equals(null));
+        assertFalse(highAce.equals("Ace of Hearts"));
+    }
+
+    @Test
+    public void rejectsInvalidCards() {
+        assertThrows(NullPointerException.class, () -> Card.of(null, "Hearts", 1));
+        assertThrows(NullPointerException.class, () -> new Card("Ace", null, 1));
+        assertThrows(IllegalArgumentException.class, () -> Card.of(" ", "Hearts", 1));
+        assertThrows(IllegalArgumentException.class, () -> new Card("Ace", "", 1));
+        assertThrows(IllegalArgumentException.class, () -> Card.of("Ace", "Hearts", -1));
+    }
+
+    @Test
+    public void concurrentInterningGivesEveryThreadTheSameCard() throws InterruptedException {
+        int threads = 8;
+        int names = 500;
+        ConcurrentHashMap<String, Card> first = new ConcurrentHashMap<>();
+        AtomicBoolean mismatch = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < names; i++) {
+                    Card c = Card.of("Racer " + i, "Relay", i);
+                    Card seen = first.putIfAbsent(c.getName(), c);
+                    if (seen != null && seen != c) {
+                        mismatch.set(true);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread w : workers) {
+            w.join();
+        }
+        assertFalse(mismatch.get());
+        Set<Integer> ordinals = new HashSet<>();
+        for (int i = 0; i < names; i++) {
+            Card c = first.get("Racer " + i);
+            assertSame(c, CardRegistry.byOrdinal(c.getOrdinal()));
+            assertTrue(ordinals.add(c.getOrdinal()));
+        }
+    }
+}
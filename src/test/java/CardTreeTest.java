@@ -0,0 +1,131 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CardTreeTest {
+    private static final Card JOKER = Card.of("Joker", "Red", 0);
+
+    private static Card[] toArray(CardTree t) {
+        Card[] cards = new Card[CardTree.size(t)];
+        assertEquals(cards.length, CardTree.copyTo(t, cards, 0));
+        return cards;
+    }
+
+    /**
+     * Returns a random card, mostly standard ones with a few jokers whose
+     * ordinal shares a summary bit with a standard card.
+     */
+    private static Card randomCard(Random random) {
+        return random.nextInt(15) == 0 ? JOKER : CardRegistry.standardCard(random.nextInt(CardRegistry.STANDARD_SIZE));
+    }
+
+    private static int lastIndexOfMax(List<Card> reference) {
+        int best = 0;
+        for (int i = 1; i < reference.size(); i++) {
+            if (reference.get(i).getValue() >= reference.get(best).getValue()) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void buildAndCopyRoundTrip() {
+        Random random = new Random(20);
+        for (int n = 0; n < 200; n++) {
+            Card[] cards = new Card[n + 3];
+            for (int i = 0; i < cards.length; i++) {
+                cards[i] = randomCard(random);
+            }
+            CardTree t = CardTree.build(cards, n);
+            assertEquals(n, CardTree.size(t));
+            Card[] copy = toArray(t);
+            for (int i = 0; i < n; i++) {
+                assertSame(cards[i], copy[i]);
+                assertSame(cards[i], CardTree.get(t, i));
+            }
+        }
+        assertNull(CardTree.build(new Card[0], 0));
+    }
+
+    @Test
+    public void splitAndMergeRoundTripAtEveryIndex() {
+        Random random = new Random(21);
+        Card[] cards = new Card[97];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = randomCard(random);
+        }
+        CardTree t = CardTree.build(cards, cards.length);
+        for (int k = 0; k <= cards.length; k++) {
+            CardTree front = CardTree.prefix(t, k);
+            CardTree back = CardTree.suffix(t, k);
+            assertEquals(k, CardTree.size(front));
+            assertEquals(cards.length - k, CardTree.size(back));
+            assertArrayEquals(cards, toArray(CardTree.merge(front, back)));
+        }
+        assertArrayEquals(cards, toArray(t));
+    }
+
+    @Test
+    public void matchesAPlainListAndKeepsOldVersions() {
+        Random random = new Random(22);
+        CardTree t = null;
+        List<Card> reference = new ArrayList<>();
+        List<CardTree> versions = new ArrayList<>();
+        List<Card[]> expected = new ArrayList<>();
+        for (int step = 0; step < 5_000; step++) {
+            int op = random.nextInt(6);
+            if (op < 2 || reference.isEmpty()) {
+                Card c = randomCard(random);
+                t = CardTree.merge(t, CardTree.leaf(c));
+                reference.add(c);
+            } else if (op == 2) {
+                int i = random.nextInt(reference.size());
+                t = CardTree.removeAt(t, i);
+                reference.remove(i);
+            } else if (op == 3) {
+                int i = lastIndexOfMax(reference);
+                assertEquals(i, CardTree.lastIndexOfMax(t));
+                t = CardTree.removeAt(t, i);
+                reference.remove(i);
+            } else if (op == 4) {
+                Card c = randomCard(random);
+                assertEquals(reference.indexOf(c), CardTree.indexOf(t, c));
+            } else {
+                int i = random.nextInt(reference.size());
+                assertSame(reference.get(i), CardTree.get(t, i));
+            }
+            assertEquals(reference.size(), CardTree.size(t));
+            if (step % 50 == 0) {
+                versions.add(t);
+                expected.add(reference.toArray(new Card[0]));
+            }
+        }
+        assertArrayEquals(reference.toArray(new Card[0]), toArray(t));
+        for (int v = 0; v < versions.size(); v++) {
+            assertArrayEquals(expected.get(v), toArray(versions.get(v)));
+        }
+    }
+
+    @Test
+    public void persistentDeckRoundTripsThroughDeck() {
+        Deck deck = new Deck(RandomSource.seeded(4));
+        deck.shuffle();
+        deck.addCard(JOKER);
+        Card[] cards = deck.toArray();
+        PersistentDeck persistent = PersistentDeck.of(cards);
+        PersistentDeck drawn = persistent.withoutTop().withCard(cards[0]);
+
+        assertArrayEquals(cards, persistent.toDeck().toArray());
+        assertEquals(cards.length, drawn.size());
+        assertSame(cards[1], drawn.top());
+        assertSame(cards[0], drawn.cardAt(cards.length - 1));
+    }
+}
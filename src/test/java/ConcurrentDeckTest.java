@@ -0,0 +1,131 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentDeckTest {
+    private static final int STRESS_CARDS = 20_000;
+    private static final int STRESS_THREADS = 8;
+
+    /**
+     * Builds STRESS_CARDS distinct cards whose value is their index.
+     */
+    private static Card[] distinctCards() {
+        Card[] cards = new Card[STRESS_CARDS];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = Card.of("Card " + i, "Stress", i);
+        }
+        return cards;
+    }
+
+    /**
+     * Marks each card's value as seen, failing if a card is seen twice.
+     */
+    private static void markSeen(boolean[] seen, List<Card> cards) {
+        for (Card c : cards) {
+            assertTrue(!seen[c.getValue()], "Card handed out twice: " + c);
+            seen[c.getValue()] = true;
+        }
+    }
+
+    @Test
+    public void concurrentDrawsHandOutEveryCardExactlyOnce() throws InterruptedException {
+        ConcurrentDeck deck = new ConcurrentDeck(distinctCards());
+        List<List<Card>> drawn = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < STRESS_THREADS; t++) {
+            List<Card> mine = new ArrayList<>();
+            drawn.add(mine);
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                Card c;
+                while ((c = deck.draw()) != null) {
+                    mine.add(c);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        boolean[] seen = new boolean[STRESS_CARDS];
+        int total = 0;
+        for (List<Card> mine : drawn) {
+            markSeen(seen, mine);
+            total += mine.size();
+        }
+        assertEquals(STRESS_CARDS, total);
+        assertEquals(0, deck.size());
+        assertNull(deck.draw());
+    }
+
+    @Test
+    public void drawsDuringAddsAndReshufflesNeverDuplicateOrLoseCards() throws InterruptedException {
+        ConcurrentDeck deck = new ConcurrentDeck(distinctCards());
+        List<List<Card>> held = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        for (int t = 0; t < STRESS_THREADS; t++) {
+            List<Card> mine = new ArrayList<>();
+            held.add(mine);
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    Card c = deck.draw();
+                    if (c != null) {
+                        mine.add(c);
+                    }
+                    if (!mine.isEmpty() && random.nextInt(3) == 0) {
+                        deck.addCard(mine.remove(mine.size() - 1));
+                    }
+                    if (mine.size() > 64) {
+                        deck.reshuffle(mine.toArray(new Card[0]));
+                        mine.clear();
+                    }
+                }
+            }));
+        }
+        Thread shuffler = new Thread(() -> {
+            while (running.get()) {
+                deck.shuffle();
+                Thread.yield();
+            }
+        });
+        threads.forEach(Thread::start);
+        shuffler.start();
+        Thread.sleep(1000);
+        running.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+        shuffler.join();
+
+        boolean[] seen = new boolean[STRESS_CARDS];
+        List<Card> rest = new ArrayList<>();
+        Card c;
+        while ((c = deck.draw()) != null) {
+            rest.add(c);
+        }
+        markSeen(seen, rest);
+        int total = rest.size();
+        for (List<Card> mine : held) {
+            markSeen(seen, mine);
+            total += mine.size();
+        }
+        assertEquals(STRESS_CARDS, total);
+    }
+}
@@ -0,0 +1,299 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DeckTest {
+    private static final Card JOKER = Card.of("Joker", "Red", 0);
+
+    /**
+     * Draws every card out of a deck one at a time, top first.
+     */
+    private static List<Card> drainOneByOne(Deck deck) {
+        List<Card> drawn = new ArrayList<>();
+        for (Card c = deck.draw(); c != null; c = deck.draw()) {
+            drawn.add(c);
+        }
+        return drawn;
+    }
+
+    private static void assertEveryStandardCardOnce(List<Card> cards) {
+        assertEquals(CardRegistry.STANDARD_SIZE, cards.size());
+        boolean[] seen = new boolean[CardRegistry.STANDARD_SIZE];
+        for (Card c : cards) {
+            assertTrue(CardRegistry.isStandard(c));
+            assertFalse(seen[c.getOrdinal()], "Duplicate " + c);
+            seen[c.getOrdinal()] = true;
+        }
+    }
+
+    /**
+     * Returns the cards sorted by ordinal, so two decks can be compared as multisets.
+     */
+    private static List<Card> sorted(List<Card> cards) {
+        List<Card> copy = new ArrayList<>(cards);
+        copy.sort(Comparator.comparingInt(Card::getOrdinal));
+        return copy;
+    }
+
+    @Test
+    public void lazyShuffleIsRepeatableAndConservesCards() {
+        Deck a = new Deck(RandomSource.seeded(12));
+        Deck b = new Deck(RandomSource.seeded(12));
+        a.shuffleLazily();
+        b.shuffleLazily();
+        List<Card> fromA = drainOneByOne(a);
+        Card[] fromB = new Card[CardRegistry.STANDARD_SIZE];
+        assertEquals(fromB.length, b.draw(fromB, 0, fromB.length));
+        assertArrayEquals(fromA.toArray(new Card[0]), fromB);
+        assertEveryStandardCardOnce(fromA);
+        assertNull(a.draw());
+    }
+
+    @Test
+    public void cardsAddedAfterALazyShuffleStayAtTheBottom() {
+        Deck deck = new Deck(RandomSource.seeded(13));
+        deck.shuffleLazily();
+        List<Card> drawn = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            drawn.add(deck.draw());
+        }
+        // Enough extra cards to make the ring buffer grow mid-shuffle.
+        List<Card> added = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Card c = i % 3 == 0 ? JOKER : drawn.get(i % drawn.size());
+            deck.addCard(c);
+            added.add(c);
+        }
+        List<Card> rest = drainOneByOne(deck);
+        assertEquals(42 + added.size(), rest.size());
+        assertEquals(added, rest.subList(42, rest.size()));
+        drawn.addAll(rest.subList(0, 42));
+        assertEveryStandardCardOnce(drawn);
+    }
+
+    @Test
+    public void inspectingTheDeckFixesThePendingOrder() {
+        Deck deck = new Deck(RandomSource.seeded(14));
+        Deck twin = new Deck(RandomSource.seeded(14));
+        deck.shuffleLazily();
+        twin.shuffleLazily();
+        for (int i = 0; i < 5; i++) {
+            assertSame(deck.draw(), twin.draw());
+        }
+        String shown = twin.toString();
+        Card[] order = deck.toArray();
+        assertEquals(Arrays.toString(order), shown);
+        for (int i = 0; i < order.length; i++) {
+            assertSame(order[i], deck.cardAt(i));
+        }
+        assertEquals(Arrays.asList(order), drainOneByOne(deck));
+        assertEquals(Arrays.asList(order), drainOneByOne(twin));
+    }
+
+    @Test
+    public void lazyShuffleDealsEveryOrderEvenly() {
+        Card[] three = { CardRegistry.standardCard(0), CardRegistry.standardCard(1), CardRegistry.standardCard(2) };
+        RandomSource random = RandomSource.seeded(15);
+        Map<String, Integer> counts = new HashMap<>();
+        int trials = 60_000;
+        for (int t = 0; t < trials; t++) {
+            Deck deck = new Deck(random);
+            deck.setCards(three, three.length);
+            deck.shuffleLazily();
+            String order = drainOneByOne(deck).toString();
+            counts.merge(order, 1, Integer::sum);
+        }
+        assertEquals(6, counts.size());
+        for (int n : counts.values()) {
+            assertTrue(Math.abs(n - trials / 6) < trials / 60, "Order seen " + n + " times");
+        }
+    }
+
+    @Test
+    public void capacityIsTheNextPowerOfTwoUpToTheLimit() {
+        assertEquals(16, Deck.capacityFor(0));
+        assertEquals(16, Deck.capacityFor(16));
+        assertEquals(32, Deck.capacityFor(17));
+        assertEquals(64, Deck.capacityFor(CardRegistry.STANDARD_SIZE));
+        assertEquals(1 << 30, Deck.capacityFor((1 << 29) + 1));
+        assertEquals(1 << 30, Deck.capacityFor(1 << 30));
+        assertThrows(IllegalStateException.class, () -> Deck.capacityFor((1 << 30) + 1));
+        assertThrows(IllegalStateException.class, () -> Deck.capacityFor(-1));
+    }
+
+    @Test
+    public void growingWhileWrappedKeepsTheOrder() {
+        Deck deck = new Deck(new Card[0]);
+        ArrayDeque<Card> reference = new ArrayDeque<>();
+        // 16 slots: move the top to slot 8, then fill the ring so it wraps before it grows.
+        for (int i = 0; i < 10; i++) {
+            deck.addCard(CardRegistry.standardCard(i));
+            reference.add(CardRegistry.standardCard(i));
+        }
+        for (int i = 0; i < 8; i++) {
+            assertSame(reference.poll(), deck.draw());
+        }
+        for (int i = 10; i < 24; i++) {
+            deck.addCard(CardRegistry.standardCard(i));
+            reference.add(CardRegistry.standardCard(i));
+        }
+        assertEquals(16, deck.size());
+        deck.addCard(JOKER);
+        reference.add(JOKER);
+        assertEquals(new ArrayList<>(reference), drainOneByOne(deck));
+    }
+
+    @Test
+    public void ringMatchesAQueueThroughManyWrapsAndGrowths() {
+        Random random = new Random(2);
+        Deck deck = new Deck(new Card[0]);
+        ArrayDeque<Card> reference = new ArrayDeque<>();
+        Card[] buffer = new Card[8];
+        for (int step = 0; step < 50_000; step++) {
+            // Drift upwards so the deck grows through several capacities.
+            int op = random.nextInt(20);
+            if (op < 12) {
+                Card c = random.nextInt(20) == 0 ? JOKER : CardRegistry.standardCard(random.nextInt(52));
+                deck.addCard(c);
+                reference.add(c);
+            } else if (op < 19) {
+                assertSame(reference.poll(), deck.draw());
+            } else {
+                int n = random.nextInt(buffer.length);
+                int drawn = deck.draw(buffer, 0, n);
+                assertEquals(Math.min(n, reference.size()), drawn);
+                for (int i = 0; i < drawn; i++) {
+                    assertSame(reference.poll(), buffer[i]);
+                }
+            }
+            assertEquals(reference.size(), deck.size());
+        }
+        assertTrue(reference.size() > 1000, "Only " + reference.size() + " cards left");
+        assertEquals(new ArrayList<>(reference), Arrays.asList(deck.toArray()));
+        assertEquals(new ArrayList<>(reference), drainOneByOne(deck));
+    }
+
+    @Test
+    public void dealHandsOutOneCardToEachPlayerInTurn() {
+        Deck deck = new Deck(RandomSource.seeded(16));
+        Deck twin = new Deck(RandomSource.seeded(16));
+        deck.shuffleLazily();
+        twin.shuffleLazily();
+        List<Card> order = drainOneByOne(twin);
+        Player[] players = { new Player("Ana", 30), new Player("Ben", 31), new Player("Cy", 32) };
+        Metrics.reset();
+        Metrics.setEnabled(true);
+        try {
+            assertEquals(15, deck.deal(players, 5));
+            assertEquals(1, Metrics.count(Metrics.Operation.DECK_DEAL));
+            assertEquals(0, Metrics.count(Metrics.Operation.DECK_DRAW));
+        } finally {
+            Metrics.setEnabled(false);
+            Metrics.reset();
+        }
+        for (int p = 0; p < players.length; p++) {
+            Card[] hand = players[p].getHand();
+            assertEquals(5, hand.length);
+            for (int round = 0; round < 5; round++) {
+                // Each card goes on top of the hand, so the first one dealt ends up at the bottom.
+                assertSame(order.get(round * 3 + p), hand[4 - round]);
+            }
+        }
+        assertEquals(37, deck.size());
+
+        // The deck runs out part way through a turn.
+        assertEquals(37, deck.deal(players, 20));
+        assertEquals(0, deck.size());
+        assertEquals(18, players[0].size());
+        assertEquals(17, players[1].size());
+        assertEquals(17, players[2].size());
+        assertEquals(order.get(51), players[0].getHand()[0]);
+        assertEquals(0, deck.deal(players, 1));
+        assertEquals(0, deck.deal(new Player[0], 5));
+    }
+
+    @Test
+    public void bulkDrawReadsAcrossTheWrapPoint() {
+        for (Deck deck : new Deck[] { new Deck(RandomSource.seeded(17)), new OffHeapDeck() }) {
+            // 52 cards in 64 slots: move the top near the end so added cards wrap to slot 0.
+            for (int i = 0; i < 50; i++) {
+                deck.draw();
+            }
+            List<Card> expected = new ArrayList<>();
+            expected.add(CardRegistry.standardCard(50));
+            expected.add(CardRegistry.standardCard(51));
+            for (int i = 0; i < 20; i++) {
+                Card c = i % 5 == 0 ? JOKER : CardRegistry.standardCard(i);
+                deck.addCard(c);
+                expected.add(c);
+            }
+            Card[] buffer = new Card[30];
+            assertEquals(22, deck.draw(buffer, 3, 25));
+            assertEquals(expected, Arrays.asList(buffer).subList(3, 25));
+            assertNull(buffer[2]);
+            assertNull(buffer[25]);
+            assertEquals(0, deck.size());
+            assertNull(deck.draw());
+
+            deck.addCard(JOKER);
+            deck.addCard(CardRegistry.standardCard(7));
+            assertEquals(2, deck.draw(buffer, 0, 2));
+            assertSame(JOKER, buffer[0]);
+            assertSame(CardRegistry.standardCard(7), buffer[1]);
+        }
+    }
+
+    @Test
+    public void reshufflingAPileMovesEveryCardIntoTheDeck() {
+        Deck[] decks = { new Deck(RandomSource.seeded(18)), new OffHeapDeck(1, RandomSource.seeded(18)),
+                new Deck(RandomSource.seeded(19)), new OffHeapDeck(1, RandomSource.seeded(19)) };
+        DiscardPile[] piles = { new DiscardPile(), new OffHeapDiscardPile(), new OffHeapDiscardPile(),
+                new DiscardPile() };
+        for (int d = 0; d < decks.length; d++) {
+            Deck deck = decks[d];
+            DiscardPile pile = piles[d];
+            for (int i = 0; i < 45; i++) {
+                deck.draw();
+            }
+            List<Card> expected = new ArrayList<>(Arrays.asList(deck.toArray()));
+            // Removed cards leave empty slots, so the pile is compacted on the way.
+            for (int i = 0; i < 40; i++) {
+                pile.addCard(i % 8 == 0 ? JOKER : CardRegistry.standardCard(i));
+            }
+            for (int i = 1; i < 40; i += 4) {
+                pile.removeCard(CardRegistry.standardCard(i));
+            }
+            expected.addAll(Arrays.asList(pile.getCards()));
+            // 7 cards are left from slot 45, so the 30 from the pile wrap past slot 63.
+            deck.reshuffle(pile);
+            assertEquals(0, pile.size());
+            assertEquals(37, deck.size());
+            assertEquals(sorted(expected), sorted(drainOneByOne(deck)));
+
+            // A pile too big for the deck makes it grow first.
+            for (int i = 0; i < 200; i++) {
+                pile.addCard(CardRegistry.standardCard(i % CardRegistry.STANDARD_SIZE));
+            }
+            deck.addCard(JOKER);
+            deck.reshuffle(pile);
+            assertEquals(201, deck.size());
+            assertEquals(0, pile.size());
+            assertEquals(4, drainOneByOne(deck).stream().filter(c -> c.equals(CardRegistry.standardCard(3))).count());
+        }
+    }
+}
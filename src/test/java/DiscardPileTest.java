@@ -0,0 +1,112 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DiscardPileTest {
+    private static final Card JOKER = Card.of("Joker", "Black", 0);
+
+    /**
+     * Returns a card from a small pool so the pile holds many copies of each.
+     */
+    private static Card randomCard(Random random) {
+        return random.nextInt(25) == 0 ? JOKER : CardRegistry.standardCard(random.nextInt(6));
+    }
+
+    /**
+     * Adds and removes random cards, checking the pile against a plain list
+     * and checking that removed slots never outnumber live ones for long.
+     */
+    private static void checkAgainstList(DiscardPile pile, long seed) {
+        Random random = new Random(seed);
+        List<Card> reference = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            // Grow and shrink in long runs so the slots compact many times.
+            boolean growing = (step / 500) % 2 == 0;
+            Card c = randomCard(random);
+            if (random.nextInt(10) < (growing ? 7 : 3)) {
+                pile.addCard(c);
+                reference.add(c);
+            } else {
+                int i = reference.indexOf(c);
+                Card removed = pile.removeCard(c);
+                if (i < 0) {
+                    assertNull(removed);
+                } else {
+                    assertSame(reference.remove(i), removed);
+                }
+                int slots = pile.slotCount();
+                assertTrue(slots <= 16 || slots - pile.size() <= pile.size(), slots + " slots for " + pile.size());
+            }
+            assertEquals(reference.size(), pile.size());
+            assertEquals(reference.contains(c), pile.contains(c));
+            if (step % 101 == 0) {
+                Card[] expected = reference.toArray(new Card[0]);
+                assertArrayEquals(expected, pile.getCards());
+                List<Card> live = new ArrayList<>();
+                for (int slot = 0; slot < pile.slotCount(); slot++) {
+                    if (pile.slotAt(slot) != null) {
+                        live.add(pile.slotAt(slot));
+                    }
+                }
+                assertArrayEquals(expected, live.toArray(new Card[0]));
+            }
+        }
+        Card[] expected = reference.toArray(new Card[0]);
+        Card[] compacted = pile.compactedSlots();
+        assertEquals(expected.length, pile.slotCount());
+        assertArrayEquals(expected, Arrays.copyOf(compacted, expected.length));
+        assertArrayEquals(expected, pile.removeAll());
+        assertEquals(0, pile.size());
+    }
+
+    @Test
+    public void heapPileMatchesAPlainListAcrossCompactions() {
+        checkAgainstList(new DiscardPile(), 6);
+    }
+
+    @Test
+    public void offHeapPileMatchesAPlainListAcrossCompactions() {
+        checkAgainstList(new OffHeapDiscardPile(), 7);
+    }
+
+    @Test
+    public void removingAfterCompactionTakesTheOldestCopy() {
+        DiscardPile pile = new DiscardPile();
+        List<Card> reference = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Card c = CardRegistry.standardCard(i % 6);
+            pile.addCard(c);
+            reference.add(c);
+        }
+        for (int ordinal = 0; ordinal < 3; ordinal++) {
+            for (int copy = 0; copy < 10; copy++) {
+                pile.removeCard(CardRegistry.standardCard(ordinal));
+                reference.remove(CardRegistry.standardCard(ordinal));
+            }
+        }
+        assertEquals(60, pile.slotCount());
+        pile.removeCard(CardRegistry.standardCard(3));
+        reference.remove(CardRegistry.standardCard(3));
+        assertEquals(29, pile.slotCount());
+        assertArrayEquals(reference.toArray(new Card[0]), pile.getCards());
+
+        pile.removeCard(CardRegistry.standardCard(4));
+        reference.remove(CardRegistry.standardCard(4));
+        pile.addCard(JOKER);
+        reference.add(JOKER);
+        assertArrayEquals(reference.toArray(new Card[0]), pile.getCards());
+        assertSame(JOKER, pile.removeCard(JOKER));
+        assertNull(pile.removeCard(JOKER));
+        assertTrue(pile.contains(CardRegistry.standardCard(5)));
+        assertNull(pile.removeCard(CardRegistry.standardCard(0)));
+    }
+}
@@ -0,0 +1,164 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GameJournalTest {
+    private Path dir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("game-journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Deals a five-card hand to each named player from a deck shuffled with the seed.
+     */
+    private static Player[] deal(String[] names, long seed, Deck deck) {
+        Player[] players = new Player[names.length];
+        for (int i = 0; i < names.length; i++) {
+            players[i] = new Player(names[i], 30);
+        }
+        deck.shuffle(RandomSource.seeded(seed));
+        deck.deal(players, 5);
+        return players;
+    }
+
+    /**
+     * Plays a game the way HighCardGame's console path does and returns what it prints.
+     */
+    private static String playToText(String[] names, long seed) {
+        Deck deck = new Deck();
+        Player[] players = deal(names, seed, deck);
+        StringBuilder sb = new StringBuilder();
+        int[] points = new int[players.length];
+        Card[] played = new Card[players.length];
+        for (int round = 1; round <= 5; round++) {
+            int winner = HighCardGame.playRound(players, played, deck);
+            sb.append("\nRound ").append(round).append(":\n");
+            for (int i = 0; i < players.length; i++) {
+                sb.append(names[i]).append(" plays: ").append(played[i]).append('\n');
+            }
+            if (winner < 0) {
+                sb.append("Tie, no points awarded.\n");
+            } else {
+                sb.append(names[winner]).append(" wins the round!\n");
+                points[winner]++;
+            }
+        }
+        sb.append("\nFinal Scores:\n");
+        int winner = -1;
+        for (int i = 0; i < players.length; i++) {
+            sb.append(names[i]).append(": ").append(points[i]).append('\n');
+            if (winner < 0 || points[i] > points[winner]) {
+                winner = i;
+            }
+        }
+        boolean tied = false;
+        for (int i = 0; i < players.length; i++) {
+            tied |= i != winner && points[i] == points[winner];
+        }
+        sb.append(tied ? "It's a tie!\n" : "Winner: " + names[winner] + "\n");
+        return sb.toString();
+    }
+
+    private Path journalOf(String[] names, long seed) throws IOException {
+        Path path = dir.resolve("game-" + seed + ".journal");
+        Deck deck = new Deck();
+        Player[] players = deal(names, seed, deck);
+        try (GameJournal journal = new GameJournal(path, names)) {
+            HighCardGame.playGame(players, deck, 5, journal);
+        }
+        return path;
+    }
+
+    /**
+     * Writes a header for two players followed by one raw record.
+     */
+    private Path journalWithRecord(byte type, int seat) throws IOException {
+        Path path = dir.resolve("raw.journal");
+        new GameJournal(path, new String[] { "Ana", "Ben" }).close();
+        ByteBuffer record = ByteBuffer.allocate(GameJournal.RECORD_SIZE);
+        record.put(type).put((byte) seat).putShort((short) 1).putInt(0);
+        Files.write(path, record.array(), StandardOpenOption.APPEND);
+        return path;
+    }
+
+    @Test
+    public void readerRendersTheSameTextAsTheConsole() throws IOException {
+        String[][] tables = { { "Ana", "Ben" }, { "Ana", "Ben", "Cy" }, { "D\u00f6rte", "\u00c9mile", "Fay", "Gus" } };
+        boolean sawTie = false;
+        boolean sawWinner = false;
+        for (String[] names : tables) {
+            for (long seed = 1; seed <= 20; seed++) {
+                String expected = playToText(names, seed);
+                assertEquals(expected, GameJournalReader.render(journalOf(names, seed)), "Seed " + seed);
+                sawTie |= expected.contains("Tie, no points");
+                sawWinner |= expected.contains("Winner: ");
+            }
+        }
+        assertTrue(sawTie && sawWinner);
+    }
+
+    @Test
+    public void journalRecordsEveryDealtCard() throws IOException {
+        String[] names = { "Ana", "Ben" };
+        Path path = journalOf(names, 3);
+        // Header, then 10 deals, 5 rounds of 2 plays and a result, and 2 final scores.
+        int header = Integer.BYTES + 2 * Short.BYTES + 2 * (Short.BYTES + 3);
+        assertEquals(header + (10 + 15 + 2) * GameJournal.RECORD_SIZE, Files.size(path));
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer in = ByteBuffer.wrap(bytes, header, 10 * GameJournal.RECORD_SIZE);
+        Deck deck = new Deck();
+        Player[] players = deal(names, 3, deck);
+        for (int seat = 0; seat < 2; seat++) {
+            Card[] hand = players[seat].getHand();
+            Card[] recorded = new Card[hand.length];
+            for (int c = hand.length - 1; c >= 0; c--) {
+                assertEquals(GameJournal.DEAL, in.get());
+                assertEquals(seat, in.get());
+                in.getShort();
+                recorded[c] = CardRegistry.byOrdinal(in.getInt());
+            }
+            assertArrayEquals(hand, recorded);
+        }
+    }
+
+    @Test
+    public void readerRejectsAnUnknownRecordType() throws IOException {
+        Path path = journalWithRecord((byte) 9, 0);
+        IOException e = assertThrows(IOException.class, () -> GameJournalReader.render(path));
+        assertEquals("Unknown journal record type 9", e.getMessage());
+    }
+
+    @Test
+    public void readerRejectsAnUnknownSeat() throws IOException {
+        Path path = journalWithRecord(GameJournal.PLAY, 2);
+        IOException e = assertThrows(IOException.class, () -> GameJournalReader.render(path));
+        assertEquals("Journal record for unknown seat 2", e.getMessage());
+        IOException negative = assertThrows(IOException.class,
+                () -> GameJournalReader.render(journalWithRecord(GameJournal.DEAL, -1)));
+        assertEquals("Journal record for unknown seat -1", negative.getMessage());
+    }
+}
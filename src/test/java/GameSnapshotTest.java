@@ -0,0 +1,93 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class GameSnapshotTest {
+    private static final Card RED_JOKER = Card.of("Joker", "Red", 0);
+    private static final Card BLACK_JOKER = Card.of("Joker", "Black", 0);
+
+    /**
+     * Draws every card out of a deck, top first.
+     */
+    private static Card[] drain(Deck deck) {
+        Card[] cards = new Card[deck.size()];
+        deck.draw(cards, 0, cards.length);
+        return cards;
+    }
+
+    @Test
+    public void deckRoundTripKeepsOrderAndNonStandardCards() throws IOException {
+        Deck deck = new Deck(RandomSource.seeded(7));
+        deck.shuffle();
+        deck.draw();
+        deck.addCard(RED_JOKER);
+        deck.addCard(BLACK_JOKER);
+        deck.addCard(RED_JOKER);
+        ByteBuffer out = ByteBuffer.allocate(GameSnapshot.sizeOf(deck));
+        GameSnapshot.write(deck, out);
+        assertEquals(0, out.remaining());
+
+        out.flip();
+        Deck restored = GameSnapshot.readDeck(out);
+        assertArrayEquals(drain(deck), drain(restored));
+    }
+
+    @Test
+    public void playerRoundTripKeepsNameAgeAndHandOrder() throws IOException {
+        Deck deck = new Deck(RandomSource.seeded(11));
+        deck.shuffle();
+        Player player = new Player("Ana", 31);
+        for (int i = 0; i < 9; i++) {
+            player.draw(deck);
+        }
+        player.receive(BLACK_JOKER);
+        ByteBuffer out = ByteBuffer.allocate(GameSnapshot.sizeOf(player));
+        GameSnapshot.write(player, out);
+
+        out.flip();
+        Player restored = GameSnapshot.readPlayer(out);
+        assertEquals("Ana", restored.getName());
+        assertEquals(31, restored.getAge());
+        assertArrayEquals(player.getHand(), restored.getHand());
+    }
+
+    @Test
+    public void discardPileRoundTripSkipsRemovedCards() throws IOException {
+        DiscardPile pile = new DiscardPile();
+        for (int i = 0; i < 60; i++) {
+            pile.addCard(CardRegistry.standardCard(i % CardRegistry.STANDARD_SIZE));
+        }
+        for (int i = 0; i < 40; i++) {
+            pile.removeCard(CardRegistry.standardCard(i));
+        }
+        pile.addCard(RED_JOKER);
+        ByteBuffer out = ByteBuffer.allocate(GameSnapshot.sizeOf(pile));
+        GameSnapshot.write(pile, out);
+
+        out.flip();
+        assertArrayEquals(pile.getCards(), GameSnapshot.readDiscardPile(out).getCards());
+    }
+
+    @Test
+    public void damagedSnapshotsThrowIOException() throws IOException {
+        DiscardPile pile = new DiscardPile(new Card[] { RED_JOKER, CardRegistry.standardCard(3) });
+        ByteBuffer out = ByteBuffer.allocate(GameSnapshot.sizeOf(pile));
+        GameSnapshot.write(pile, out);
+        byte[] bytes = out.array();
+
+        for (int length = 0; length < bytes.length; length++) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> GameSnapshot.readDiscardPile(truncated));
+        }
+        byte[] badCode = bytes.clone();
+        badCode[badCode.length - 1] = (byte) 0xF0;
+        assertThrows(IOException.class, () -> GameSnapshot.readDiscardPile(ByteBuffer.wrap(badCode)));
+        assertThrows(IOException.class, () -> GameSnapshot.readDeck(ByteBuffer.wrap(bytes)));
+    }
+}
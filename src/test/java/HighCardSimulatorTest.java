@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class HighCardSimulatorTest {
+
+    private static byte[] bytes(SimulationResult result) {
+        ByteBuffer out = ByteBuffer.allocate(SimulationResult.byteSize(result.getPlayerCount()));
+        result.writeTo(out);
+        return out.array();
+    }
+
+    @Test
+    public void batchedRunsMatchGameByGameRuns() {
+        int[][] shapes = { { 2, 5, 5 }, { 2, 1, 1 }, { 3, 7, 4 }, { 4, 13, 13 }, { 6, 8, 2 }, { 26, 2, 2 } };
+        for (int[] shape : shapes) {
+            HighCardSimulator simulator = new HighCardSimulator(shape[0], shape[1], shape[2]);
+            String name = shape[0] + " players, " + shape[1] + " cards, " + shape[2] + " rounds";
+            // Not a multiple of any batch size, and more than one task's worth.
+            SimulationResult plain = simulator.run(3, 10_007, 51);
+            SimulationResult batched = simulator.runBatched(3, 10_007, 51);
+            assertEquals(10_007, batched.getGames(), name);
+            assertArrayEquals(bytes(plain), bytes(batched), name);
+        }
+        HighCardSimulator simulator = new HighCardSimulator(2, 5, 5);
+        assertArrayEquals(bytes(simulator.run(0, 0, 51)), bytes(simulator.runBatched(0, 0, 51)));
+        assertArrayEquals(bytes(simulator.run(0, 1, 52)), bytes(simulator.runBatched(0, 1, 52)));
+    }
+
+    @Test
+    public void resolverOnlyScoresAStrictlyHighestValue() {
+        BatchRoundResolver resolver = new BatchRoundResolver(3, 8);
+        // Lanes: a clear winner for each seat, a two-way tie at the top for each pair
+        // of seats, a three-way tie at zero, and another two-way tie.
+        int[][] round1 = {
+                { 9, 1, 1, 5, 5, 2, 0, 8 },
+                { 2, 9, 1, 5, 2, 5, 0, 3 },
+                { 1, 2, 9, 1, 5, 5, 0, 8 },
+        };
+        resolver.resolveRound(round1, 8);
+        SimulationResult result = resolver.getResult();
+        assertEquals(8, result.getRounds());
+        assertEquals(5, result.getRoundTies());
+        assertEquals(1, result.getRoundWins(0));
+        assertEquals(1, result.getRoundWins(1));
+        assertEquals(1, result.getRoundWins(2));
+
+        // Only the first five lanes take part; the rest hold stale values.
+        int[][] round2 = {
+                { 3, 3, 3, 3, 3, 99, 99, 99 },
+                { 3, 3, 3, 3, 4, 99, 99, 99 },
+                { 3, 3, 3, 3, 3, 99, 99, 99 },
+        };
+        resolver.resolveRound(round2, 5);
+        assertEquals(13, result.getRounds());
+        assertEquals(9, result.getRoundTies());
+        assertEquals(2, result.getRoundWins(1));
+
+        // Game points by lane: seat 0 {1,0,0,0,0}, seat 1 {0,1,0,0,1}, seat 2 {0,0,1,0,0}.
+        resolver.finishGames(5);
+        assertEquals(5, result.getGames());
+        assertEquals(1, result.getGameTies());
+        assertEquals(1, result.getGameWins(0));
+        assertEquals(2, result.getGameWins(1));
+        assertEquals(1, result.getGameWins(2));
+
+        // Points were cleared, so a lone round decides the next games.
+        resolver.resolveRound(new int[][] { { 1, 7 }, { 1, 6 }, { 0, 6 } }, 2);
+        resolver.finishGames(2);
+        assertEquals(7, result.getGames());
+        assertEquals(2, result.getGameTies());
+        assertEquals(2, result.getGameWins(0));
+    }
+}
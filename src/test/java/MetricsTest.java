@@ -0,0 +1,47 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class MetricsTest {
+    @Test
+    public void nothingIsTimedWhileEverythingIsOff() {
+        assertFalse(Metrics.isEnabled());
+        assertNull(Metrics.start());
+        assertNull(Metrics.startRound());
+    }
+
+    @Test
+    public void flightRecorderEventsSpanTheOperationWithMetricsOff() throws Exception {
+        assertFalse(Metrics.isEnabled());
+        Path file = Files.createTempFile("metrics", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("cardgame.CardOperation");
+            recording.start();
+            Metrics.CardOperationEvent timing = Metrics.start();
+            Thread.sleep(20);
+            Metrics.stop(Metrics.Operation.DECK_SHUFFLE, timing);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(Metrics.Operation.DECK_SHUFFLE.getLabel(), event.getString("operation"));
+        assertTrue(event.getDuration().compareTo(Duration.ofMillis(20)) >= 0, "Duration " + event.getDuration());
+        assertEquals(0, Metrics.count(Metrics.Operation.DECK_SHUFFLE));
+    }
+}
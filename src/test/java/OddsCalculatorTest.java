@@ -0,0 +1,161 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class OddsCalculatorTest {
+
+    /**
+     * Counts, by brute force over every way of dealing hands from the cards,
+     * the deals behind each round outcome and each final score vector.
+     */
+    private static final class BruteForce {
+        private final int[] values;
+        private final int players;
+        private final int handSize;
+        private final int rounds;
+        private final int[] owner;
+        private final int[] dealt;
+        long total;
+        final long[][] roundWays;
+        final Map<String, Long> scoreWays = new HashMap<>();
+
+        BruteForce(int[] values, int players, int handSize, int rounds) {
+            this.values = values;
+            this.players = players;
+            this.handSize = handSize;
+            this.rounds = rounds;
+            owner = new int[values.length];
+            dealt = new int[players];
+            roundWays = new long[rounds][players + 1];
+            assign(0);
+        }
+
+        /**
+         * Gives card i to each player with room, or leaves it in the deck, and recurses.
+         */
+        private void assign(int i) {
+            int left = values.length - i;
+            int stillNeeded = 0;
+            for (int p = 0; p < players; p++) {
+                stillNeeded += handSize - dealt[p];
+            }
+            if (stillNeeded > left) {
+                return;
+            }
+            if (i == values.length) {
+                play();
+                return;
+            }
+            for (int p = -1; p < players; p++) {
+                if (p >= 0 && dealt[p] == handSize) {
+                    continue;
+                }
+                owner[i] = p;
+                if (p >= 0) {
+                    dealt[p]++;
+                }
+                assign(i + 1);
+                if (p >= 0) {
+                    dealt[p]--;
+                }
+            }
+        }
+
+        private void play() {
+            total++;
+            int[][] hands = new int[players][handSize];
+            int[] filled = new int[players];
+            for (int i = 0; i < values.length; i++) {
+                if (owner[i] >= 0) {
+                    hands[owner[i]][filled[owner[i]]++] = values[i];
+                }
+            }
+            for (int[] hand : hands) {
+                Arrays.sort(hand);
+            }
+            int[] scores = new int[players];
+            for (int r = 0; r < rounds; r++) {
+                int winner = -1;
+                int best = -1;
+                for (int p = 0; p < players; p++) {
+                    int v = hands[p][handSize - 1 - r];
+                    if (v > best) {
+                        best = v;
+                        winner = p;
+                    } else if (v == best) {
+                        winner = -1;
+                    }
+                }
+                if (winner < 0) {
+                    roundWays[r][players]++;
+                } else {
+                    roundWays[r][winner]++;
+                    scores[winner]++;
+                }
+            }
+            scoreWays.merge(Arrays.toString(scores), 1L, Long::sum);
+        }
+    }
+
+    private static Card[] cardsOfValues(int... values) {
+        Card[] cards = new Card[values.length];
+        for (int i = 0; i < values.length; i++) {
+            cards[i] = Card.of("Odds " + i, "Test", values[i]);
+        }
+        return cards;
+    }
+
+    private static void assertMatchesBruteForce(int players, int handSize, int rounds, int... values) {
+        OddsResult odds = new OddsCalculator(players, handSize, rounds).compute(cardsOfValues(values));
+        BruteForce brute = new BruteForce(values, players, handSize, rounds);
+
+        assertEquals(BigInteger.valueOf(brute.total), odds.getTotalDeals());
+        for (int r = 0; r < rounds; r++) {
+            for (int p = 0; p < players; p++) {
+                assertEquals(BigInteger.valueOf(brute.roundWays[r][p]), odds.getRoundWinWays(r + 1, p));
+            }
+            assertEquals(BigInteger.valueOf(brute.roundWays[r][players]), odds.getRoundTieWays(r + 1));
+        }
+        int[] scores = new int[players];
+        while (true) {
+            long expected = brute.scoreWays.getOrDefault(Arrays.toString(scores), 0L);
+            assertEquals(BigInteger.valueOf(expected), odds.getScoreWays(scores), Arrays.toString(scores));
+            int p = 0;
+            while (p < players && ++scores[p] > rounds) {
+                scores[p++] = 0;
+            }
+            if (p == players) {
+                break;
+            }
+        }
+    }
+
+    @Test
+    public void twoPlayersWithRepeatedValues() {
+        assertMatchesBruteForce(2, 3, 3, 1, 1, 2, 3, 3, 3, 5, 7, 7);
+    }
+
+    @Test
+    public void threePlayersPlayingFewerRoundsThanCards() {
+        assertMatchesBruteForce(3, 2, 1, 2, 2, 4, 4, 6, 9, 9, 10);
+    }
+
+    @Test
+    public void dealingEveryCardWithAllValuesEqual() {
+        assertMatchesBruteForce(2, 4, 2, 8, 8, 8, 8, 8, 8, 8, 8);
+    }
+
+    @Test
+    public void repeatedProfilesComeFromTheCache() {
+        OddsCalculator calculator = new OddsCalculator(2, 2, 2);
+        OddsResult first = calculator.compute(cardsOfValues(3, 1, 4, 1, 5));
+        OddsResult second = calculator.compute(cardsOfValues(1, 5, 1, 3, 4));
+        assertEquals(1, calculator.cacheSize());
+        assertEquals(first.getMatchTieWays(), second.getMatchTieWays());
+    }
+}
@@ -0,0 +1,58 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class OffHeapDeckTest {
+    private static final Card JOKER = Card.of("Joker", "Red", 0);
+
+    @Test
+    public void offHeapDeckDealsLikeAHeapDeckWithTheSameSeed() {
+        Deck heap = new Deck(RandomSource.seeded(21));
+        Deck offHeap = new OffHeapDeck(1, RandomSource.seeded(21));
+        heap.shuffleLazily();
+        offHeap.shuffleLazily();
+        Card[] heapHand = new Card[7];
+        Card[] offHeapHand = new Card[7];
+        for (int round = 0; round < 40; round++) {
+            assertSame(heap.draw(), offHeap.draw());
+            heap.draw(heapHand, 0, 7);
+            offHeap.draw(offHeapHand, 0, 7);
+            assertArrayEquals(heapHand, offHeapHand);
+            heap.addCard(JOKER);
+            offHeap.addCard(JOKER);
+            heap.reshuffle(heapHand);
+            offHeap.reshuffle(offHeapHand);
+            assertEquals(heap.toString(), offHeap.toString());
+        }
+    }
+
+    @Test
+    public void offHeapPileKeepsItsIndexThroughGrowthAndCompaction() {
+        Random random = new Random(4);
+        DiscardPile heap = new DiscardPile();
+        DiscardPile offHeap = new OffHeapDiscardPile();
+        for (int step = 0; step < 5_000; step++) {
+            Card c = random.nextInt(30) == 0 ? JOKER : CardRegistry.standardCard(random.nextInt(CardRegistry.STANDARD_SIZE));
+            if (random.nextInt(3) == 0) {
+                assertSame(heap.removeCard(c), offHeap.removeCard(c));
+            } else {
+                heap.addCard(c);
+                offHeap.addCard(c);
+            }
+            assertEquals(heap.contains(c), offHeap.contains(c));
+        }
+        assertArrayEquals(heap.getCards(), offHeap.getCards());
+
+        Deck deck = new OffHeapDeck(0);
+        int size = offHeap.size();
+        deck.reshuffle(offHeap);
+        assertEquals(size, deck.size());
+        assertEquals(0, offHeap.size());
+        assertNull(offHeap.removeCard(JOKER));
+    }
+}
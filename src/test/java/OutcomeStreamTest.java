@@ -0,0 +1,51 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class OutcomeStreamTest {
+
+    /**
+     * Returns true while any outcome consumer thread is still running.
+     */
+    private static boolean consumersAlive() {
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().startsWith("outcome-consumer-") && t.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void failedProducerStillStopsTheConsumers() throws InterruptedException {
+        AtomicLong plays = new AtomicLong();
+        GameRules failing = new HighCardRules(5, 5) {
+            @Override
+            public Card play(Player player) {
+                if (plays.incrementAndGet() > 50_000)
+                    throw new IllegalStateException("rules failed");
+                return super.play(player);
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> OutcomeStream.simulate(failing, 2, 1_000_000, 1));
+        for (int i = 0; i < 100 && consumersAlive(); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(consumersAlive());
+    }
+
+    @Test
+    public void sameSeedGivesTheSameStatistics() throws InterruptedException {
+        OutcomeStats first = OutcomeStream.simulate(new HighCardRules(5, 5), 3, 20_000, 9);
+        OutcomeStats second = OutcomeStream.simulate(new HighCardRules(5, 5), 3, 20_000, 9);
+        assertEquals(20_000, first.getGames());
+        assertEquals(first.getTies(), second.getTies());
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(first.getWins(seat), second.getWins(seat));
+        }
+    }
+}
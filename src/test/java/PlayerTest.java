@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PlayerTest {
+    private static final Card JOKER = Card.of("Joker", "Red", 0);
+
+    /**
+     * Returns the index in a reference hand, bottom first, of the k-th highest
+     * card, ranking cards of equal value from the top down.
+     */
+    private static int kthHighest(List<Card> reference, int k) {
+        List<Integer> ranked = new ArrayList<>();
+        for (int i = reference.size() - 1; i >= 0; i--) {
+            ranked.add(i);
+        }
+        ranked.sort((a, b) -> Integer.compare(reference.get(b).getValue(), reference.get(a).getValue()));
+        return ranked.get(k - 1);
+    }
+
+    private static Card[] topFirst(List<Card> reference) {
+        Card[] cards = new Card[reference.size()];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = reference.get(reference.size() - 1 - i);
+        }
+        return cards;
+    }
+
+    @Test
+    public void listFormMatchesAPlainListUnderRandomOperations() {
+        Random random = new Random(17);
+        Player player = new Player("Ana", 30);
+        List<Card> reference = new ArrayList<>();
+        DiscardPile pile = new DiscardPile();
+        for (int step = 0; step < 20_000; step++) {
+            int op = random.nextInt(10);
+            if (op < 4 || reference.isEmpty()) {
+                Card c = random.nextInt(20) == 0 ? JOKER : CardRegistry.standardCard(random.nextInt(8));
+                player.receive(c);
+                reference.add(c);
+            } else if (op == 4) {
+                int i = kthHighest(reference, 1);
+                assertSame(reference.remove(i), player.removeHighestCard());
+            } else if (op == 5) {
+                int i = kthHighest(reference, reference.size());
+                int low = reference.get(i).getValue();
+                int top = reference.size() - 1;
+                while (reference.get(top).getValue() != low) {
+                    top--;
+                }
+                assertSame(reference.remove(top), player.removeLowestCard());
+            } else if (op == 6) {
+                assertSame(reference.remove(0), player.removeBottomCard());
+            } else if (op == 7) {
+                int k = 1 + random.nextInt(reference.size());
+                assertSame(reference.get(kthHighest(reference, k)), player.getKthHighestCard(k));
+            } else {
+                Card c = random.nextInt(20) == 0 ? JOKER : CardRegistry.standardCard(random.nextInt(8));
+                boolean held = reference.remove(c);
+                assertEquals(held, player.discardCard(c, pile));
+            }
+            assertEquals(reference.size(), player.size());
+            if (step % 97 == 0) {
+                assertArrayEquals(topFirst(reference), player.getHand());
+                for (int i = 0; i < reference.size(); i++) {
+                    assertSame(reference.get(i), player.cardAt(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void removingTheLowestCopyKeepsTheOthersInOrder() {
+        Card ace = CardRegistry.standardCard(0);
+        Card two = CardRegistry.standardCard(1);
+        Player player = new Player("Ben", 40, new Card[] { ace, two, ace, JOKER, ace });
+        Deck deck = new Deck(new Card[0]);
+        assertTrue(player.returnCard(ace, deck));
+        assertArrayEquals(new Card[] { ace, two, ace, JOKER }, player.getHand());
+        assertTrue(player.returnCard(ace, deck));
+        assertTrue(player.returnCard(ace, deck));
+        assertFalse(player.returnCard(ace, deck));
+        assertArrayEquals(new Card[] { two, JOKER }, player.getHand());
+        assertSame(JOKER, player.removeBottomCard());
+        assertSame(two, player.getHighestCard());
+        assertSame(two, player.removeLowestCard());
+        assertNull(player.removeBottomCard());
+        assertEquals(0, player.size());
+    }
+}
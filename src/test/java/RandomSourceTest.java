@@ -0,0 +1,73 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class RandomSourceTest {
+
+    /**
+     * Shuffles a fresh standard deck with the source and returns its order.
+     */
+    private static Card[] shuffled(RandomSource random) {
+        Deck deck = new Deck(random);
+        deck.shuffle();
+        return deck.toArray();
+    }
+
+    @Test
+    public void seededSourcesReplayTheSameShuffles() {
+        for (long seed : new long[] { 0, 1, -7, Long.MAX_VALUE }) {
+            RandomSource a = RandomSource.seeded(seed);
+            RandomSource b = RandomSource.seeded(seed);
+            for (int game = 0; game < 5; game++) {
+                assertArrayEquals(shuffled(a), shuffled(b), "Seed " + seed + ", game " + game);
+            }
+        }
+        assertFalse(Arrays.equals(shuffled(RandomSource.seeded(1)), shuffled(RandomSource.seeded(2))));
+        assertArrayEquals(shuffled(RandomSource.of(new Random(3))), shuffled(RandomSource.of(new Random(3))));
+    }
+
+    @Test
+    public void shuffleWithASourceOverridesTheDecksOwn() {
+        Deck deck = new Deck(RandomSource.seeded(8));
+        deck.shuffle(RandomSource.seeded(9));
+        Deck lazy = new Deck();
+        lazy.shuffleLazily(RandomSource.seeded(9));
+        Card[] expected = shuffled(RandomSource.seeded(9));
+        assertArrayEquals(expected, deck.toArray());
+        assertArrayEquals(expected, lazy.toArray());
+        assertThrows(IllegalArgumentException.class, () -> deck.shuffle(null));
+        assertThrows(IllegalArgumentException.class, () -> new Deck((RandomSource) null));
+        assertThrows(IllegalArgumentException.class, () -> RandomSource.of(null));
+    }
+
+    @Test
+    public void everySourceStaysWithinItsBound() {
+        RandomSource[] sources = { RandomSource.threadLocal(), RandomSource.seeded(4), RandomSource.of(new Random(5)) };
+        for (RandomSource random : sources) {
+            for (int bound = 1; bound < 200; bound++) {
+                int n = random.nextInt(bound);
+                assertTrue(n >= 0 && n < bound, n + " for bound " + bound);
+            }
+        }
+    }
+
+    @Test
+    public void streamSeedsAreRepeatableAndDistinct() {
+        Set<Long> seen = new HashSet<>();
+        for (long index = 0; index < 10_000; index++) {
+            long s = RandomSource.streamSeed(42, index);
+            assertEquals(s, RandomSource.streamSeed(42, index));
+            assertTrue(seen.add(s), "Repeated seed for stream " + index);
+        }
+        assertFalse(RandomSource.streamSeed(42, 0) == RandomSource.streamSeed(43, 0));
+    }
+}
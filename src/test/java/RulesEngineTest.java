@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class RulesEngineTest {
+    private static final Card ACE = CardRegistry.standardCard(0);
+    private static final Card TWO = CardRegistry.standardCard(1);
+    private static final Card FIVE = CardRegistry.standardCard(4);
+    private static final Card KING = CardRegistry.standardCard(12);
+    private static final Card OTHER_KING = CardRegistry.standardCard(25);
+    private static final Card OTHER_TWO = CardRegistry.standardCard(14);
+
+    private static byte[] bytes(SimulationResult result) {
+        ByteBuffer out = ByteBuffer.allocate(SimulationResult.byteSize(result.getPlayerCount()));
+        result.writeTo(out);
+        return out.array();
+    }
+
+    @Test
+    public void seededRunsRepeatForEveryVariant() {
+        for (String variant : new String[] { "highcard", "lowball", "war" }) {
+            RulesEngine engine = new RulesEngine(RulesEngine.variant(variant), 3);
+            SimulationResult first = engine.run(0, 300, 99);
+            SimulationResult again = engine.run(0, 300, 99);
+            SimulationResult fresh = new RulesEngine(RulesEngine.variant(variant), 3).run(0, 300, 99);
+            assertEquals(300, first.getGames(), variant);
+            assertArrayEquals(bytes(first), bytes(again), variant);
+            assertArrayEquals(bytes(first), bytes(fresh), variant);
+        }
+    }
+
+    @Test
+    public void warGivesTheTiedPotToTheNextTurnWinner() {
+        assertEquals(KING.getValue(), OTHER_KING.getValue());
+        WarRules war = new WarRules(100);
+        Player[] seats = { new Player("Ana", 0), new Player("Ben", 0) };
+        Deck deck = new Deck(new Card[0]);
+        DiscardPile pile = new DiscardPile();
+
+        Card[] tie = { KING, OTHER_KING };
+        assertEquals(-1, war.turnWinner(tie));
+        war.collect(tie, -1, seats, deck, pile);
+        assertArrayEquals(tie, pile.getCards());
+        assertEquals(0, seats[0].size() + seats[1].size());
+
+        Card[] next = { TWO, FIVE };
+        assertEquals(1, war.turnWinner(next));
+        war.collect(next, 1, seats, deck, pile);
+        assertEquals(0, pile.size());
+        assertEquals(0, seats[0].size());
+        // Cards go on top of the hand in the order received; getHand lists the top first.
+        assertArrayEquals(new Card[] { FIVE, TWO, OTHER_KING, KING }, seats[1].getHand());
+        assertEquals(KING, war.play(seats[1]));
+    }
+
+    @Test
+    public void warStopsOnceFewerThanTwoSeatsHoldCards() {
+        WarRules war = new WarRules(50);
+        Player[] seats = { new Player("Ana", 0), new Player("Ben", 0), new Player("Cy", 0) };
+        seats[0].receive(ACE);
+        seats[1].receive(TWO);
+        assertFalse(war.isOver(0, seats));
+        assertTrue(war.isOver(50, seats));
+        seats[1].removeBottomCard();
+        assertTrue(war.isOver(0, seats));
+
+        RulesEngine engine = new RulesEngine(war, 3);
+        engine.startGame(RandomSource.seeded(5));
+        assertTrue(engine.step());
+        assertTrue(engine.step());
+        assertEquals(1, engine.getTurn());
+        for (int seat = 1; seat < 3; seat++) {
+            Player p = engine.getPlayer(seat);
+            while (p.size() > 0) {
+                p.removeBottomCard();
+            }
+        }
+        assertTrue(engine.step());
+        assertFalse(engine.step());
+        assertEquals(1, engine.getTurn());
+        assertEquals(0, engine.getWinner());
+    }
+
+    @Test
+    public void lowballTakesTheStrictlyLowestCard() {
+        LowballRules lowball = new LowballRules(5, 5);
+        assertEquals(1, lowball.turnWinner(new Card[] { FIVE, ACE, KING }));
+        assertEquals(-1, lowball.turnWinner(new Card[] { TWO, OTHER_TWO, KING }));
+        assertEquals(2, RulesEngine.bestSeat(new Card[] { TWO, null, ACE }, true));
+        assertEquals(-1, RulesEngine.bestSeat(new Card[] { null, null }, true));
+        assertEquals(0, RulesEngine.bestSeat(new Card[] { KING, FIVE, ACE }, false));
+        assertEquals(-1, RulesEngine.bestSeat(new Card[] { KING, OTHER_KING, ACE }, false));
+    }
+}
@@ -0,0 +1,160 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ShoeTest {
+    /**
+     * Returns the cards left in the shoe, top first.
+     */
+    private static Card[] contents(Shoe shoe) {
+        Card[] cards = new Card[shoe.size()];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = shoe.cardAt(i);
+        }
+        return cards;
+    }
+
+    /**
+     * Counts each standard card in the shoe plus the cards held outside it.
+     */
+    private static int[] count(Shoe shoe, List<Card> held) {
+        int[] counts = new int[CardRegistry.STANDARD_SIZE];
+        for (Card c : contents(shoe)) {
+            counts[c.getOrdinal()]++;
+        }
+        for (Card c : held) {
+            counts[c.getOrdinal()]++;
+        }
+        return counts;
+    }
+
+    private static void assertConserved(Shoe shoe, List<Card> held) {
+        int[] counts = count(shoe, held);
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            assertEquals(shoe.getDecks(), counts[ordinal], "Copies of " + CardRegistry.standardCard(ordinal));
+        }
+    }
+
+    @Test
+    public void cutCardDoesNotBringBackCardsInHand() {
+        Shoe shoe = new Shoe(1, 10, RandomSource.seeded(3));
+        List<Card> held = new ArrayList<>();
+        for (int i = 0; i < CardRegistry.STANDARD_SIZE; i++) {
+            held.add(shoe.draw());
+            assertEquals(i + 1 >= 10, shoe.isCutCardReached());
+        }
+        assertNull(shoe.draw());
+        int[] counts = count(shoe, held);
+        for (int c : counts) {
+            assertEquals(1, c);
+        }
+    }
+
+    @Test
+    public void reshuffleReturnsOnlyTheGivenCards() {
+        Shoe shoe = new Shoe(2, 60, RandomSource.seeded(5));
+        List<Card> held = new ArrayList<>();
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 15; i++) {
+                Card c = shoe.draw();
+                if (c != null) {
+                    held.add(c);
+                }
+            }
+            assertConserved(shoe, held);
+            if (shoe.isCutCardReached()) {
+                Card[] back = held.subList(0, held.size() / 2).toArray(new Card[0]);
+                held.subList(0, held.size() / 2).clear();
+                shoe.reshuffle(back);
+                assertFalse(shoe.isCutCardReached());
+                assertConserved(shoe, held);
+            }
+        }
+    }
+
+    @Test
+    public void addedCardsSurviveShufflingAndDiscardRecycling() {
+        Shoe shoe = new Shoe(1, 52, RandomSource.seeded(9));
+        List<Card> held = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            held.add(shoe.draw());
+        }
+        shoe.addCard(held.remove(0));
+        shoe.addCard(held.remove(0));
+        shoe.shuffle();
+        assertConserved(shoe, held);
+
+        DiscardPile pile = new DiscardPile();
+        for (int i = 0; i < 5; i++) {
+            pile.addCard(held.remove(held.size() - 1));
+        }
+        shoe.reshuffle(pile);
+        assertEquals(0, pile.size());
+        assertEquals(52 - held.size(), shoe.size());
+        assertConserved(shoe, held);
+
+        Card[] rest = new Card[shoe.size()];
+        assertEquals(rest.length, shoe.draw(rest, 0, rest.length));
+        held.addAll(Arrays.asList(rest));
+        assertEquals(0, shoe.size());
+        assertConserved(shoe, held);
+    }
+
+    @Test
+    public void bulkDrawRunsOnFromTheUndealtIntoTheAddedCards() {
+        Shoe bulk = new Shoe(1, 52, RandomSource.seeded(10));
+        Shoe single = new Shoe(1, 52, RandomSource.seeded(10));
+        List<Card> held = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            held.add(bulk.draw());
+            assertEquals(held.get(i), single.draw());
+        }
+        for (int i = 0; i < 5; i++) {
+            bulk.addCard(held.get(i));
+            single.addCard(held.get(i));
+        }
+        Card[] drawn = new Card[20];
+        assertEquals(17, bulk.draw(drawn, 1, 19));
+        for (int i = 0; i < 17; i++) {
+            assertEquals(single.draw(), drawn[1 + i]);
+        }
+        assertEquals(held.subList(0, 5), Arrays.asList(drawn).subList(13, 18));
+        assertNull(drawn[0]);
+        assertNull(bulk.draw());
+        assertNull(single.draw());
+        assertTrue(bulk.isCutCardReached());
+        assertEquals(0, bulk.draw(drawn, 0, 20));
+    }
+
+    @Test
+    public void rejectsCardsTheShoeCannotHold() {
+        Shoe shoe = new Shoe(1, 52, RandomSource.seeded(1));
+        Card ace = CardRegistry.standardCard(0);
+        assertThrows(IllegalStateException.class, () -> shoe.addCard(ace));
+        Card drawn = shoe.draw();
+        assertThrows(IllegalArgumentException.class, () -> shoe.addCard(Card.of("Joker", "Red", 0)));
+        assertThrows(IllegalStateException.class, () -> shoe.reshuffle(new Card[] { drawn, drawn }));
+        assertEquals(51, shoe.size());
+        shoe.reshuffle(new Card[] { drawn, null });
+        assertEquals(52, shoe.size());
+    }
+
+    @Test
+    public void settingCardsKeepsTheirOrder() {
+        Shoe shoe = new Shoe(2, 52, RandomSource.seeded(2));
+        Card[] cards = { CardRegistry.standardCard(4), CardRegistry.standardCard(4), CardRegistry.standardCard(9) };
+        shoe.setCards(cards, cards.length);
+        assertArrayEquals(cards, contents(shoe));
+        assertTrue(shoe.draw() == cards[0]);
+        assertEquals(2, shoe.size());
+    }
+}
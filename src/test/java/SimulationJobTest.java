@@ -0,0 +1,115 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SimulationJobTest {
+    private static final int PLAYERS = 2;
+    private static final long GAMES = 10_000;
+    private static final long SEED = 42;
+    private static final int CHUNK_SIZE = 100;
+
+    /**
+     * High Card rules that fail once a set number of cards have been played, to
+     * stand in for a crash. Both runs use this class, since a checkpoint records it.
+     */
+    static final class CrashingRules extends HighCardRules {
+        static final AtomicLong playsLeft = new AtomicLong(Long.MAX_VALUE);
+
+        CrashingRules() {
+            super(5, 5);
+        }
+
+        @Override
+        public Card play(Player player) {
+            if (playsLeft.decrementAndGet() < 0)
+                throw new IllegalStateException("simulated crash");
+            return super.play(player);
+        }
+    }
+
+    private Path dir;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("simulation-job");
+        pool = new ForkJoinPool(2);
+        CrashingRules.playsLeft.set(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private SimulationJob job(Path checkpoint) {
+        return new SimulationJob(new CrashingRules(), PLAYERS, GAMES, SEED, CHUNK_SIZE, checkpoint, 0, pool);
+    }
+
+    private static byte[] bytes(SimulationResult result) {
+        ByteBuffer out = ByteBuffer.allocate(SimulationResult.byteSize(result.getPlayerCount()));
+        result.writeTo(out);
+        return out.array();
+    }
+
+    @Test
+    public void resumedJobMatchesAnUninterruptedOneBitForBit() throws IOException {
+        Path straight = dir.resolve("straight.ckpt");
+        SimulationResult expected = job(straight).run();
+        assertEquals(GAMES, expected.getGames());
+
+        Path resumed = dir.resolve("resumed.ckpt");
+        CrashingRules.playsLeft.set(30_000);
+        assertThrows(IllegalStateException.class, () -> job(resumed).run());
+        assertTrue(Files.exists(resumed), "No checkpoint was written before the crash");
+
+        CrashingRules.playsLeft.set(Long.MAX_VALUE);
+        SimulationResult actual = job(resumed).run();
+        assertArrayEquals(bytes(expected), bytes(actual));
+        assertArrayEquals(Files.readAllBytes(straight), Files.readAllBytes(resumed));
+
+        assertArrayEquals(bytes(expected), bytes(job(resumed).run()));
+    }
+
+    @Test
+    public void checkpointOfAnotherJobIsRefused() throws IOException {
+        Path checkpoint = dir.resolve("job.ckpt");
+        job(checkpoint).run();
+        SimulationJob other = new SimulationJob(new CrashingRules(), PLAYERS, GAMES, SEED + 1, CHUNK_SIZE,
+                checkpoint, 0, pool);
+        assertThrows(IOException.class, other::run);
+    }
+
+    @Test
+    public void damagedNameLengthIsReportedAsABadCheckpoint() throws IOException {
+        Path checkpoint = dir.resolve("damaged.ckpt");
+        job(checkpoint).run();
+        byte[] bytes = Files.readAllBytes(checkpoint);
+        // The rules name length follows the magic number and version.
+        for (short length : new short[] { -1, Short.MIN_VALUE, Short.MAX_VALUE }) {
+            ByteBuffer.wrap(bytes).putShort(Integer.BYTES + Short.BYTES, length);
+            Files.write(checkpoint, bytes);
+            IOException e = assertThrows(IOException.class, job(checkpoint)::run);
+            assertTrue(e.getMessage().startsWith("Not a simulation checkpoint"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class TableServerTest {
+    private static final int ROUNDS = 5;
+
+    /**
+     * Plays the given tables to the end on a server with the given number of
+     * event loops, and checks every round of every game was played.
+     */
+    private static void playAll(int threads, int tables, int players, int games) throws Exception {
+        try (TableServer server = new TableServer(0, players, threads, 42)) {
+            server.start();
+            InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.getPort());
+            LoadGenerator generator = new LoadGenerator(address, tables * players, games);
+            assertTimeoutPreemptively(Duration.ofSeconds(30), generator::run);
+            assertEquals(tables * players * games * ROUNDS, generator.getRounds());
+        }
+    }
+
+    @Test
+    public void fewerTablesThanEventLoopsAreAllSeated() throws Exception {
+        playAll(4, 2, 2, 1);
+    }
+
+    @Test
+    public void tablesSpreadOverSeveralEventLoopsFinish() throws Exception {
+        playAll(3, 10, 3, 4);
+    }
+}
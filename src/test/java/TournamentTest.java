@@ -0,0 +1,107 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class TournamentTest {
+
+    private static Player[] entrants(int n) {
+        Player[] players = new Player[n];
+        for (int i = 0; i < n; i++) {
+            players[i] = new Player("Player " + (i + 1), 20 + i);
+        }
+        return players;
+    }
+
+    private static void assertSameStandings(Standings expected, Standings actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getWins(i), actual.getWins(i), "Wins of " + i);
+            assertEquals(expected.getDraws(i), actual.getDraws(i), "Draws of " + i);
+            assertEquals(expected.getLosses(i), actual.getLosses(i), "Losses of " + i);
+            assertEquals(expected.getRoundsWon(i), actual.getRoundsWon(i), "Rounds won by " + i);
+        }
+        assertArrayEquals(expected.getRanking(), actual.getRanking());
+    }
+
+    @Test
+    public void roundRobinIsTheSameOnAnyPool() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            // Enough pairings to split into several tasks.
+            Player[] players = entrants(60);
+            Standings a = new Tournament(players, 5, 5, one).roundRobin(41);
+            Standings b = new Tournament(players, 5, 5, four).roundRobin(41);
+            assertSameStandings(a, b);
+            for (int i = 0; i < players.length; i++) {
+                assertEquals(players.length - 1, a.getWins(i) + a.getDraws(i) + a.getLosses(i));
+            }
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    public void swissIsTheSameOnAnyPool() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            Player[] players = entrants(25);
+            Standings a = new Tournament(players, 4, 3, one).swiss(6, 42);
+            Standings b = new Tournament(players, 4, 3, four).swiss(6, 42);
+            assertSameStandings(a, b);
+            int wins = 0;
+            int losses = 0;
+            for (int i = 0; i < players.length; i++) {
+                assertEquals(6, a.getWins(i) + a.getDraws(i) + a.getLosses(i));
+                wins += a.getWins(i);
+                losses += a.getLosses(i);
+            }
+            // One bye a round is a win with no matching loss.
+            assertEquals(6, wins - losses);
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    public void everyPairingNumberMapsToItsOwnPair() {
+        for (int n : new int[] { 2, 3, 4, 7, 16, 101, 1000 }) {
+            boolean[][] seen = new boolean[n][n];
+            long match = 0;
+            for (int a = 0; a < n; a++) {
+                assertEquals(match, Tournament.rowStart(a, n), "Row " + a + " of " + n);
+                for (int b = a + 1; b < n; b++, match++) {
+                    int row = Tournament.rowOf(match, n);
+                    int col = (int) (match - Tournament.rowStart(row, n)) + row + 1;
+                    assertEquals(a, row, "Pairing " + match + " of " + n);
+                    assertEquals(b, col, "Pairing " + match + " of " + n);
+                    assertFalse(seen[row][col]);
+                    seen[row][col] = true;
+                }
+            }
+            assertEquals((long) n * (n - 1) / 2, match);
+        }
+    }
+
+    @Test
+    public void byeRotatesThroughTheField() {
+        int n = 7;
+        int[] order = { 3, 0, 6, 1, 5, 2, 4 };
+        boolean[] hadBye = new boolean[n];
+        for (int round = 0; round < n; round++) {
+            int bye = Tournament.byeFor(order, hadBye);
+            assertEquals(order[n - 1 - round], bye);
+            assertFalse(hadBye[bye]);
+            hadBye[bye] = true;
+        }
+        // Once everyone has sat out, the top of the table sits out again.
+        assertEquals(order[0], Tournament.byeFor(order, hadBye));
+    }
+}
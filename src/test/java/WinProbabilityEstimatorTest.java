@@ -0,0 +1,91 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class WinProbabilityEstimatorTest {
+
+    /**
+     * Returns a pile holding every standard card from the given ordinal up.
+     */
+    private static DiscardPile seenFrom(int ordinal) {
+        DiscardPile seen = new DiscardPile();
+        for (int i = ordinal; i < CardRegistry.STANDARD_SIZE; i++) {
+            seen.addCard(CardRegistry.standardCard(i));
+        }
+        return seen;
+    }
+
+    /**
+     * Runs an estimate on a pool of the given parallelism.
+     */
+    private static WinEstimate estimateOn(int parallelism, WinProbabilityEstimator estimator, Card[] hand,
+            DiscardPile seen, long maxSamples, long seed) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> estimator.estimate(hand, seen, 0, 0.95, maxSamples, seed)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void fullRunsWithASeedRepeatOnAnyPool() {
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(3, 5, 3);
+        Card[] hand = { CardRegistry.standardCard(12), CardRegistry.standardCard(3) };
+        DiscardPile seen = seenFrom(40);
+        // Not a multiple of the batch size, so the last batch is short.
+        long maxSamples = 20_000;
+        WinEstimate one = estimateOn(1, estimator, hand, seen, maxSamples, 31);
+        WinEstimate four = estimateOn(4, estimator, hand, seen, maxSamples, 31);
+        WinEstimate common = estimator.estimate(hand, seen, 0, 0.95, maxSamples, 31);
+        assertEquals(maxSamples, one.getSamples());
+        assertEquals(one.getSamples(), four.getSamples());
+        assertEquals(one.getWins(), four.getWins());
+        assertEquals(one.getWins(), common.getWins());
+        assertEquals(one.getProbability(), four.getProbability());
+    }
+
+    @Test
+    public void estimateLandsWithinItsIntervalOfTheExactOdds() {
+        DiscardPile seen = seenFrom(12);
+        Card[] unseen = new Card[12];
+        for (int i = 0; i < unseen.length; i++) {
+            unseen[i] = CardRegistry.standardCard(i);
+        }
+        OddsResult exact = new OddsCalculator(2, 3, 2).compute(unseen);
+        double p = exact.probability(exact.getMatchWinWays(0));
+
+        WinEstimate estimate = new WinProbabilityEstimator(2, 3, 2)
+                .estimate(new Card[0], seen, 0, 0.999, 200_000, 32);
+        assertEquals(200_000, estimate.getSamples());
+        assertTrue(Math.abs(estimate.getProbability() - p) <= estimate.getHalfWidth(),
+                estimate.getProbability() + " is not within " + estimate.getHalfWidth() + " of " + p);
+    }
+
+    @Test
+    public void samplingStopsOnceTheIntervalIsNarrowEnough() {
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(4, 5, 5);
+        long maxSamples = 10_000_000;
+        WinEstimate estimate = estimator.estimate(new Card[0], new DiscardPile(), 0.02, 0.95, maxSamples, 33);
+        assertTrue(estimate.getSamples() < maxSamples, estimate.getSamples() + " samples");
+        assertEquals(0, estimate.getSamples() % 1024);
+        assertTrue(estimate.getHalfWidth() <= 0.02, "Half-width " + estimate.getHalfWidth());
+        assertEquals(0.95, estimate.getConfidence());
+    }
+
+    @Test
+    public void rejectsTooFewUnseenCards() {
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(3, 4, 2);
+        Card[] hand = { CardRegistry.standardCard(0) };
+        // 3 to finish the hand and 8 for the others, but only 10 unseen.
+        DiscardPile seen = seenFrom(11);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> estimator.estimate(hand, seen, 0, 0.95, 100, 34));
+        assertEquals("Not enough unseen cards to deal every hand", e.getMessage());
+        estimator.estimate(hand, seenFrom(12), 0, 0.95, 100, 34);
+    }
+}